@@ -3,11 +3,13 @@ package in.gram.gov.app.egram_service;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 import java.util.TimeZone;
 
 @SpringBootApplication
 @EnableAsync
+@EnableScheduling
 public class EgramServiceApplication {
 
     public static void main(String[] args) {
@@ -1,88 +1,130 @@
 package in.gram.gov.app.egram_service.constants.aspect;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import in.gram.gov.app.egram_service.constants.security.TenantContext;
-import in.gram.gov.app.egram_service.domain.entity.AuditLog;
-import in.gram.gov.app.egram_service.domain.entity.Panchayat;
-import in.gram.gov.app.egram_service.domain.entity.User;
-import in.gram.gov.app.egram_service.service.AuditLogService;
-import in.gram.gov.app.egram_service.service.PanchayatService;
-import in.gram.gov.app.egram_service.service.UserService;
+import in.gram.gov.app.egram_service.service.AuditLogIngestionService;
+import in.gram.gov.app.egram_service.service.AuditLogIngestionService.AuditEvent;
+import in.gram.gov.app.egram_service.utility.RequestUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.aspectj.lang.JoinPoint;
 import org.aspectj.lang.annotation.AfterReturning;
 import org.aspectj.lang.annotation.Aspect;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
-import java.util.HashMap;
+import java.lang.reflect.Method;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Captures an audit event after every {@link Auditable} method. User and tenant ids come from
+ * the JWT via {@link TenantContext}, so no lookups run on the request thread; the event is
+ * handed to {@link AuditLogIngestionService} and written in the background.
+ * changes holds only the fields the request set (non-null properties of dto.request
+ * arguments), with long values truncated and secrets masked, instead of the whole result.
+ */
 @Aspect
 @Component
 @RequiredArgsConstructor
+@Slf4j
 public class AuditLoggingAspect {
-    private final AuditLogService auditLogService;
-    private final UserService userService;
-    private final PanchayatService panchayatService;
+    private static final String REQUEST_DTO_PACKAGE = "in.gram.gov.app.egram_service.dto.request";
+    private static final int MAX_VALUE_LENGTH = 200;
 
-    @AfterReturning(pointcut = "@annotation(in.gram.gov.app.egram_service.constants.aspect.Auditable)", returning = "result")
+    private final AuditLogIngestionService auditLogIngestionService;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Class<?>, Optional<Method>> idAccessors = new ConcurrentHashMap<>();
+
+    @AfterReturning(pointcut = "@annotation(auditable)", returning = "result")
     public void logAudit(JoinPoint joinPoint, Auditable auditable, Object result) {
         try {
-            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-            if (authentication == null || !authentication.isAuthenticated()) {
-                return;
-            }
-
-            String email = authentication.getName();
-            User user = userService.findByEmailOrNull(email);
-            if (user == null) {
+            Long userId = TenantContext.getUserId();
+            if (userId == null) {
                 return;
             }
 
-            Long panchayatId = TenantContext.getTenantId();
-            Panchayat panchayat = panchayatId != null ? panchayatService.findById(panchayatId) : null;
+            HttpServletRequest request = currentRequest();
+            Map<String, Object> changes = fieldChanges(joinPoint.getArgs());
 
-            HttpServletRequest request = ((ServletRequestAttributes) RequestContextHolder.currentRequestAttributes())
-                    .getRequest();
-
-            Map<String, Object> changes = new HashMap<>();
-            if (result != null) {
-                changes.put("result", result.toString());
-            }
-
-            AuditLog auditLog = AuditLog.builder()
-                    .user(user)
-                    .panchayat(panchayat)
-                    .actionType(auditable.actionType())
-                    .targetEntityType(auditable.entityType())
-                    .targetEntityId(extractEntityId(result))
-                    .changes(changes)
-                    .ipAddress(getClientIpAddress(request))
-                    .userAgent(request.getHeader("User-Agent"))
-                    .description(auditable.description())
-                    .build();
-
-            auditLogService.create(auditLog);
+            AuditEvent event = new AuditEvent(
+                    userId,
+                    TenantContext.getTenantId(),
+                    auditable.actionType().name(),
+                    auditable.entityType(),
+                    extractEntityId(result),
+                    changes.isEmpty() ? null : objectMapper.writeValueAsString(changes),
+                    request != null ? RequestUtils.getClientIpAddress(request) : null,
+                    request != null ? truncate(request.getHeader("User-Agent"), 500) : null,
+                    auditable.description(),
+                    LocalDateTime.now());
+            auditLogIngestionService.enqueue(event);
         } catch (Exception e) {
             // Log error but don't fail the operation
-            System.err.println("Error creating audit log: " + e.getMessage());
+            log.warn("Error capturing audit event: {}", e.getMessage());
         }
     }
 
+    /**
+     * Non-null scalar properties of the request DTO arguments, keyed by field name
+     */
+    private Map<String, Object> fieldChanges(Object[] args) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        for (Object arg : args) {
+            if (arg == null || !arg.getClass().getName().startsWith(REQUEST_DTO_PACKAGE)) {
+                continue;
+            }
+            Map<?, ?> fields = objectMapper.convertValue(arg, Map.class);
+            fields.forEach((name, value) -> {
+                if (value == null) {
+                    return;
+                }
+                String field = String.valueOf(name);
+                if (isSensitive(field)) {
+                    changes.put(field, "***");
+                } else if (value instanceof Number || value instanceof Boolean) {
+                    changes.put(field, value);
+                } else if (value instanceof String text) {
+                    changes.put(field, truncate(text, MAX_VALUE_LENGTH));
+                } else {
+                    // Nested objects and collections are summarized, not copied
+                    changes.put(field, value instanceof Collection<?> collection
+                            ? "[" + collection.size() + " items]" : "{...}");
+                }
+            });
+        }
+        return changes;
+    }
+
+    private static boolean isSensitive(String field) {
+        String name = field.toLowerCase(Locale.ROOT);
+        return name.contains("password") || name.contains("token") || name.contains("secret");
+    }
+
     private Long extractEntityId(Object result) {
         if (result == null) {
             return null;
         }
+        // Response DTOs expose getId(); the lookup is cached per class
+        Optional<Method> accessor = idAccessors.computeIfAbsent(result.getClass(), type -> {
+            try {
+                return Optional.of(type.getMethod("getId"));
+            } catch (NoSuchMethodException e) {
+                return Optional.empty();
+            }
+        });
         try {
-            // Try to extract ID from response DTOs
-            java.lang.reflect.Method getIdMethod = result.getClass().getMethod("getId");
-            Object id = getIdMethod.invoke(result);
-            if (id instanceof Long) {
-                return (Long) id;
+            if (accessor.isPresent() && accessor.get().invoke(result) instanceof Long id) {
+                return id;
             }
         } catch (Exception e) {
             // Ignore
@@ -90,12 +132,15 @@ public class AuditLoggingAspect {
         return null;
     }
 
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
+    private HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes servletAttributes ? servletAttributes.getRequest() : null;
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
         }
-        return request.getRemoteAddr();
+        return value.substring(0, maxLength);
     }
 }
-
@@ -0,0 +1,31 @@
+package in.gram.gov.app.egram_service.constants.aspect;
+
+import in.gram.gov.app.egram_service.constants.enums.PublicResourceType;
+import in.gram.gov.app.egram_service.constants.security.TenantContext;
+import in.gram.gov.app.egram_service.service.ContentVersionService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+@Aspect
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ContentVersionAspect {
+    private final ContentVersionService contentVersionService;
+
+    @AfterReturning("@annotation(publicContentChange)")
+    public void bumpVersion(JoinPoint joinPoint, PublicContentChange publicContentChange) {
+        Long panchayatId = TenantContext.getTenantId();
+        if (panchayatId == null) {
+            log.debug("ContentVersionAspect - no tenant context for {}", joinPoint.getSignature().toShortString());
+            return;
+        }
+        for (PublicResourceType type : publicContentChange.value()) {
+            contentVersionService.bump(panchayatId, type);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package in.gram.gov.app.egram_service.constants.aspect;
+
+import in.gram.gov.app.egram_service.constants.enums.PublicResourceType;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a tenant-scoped write that changes public content; the current tenant's
+ * version stamp for each listed resource is bumped when the method returns.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface PublicContentChange {
+    PublicResourceType[] value();
+}
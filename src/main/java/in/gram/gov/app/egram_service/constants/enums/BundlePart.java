@@ -0,0 +1,25 @@
+package in.gram.gov.app.egram_service.constants.enums;
+
+/**
+ * Parts that can be requested from the public homepage bundle endpoint,
+ * each with its own default timeout in milliseconds
+ */
+public enum BundlePart {
+    PANCHAYAT(1000),
+    WEBSITE(1500),
+    POSTS(1500),
+    ANNOUNCEMENTS(1000),
+    SCHEMES(1000),
+    GALLERY(1500),
+    MEMBERS(1000);
+
+    private final long defaultTimeoutMs;
+
+    BundlePart(long defaultTimeoutMs) {
+        this.defaultTimeoutMs = defaultTimeoutMs;
+    }
+
+    public long getDefaultTimeoutMs() {
+        return defaultTimeoutMs;
+    }
+}
@@ -0,0 +1,8 @@
+package in.gram.gov.app.egram_service.constants.enums;
+
+public enum MediaJobStatus {
+    QUEUED,
+    PROCESSING,
+    COMPLETED,
+    FAILED
+}
@@ -0,0 +1,19 @@
+package in.gram.gov.app.egram_service.constants.enums;
+
+/**
+ * Entity a media job attaches its image to, with the public resources that change when it does
+ */
+public enum MediaJobTarget {
+    POST(PublicResourceType.POSTS),
+    GALLERY_IMAGE(PublicResourceType.GALLERY, PublicResourceType.ALBUMS);
+
+    private final PublicResourceType[] publicResources;
+
+    MediaJobTarget(PublicResourceType... publicResources) {
+        this.publicResources = publicResources;
+    }
+
+    public PublicResourceType[] getPublicResources() {
+        return publicResources.clone();
+    }
+}
@@ -0,0 +1,11 @@
+package in.gram.gov.app.egram_service.constants.enums;
+
+/**
+ * State of the image attached to a post or gallery image. Rows created in async mode stay
+ * PROCESSING until their media job stores the upload.
+ */
+public enum MediaStatus {
+    READY,
+    PROCESSING,
+    FAILED
+}
@@ -0,0 +1,27 @@
+package in.gram.gov.app.egram_service.constants.enums;
+
+/**
+ * Public read resources that carry a per-panchayat version stamp for conditional GET.
+ * Date-sensitive resources (filtered by today's date) also change at midnight without a write.
+ */
+public enum PublicResourceType {
+    PANCHAYAT(false),
+    POSTS(false),
+    ANNOUNCEMENTS(true),
+    SCHEMES(false),
+    GALLERY(false),
+    ALBUMS(false),
+    NEWSLETTERS(false),
+    DOCUMENTS(false),
+    MEMBERS(false);
+
+    private final boolean dateSensitive;
+
+    PublicResourceType(boolean dateSensitive) {
+        this.dateSensitive = dateSensitive;
+    }
+
+    public boolean isDateSensitive() {
+        return dateSensitive;
+    }
+}
@@ -34,6 +34,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                 // Set tenant context
                 TenantContext.setTenantId(panchayatId);
+                TenantContext.setUserId(tokenProvider.getUserIdFromToken(jwt));
 
                 // Set authentication
                 SimpleGrantedAuthority authority = new SimpleGrantedAuthority("ROLE_" + role);
@@ -46,7 +47,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             logger.error("Could not set user authentication in security context", ex);
         }
 
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            // Request threads are pooled; never let one request's tenant leak into the next
+            TenantContext.clear();
+        }
     }
 
     private String getJwtFromRequest(HttpServletRequest request) {
@@ -3,6 +3,7 @@ package in.gram.gov.app.egram_service.constants.security;
 public class TenantContext {
     private static final ThreadLocal<Long> TENANT_ID = new ThreadLocal<>();
     private static final ThreadLocal<String> TENANT_SLUG = new ThreadLocal<>();
+    private static final ThreadLocal<Long> USER_ID = new ThreadLocal<>();
 
     public static void setTenantId(Long tenantId) {
         TENANT_ID.set(tenantId);
@@ -20,9 +21,19 @@ public class TenantContext {
         return TENANT_SLUG.get();
     }
 
+    // Authenticated user's id from the JWT, so callers need not look the user up by email
+    public static void setUserId(Long userId) {
+        USER_ID.set(userId);
+    }
+
+    public static Long getUserId() {
+        return USER_ID.get();
+    }
+
     public static void clear() {
         TENANT_ID.remove();
         TENANT_SLUG.remove();
+        USER_ID.remove();
     }
 }
 
@@ -3,6 +3,7 @@ package in.gram.gov.app.egram_service.controller;
 import in.gram.gov.app.egram_service.dto.ApiResponse;
 import in.gram.gov.app.egram_service.service.ConsentService;
 import in.gram.gov.app.egram_service.service.UserService;
+import in.gram.gov.app.egram_service.utility.RequestUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,7 +30,7 @@ public class ConsentController {
         
         String email = authentication.getName();
         var user = userService.findByEmail(email);
-        String ipAddress = getClientIpAddress(request);
+        String ipAddress = RequestUtils.getClientIpAddress(request);
 
         var consent = consentService.recordConsent(user.getId(), ipAddress);
         
@@ -74,13 +75,5 @@ public class ConsentController {
 
         return ResponseEntity.ok(ApiResponse.success("Consent revoked successfully", null));
     }
-
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        return request.getRemoteAddr();
-    }
 }
 
@@ -1,14 +1,25 @@
 package in.gram.gov.app.egram_service.controller.admin;
 
+import in.gram.gov.app.egram_service.constants.enums.ExportFormat;
 import in.gram.gov.app.egram_service.dto.ApiResponse;
+import in.gram.gov.app.egram_service.dto.filters.AuditFilter;
+import in.gram.gov.app.egram_service.dto.response.BeaconStatsResponseDTO;
+import in.gram.gov.app.egram_service.dto.response.ImagePoolStatsResponseDTO;
 import in.gram.gov.app.egram_service.dto.response.SystemAnalyticsResponseDTO;
+import in.gram.gov.app.egram_service.dto.response.ViewCounterStatsResponseDTO;
 import in.gram.gov.app.egram_service.facade.AdminFacade;
+import in.gram.gov.app.egram_service.facade.AnalyticsFacade;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/admin/analytics")
@@ -17,6 +28,7 @@ import org.springframework.web.bind.annotation.RestController;
 @Slf4j
 public class AdminAnalyticsController {
     private final AdminFacade adminFacade;
+    private final AnalyticsFacade analyticsFacade;
 
     @GetMapping("/system")
     public ResponseEntity<ApiResponse<SystemAnalyticsResponseDTO>> getSystemAnalytics() {
@@ -24,4 +36,40 @@ public class AdminAnalyticsController {
         SystemAnalyticsResponseDTO response = adminFacade.getSystemAnalytics();
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+
+    @GetMapping("/view-counter")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ApiResponse<ViewCounterStatsResponseDTO>> getViewCounterStats() {
+        log.info("AdminAnalyticsController.getViewCounterStats called");
+        ViewCounterStatsResponseDTO response = adminFacade.getViewCounterStats();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/beacon")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ApiResponse<BeaconStatsResponseDTO>> getBeaconStats() {
+        log.info("AdminAnalyticsController.getBeaconStats called");
+        BeaconStatsResponseDTO response = analyticsFacade.getBeaconStats();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/image-pool")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<ApiResponse<ImagePoolStatsResponseDTO>> getImagePoolStats() {
+        log.info("AdminAnalyticsController.getImagePoolStats called");
+        ImagePoolStatsResponseDTO response = adminFacade.getImagePoolStats();
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAnalytics(
+            AuditFilter filter,
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        log.info("AdminAnalyticsController.exportAnalytics called - filter={}, format={}", filter, format);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"analytics." + format.getExtension() + "\"")
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(adminFacade.exportAnalytics(filter, format));
+    }
 }
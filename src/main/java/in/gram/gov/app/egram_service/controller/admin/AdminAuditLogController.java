@@ -1,5 +1,6 @@
 package in.gram.gov.app.egram_service.controller.admin;
 
+import in.gram.gov.app.egram_service.constants.enums.ExportFormat;
 import in.gram.gov.app.egram_service.dto.ApiResponse;
 import in.gram.gov.app.egram_service.dto.PagedResponse;
 import in.gram.gov.app.egram_service.dto.filters.AuditFilter;
@@ -7,10 +8,15 @@ import in.gram.gov.app.egram_service.dto.response.AuditLogResponseDTO;
 import in.gram.gov.app.egram_service.facade.AdminFacade;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/v1/admin/audit-logs")
@@ -28,4 +34,16 @@ public class AdminAuditLogController {
                 adminFacade.getAuditLogs(auditFilter));
         return ResponseEntity.ok(ApiResponse.success(response));
     }
+
+    @GetMapping("/export")
+    @PreAuthorize("hasRole('SUPER_ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportAuditLogs(
+            AuditFilter auditFilter,
+            @RequestParam(defaultValue = "CSV") ExportFormat format) {
+        log.info("AdminAuditLogController.exportAuditLogs called - filter={}, format={}", auditFilter, format);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-logs." + format.getExtension() + "\"")
+                .contentType(MediaType.parseMediaType(format.getContentType()))
+                .body(adminFacade.exportAuditLogs(auditFilter, format));
+    }
 }
@@ -4,19 +4,21 @@ import in.gram.gov.app.egram_service.dto.ApiResponse;
 import in.gram.gov.app.egram_service.dto.PagedResponse;
 import in.gram.gov.app.egram_service.dto.filters.AlbumFilter;
 import in.gram.gov.app.egram_service.dto.filters.PanchayatFilter;
+import in.gram.gov.app.egram_service.dto.request.BeaconRequestDTO;
 import in.gram.gov.app.egram_service.dto.response.AlbumResponseDTO;
 import in.gram.gov.app.egram_service.dto.response.AnnouncementResponseDTO;
 import in.gram.gov.app.egram_service.dto.response.GalleryImageResponseDTO;
 import in.gram.gov.app.egram_service.dto.response.NewsletterResponseDTO;
 import in.gram.gov.app.egram_service.dto.response.PanchayatResponseDTO;
 import in.gram.gov.app.egram_service.dto.response.PostResponseDTO;
+import in.gram.gov.app.egram_service.dto.response.PublicBundleResponseDTO;
 import in.gram.gov.app.egram_service.dto.response.SchemeResponseDTO;
 import in.gram.gov.app.egram_service.dto.response.UserResponseDTO;
-import in.gram.gov.app.egram_service.dto.response.PanchayatWebsiteConfigDTO;
-import in.gram.gov.app.egram_service.dto.response.PlatformLandingPageConfigDTO;
 import in.gram.gov.app.egram_service.constants.enums.DocumentCategory;
+import in.gram.gov.app.egram_service.constants.enums.PublicResourceType;
 import in.gram.gov.app.egram_service.dto.response.DocumentResponseDTO;
 import in.gram.gov.app.egram_service.facade.AlbumFacadeNew;
+import in.gram.gov.app.egram_service.facade.AnalyticsFacade;
 import in.gram.gov.app.egram_service.facade.AnnouncementFacade;
 import in.gram.gov.app.egram_service.facade.DocumentFacade;
 import in.gram.gov.app.egram_service.facade.GalleryImageFacade;
@@ -25,23 +27,35 @@ import in.gram.gov.app.egram_service.facade.PanchayatFacade;
 import in.gram.gov.app.egram_service.facade.PanchayatWebsiteFacade;
 import in.gram.gov.app.egram_service.facade.PlatformLandingPageFacade;
 import in.gram.gov.app.egram_service.facade.PostFacade;
+import in.gram.gov.app.egram_service.facade.PublicBundleFacade;
 import in.gram.gov.app.egram_service.facade.SchemeFacade;
 import in.gram.gov.app.egram_service.facade.UserFacade;
+import in.gram.gov.app.egram_service.service.ContentVersionService;
+import in.gram.gov.app.egram_service.service.ContentVersionService.ContentVersion;
+import in.gram.gov.app.egram_service.service.PanchayatWebsiteSnapshotService.WebsiteSnapshot;
+import in.gram.gov.app.egram_service.service.PlatformLandingPageSnapshotService.LandingPageSnapshot;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
+import java.util.function.Supplier;
 
 @RestController
 @RequestMapping("/api/v1/public")
@@ -59,6 +73,9 @@ public class PublicController {
     private final PlatformLandingPageFacade platformLandingPageFacade;
     private final PanchayatWebsiteFacade panchayatWebsiteFacade;
     private final DocumentFacade documentFacade;
+    private final PublicBundleFacade publicBundleFacade;
+    private final ContentVersionService contentVersionService;
+    private final AnalyticsFacade analyticsFacade;
 
 
     @GetMapping("/panchayats")
@@ -71,26 +88,57 @@ public class PublicController {
     }
 
     @GetMapping("/panchayats/slug/{slug}")
-    public ResponseEntity<ApiResponse<PanchayatResponseDTO>> getPanchayatBySlug(@PathVariable String slug) {
+    public ResponseEntity<ApiResponse<PanchayatResponseDTO>> getPanchayatBySlug(@PathVariable String slug,
+                                                                               WebRequest webRequest) {
         log.info("PublicController.getPanchayatBySlug called - slug={}", slug);
-        PanchayatResponseDTO response = panchayatFacade.getBySlug(slug);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditional(webRequest, slug, PublicResourceType.PANCHAYAT, () -> panchayatFacade.getBySlug(slug));
     }
 
     @GetMapping("/{slug}/home")
-    public ResponseEntity<ApiResponse<PanchayatResponseDTO>> getHome(@PathVariable String slug) {
+    public ResponseEntity<ApiResponse<PanchayatResponseDTO>> getHome(@PathVariable String slug, WebRequest webRequest) {
         log.info("PublicController.getHome called - slug={}", slug);
-        PanchayatResponseDTO response = panchayatFacade.getBySlug(slug);
+        return conditional(webRequest, slug, PublicResourceType.PANCHAYAT, () -> panchayatFacade.getBySlug(slug));
+    }
+
+    /**
+     * Homepage bundle: panchayat, website sections, posts, announcements, schemes, gallery and members
+     * fetched in parallel and returned as one document
+     * @param slug Panchayat slug
+     * @param include Optional comma-separated parts to include (defaults to all)
+     * @param size Page size for list parts
+     * @return Composed bundle; failed or timed-out parts are listed under errors
+     */
+    @GetMapping("/{slug}/bundle")
+    public ResponseEntity<ApiResponse<PublicBundleResponseDTO>> getBundle(
+            @PathVariable String slug,
+            @RequestParam(required = false) List<String> include,
+            @RequestParam(required = false, defaultValue = "10") Integer size) {
+        log.info("PublicController.getBundle called - slug={}, include={}, size={}", slug, include, size);
+        PublicBundleResponseDTO response = publicBundleFacade.getBundle(slug, include, size);
         return ResponseEntity.ok(ApiResponse.success(response));
     }
 
+    /**
+     * Page-view beacon. Events are buffered in memory and written in batches;
+     * the request never waits on the database and always answers 204.
+     */
+    @PostMapping("/{slug}/beacon")
+    public ResponseEntity<Void> recordPageView(
+            @PathVariable String slug,
+            @Valid @RequestBody(required = false) BeaconRequestDTO request,
+            HttpServletRequest httpRequest) {
+        analyticsFacade.recordPageView(slug, request, httpRequest);
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/{slug}/posts")
     public ResponseEntity<ApiResponse<PagedResponse<PostResponseDTO>>> getPosts(
             @PathVariable String slug,
-            @PageableDefault(size = 10) Pageable pageable) {
+            @PageableDefault(size = 10) Pageable pageable,
+            WebRequest webRequest) {
         log.info("PublicController.getPosts called - slug={}, pageable={}", slug, pageable);
-        PagedResponse<PostResponseDTO> response = PagedResponse.of(postFacade.getPublishedBySlug(slug, pageable));
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditional(webRequest, slug, PublicResourceType.POSTS,
+                () -> PagedResponse.of(postFacade.getPublishedBySlug(slug, pageable)));
     }
 
     @GetMapping("/{slug}/posts/{id}")
@@ -106,22 +154,22 @@ public class PublicController {
     public ResponseEntity<ApiResponse<PagedResponse<SchemeResponseDTO>>> getSchemes(
             @PathVariable String slug,
             @RequestParam(required = false, defaultValue = "0") Integer page,
-            @RequestParam(required = false, defaultValue = "20") Integer size) {
+            @RequestParam(required = false, defaultValue = "20") Integer size,
+            WebRequest webRequest) {
         log.info("PublicController.getSchemes called - slug={}, page={}, size={}", slug, page, size);
-        Page<SchemeResponseDTO> schemes = schemeFacade.getActiveBySlug(slug, page, size);
-        PagedResponse<SchemeResponseDTO> response = PagedResponse.of(schemes);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditional(webRequest, slug, PublicResourceType.SCHEMES,
+                () -> PagedResponse.of(schemeFacade.getActiveBySlug(slug, page, size)));
     }
 
     @GetMapping("/{slug}/announcements")
     public ResponseEntity<ApiResponse<PagedResponse<AnnouncementResponseDTO>>> getAnnouncements(
             @PathVariable String slug,
             @RequestParam(required = false, defaultValue = "0") Integer page,
-            @RequestParam(required = false, defaultValue = "20") Integer size) {
+            @RequestParam(required = false, defaultValue = "20") Integer size,
+            WebRequest webRequest) {
         log.info("PublicController.getAnnouncements called - slug={}, page={}, size={}", slug, page, size);
-        Page<AnnouncementResponseDTO> announcements = announcementFacade.getActiveBySlug(slug, page, size);
-        PagedResponse<AnnouncementResponseDTO> response = PagedResponse.of(announcements);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditional(webRequest, slug, PublicResourceType.ANNOUNCEMENTS,
+                () -> PagedResponse.of(announcementFacade.getActiveBySlug(slug, page, size)));
     }
 
     @GetMapping("/{slug}/gallery")
@@ -129,87 +177,110 @@ public class PublicController {
             @PathVariable String slug,
             @RequestParam(required = false, defaultValue = "0") Integer page,
             @RequestParam(required = false, defaultValue = "20") Integer size,
-            @RequestParam(required = false) Long albumId) {
+            @RequestParam(required = false) Long albumId,
+            WebRequest webRequest) {
         log.info("PublicController.getGallery called - slug={}, page={}, size={}, albumId={}", slug, page, size, albumId);
-        Page<GalleryImageResponseDTO> images = galleryImageFacade.getBySlug(slug, page, size, albumId);
-        PagedResponse<GalleryImageResponseDTO> response = PagedResponse.of(images);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditional(webRequest, slug, PublicResourceType.GALLERY,
+                () -> PagedResponse.of(galleryImageFacade.getBySlug(slug, page, size, albumId)));
     }
 
     @GetMapping("/{slug}/members")
     public ResponseEntity<ApiResponse<PagedResponse<UserResponseDTO>>> getMembers(
             @PathVariable String slug,
-            @PageableDefault(size = 20) Pageable pageable) {
+            @PageableDefault(size = 20) Pageable pageable,
+            WebRequest webRequest) {
         log.info("PublicController.getMembers called - slug={}, pageable={}", slug, pageable);
-        PagedResponse<UserResponseDTO> response = PagedResponse.of(userFacade.getTeamMembersBySlug(slug, pageable));
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditional(webRequest, slug, PublicResourceType.MEMBERS,
+                () -> PagedResponse.of(userFacade.getTeamMembersBySlug(slug, pageable)));
     }
 
     @GetMapping("/{slug}/newsletters")
     public ResponseEntity<ApiResponse<PagedResponse<NewsletterResponseDTO>>> getNewsletters(
             @PathVariable String slug,
             @RequestParam(required = false) String search,
-            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable) {
+            @PageableDefault(size = 20, sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            WebRequest webRequest) {
         log.info("PublicController.getNewsletters called - slug={}, search={}, pageable={}", slug, search, pageable);
-        PagedResponse<NewsletterResponseDTO> response = PagedResponse.of(
-                newsletterFacade.getPublishedBySlug(slug, search, pageable));
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditional(webRequest, slug, PublicResourceType.NEWSLETTERS,
+                () -> PagedResponse.of(newsletterFacade.getPublishedBySlug(slug, search, pageable)));
     }
 
     @GetMapping("/{slug}/newsletters/{id}")
     public ResponseEntity<ApiResponse<NewsletterResponseDTO>> getNewsletter(
             @PathVariable String slug,
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest) {
         log.info("PublicController.getNewsletter called - slug={}, id={}", slug, id);
-        NewsletterResponseDTO response = newsletterFacade.getPublishedByIdAndSlug(id, slug);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditional(webRequest, slug, PublicResourceType.NEWSLETTERS,
+                () -> newsletterFacade.getPublishedByIdAndSlug(id, slug));
     }
 
 
     @GetMapping("{slug}/albums")
     public ResponseEntity<ApiResponse<PagedResponse<AlbumResponseDTO>>> getAll(
-            @PathVariable String slug, @ModelAttribute AlbumFilter albumFilter) {
+            @PathVariable String slug, @ModelAttribute AlbumFilter albumFilter, WebRequest webRequest) {
         albumFilter.setSortBy("createdAt");
         albumFilter.setSortOrder(Sort.Direction.DESC);
         albumFilter.setPanchayatSlug(slug);
-        Page<AlbumResponseDTO> albums = albumFacade.getAll(albumFilter);
-        PagedResponse<AlbumResponseDTO> response = PagedResponse.of(albums);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditional(webRequest, slug, PublicResourceType.ALBUMS,
+                () -> PagedResponse.of(albumFacade.getAll(albumFilter)));
     }
 
+    /**
+     * Platform landing page, served from a pre-serialized snapshot
+     */
     @GetMapping("/platform/landing-page")
-    public ResponseEntity<ApiResponse<PlatformLandingPageConfigDTO>> getPlatformLandingPage() {
+    public ResponseEntity<byte[]> getPlatformLandingPage(WebRequest webRequest) {
         log.info("PublicController.getPlatformLandingPage called");
-        List<in.gram.gov.app.egram_service.dto.response.PlatformSectionResponseDTO> sections = platformLandingPageFacade.getVisibleSections();
-        PlatformLandingPageConfigDTO config = new PlatformLandingPageConfigDTO();
-        config.setSections(sections);
-        return ResponseEntity.ok(ApiResponse.success(config));
+        LandingPageSnapshot snapshot = platformLandingPageFacade.getVisibleSectionsSnapshot();
+        if (webRequest.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.body());
     }
 
+    /**
+     * Public website sections, served from a pre-serialized snapshot.
+     * Repeat visitors sending a matching If-None-Match get 304 Not Modified.
+     */
     @GetMapping("/{slug}/website")
-    public ResponseEntity<ApiResponse<PanchayatWebsiteConfigDTO>> getPanchayatWebsite(@PathVariable String slug) {
+    public ResponseEntity<byte[]> getPanchayatWebsite(@PathVariable String slug, WebRequest webRequest) {
         log.info("PublicController.getPanchayatWebsite called - slug={}", slug);
-        List<in.gram.gov.app.egram_service.dto.response.PanchayatWebsiteSectionResponseDTO> sections = panchayatWebsiteFacade.getVisibleSections(slug);
-        PanchayatWebsiteConfigDTO config = new PanchayatWebsiteConfigDTO();
-        config.setSections(sections);
-        return ResponseEntity.ok(ApiResponse.success(config));
+        WebsiteSnapshot snapshot = panchayatWebsiteFacade.getVisibleSectionsSnapshot(slug);
+        if (webRequest.checkNotModified(snapshot.etag())) {
+            return null;
+        }
+        // checkNotModified has already written the ETag header
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.body());
     }
 
     @GetMapping("/{slug}/documents")
     public ResponseEntity<ApiResponse<PagedResponse<DocumentResponseDTO>>> getPublicDocuments(
             @PathVariable String slug,
             @RequestParam(required = false) DocumentCategory category,
-            @PageableDefault(size = 20) Pageable pageable) {
+            @PageableDefault(size = 20) Pageable pageable,
+            WebRequest webRequest) {
         log.info("PublicController.getPublicDocuments called - slug={}, category={}", slug, category);
-        PagedResponse<DocumentResponseDTO> response = documentFacade.getPublicDocuments(slug, category, pageable);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditional(webRequest, slug, PublicResourceType.DOCUMENTS,
+                () -> documentFacade.getPublicDocuments(slug, category, pageable));
     }
 
     @GetMapping("/{slug}/documents/{id}/view")
     public ResponseEntity<ApiResponse<DocumentResponseDTO>> getPublicDocumentView(
             @PathVariable String slug,
-            @PathVariable Long id) {
+            @PathVariable Long id,
+            WebRequest webRequest) {
         log.info("PublicController.getPublicDocumentView called - slug={}, id={}", slug, id);
+        ContentVersion version = contentVersionService.current(slug, PublicResourceType.DOCUMENTS);
+        if (webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
         // This will be handled by the facade - it should only return public documents
         // For now, we'll use the same endpoint but ensure it's public
         PagedResponse<DocumentResponseDTO> documents = documentFacade.getPublicDocuments(slug, null, 
@@ -231,10 +302,26 @@ public class PublicController {
     public ResponseEntity<ApiResponse<PagedResponse<DocumentResponseDTO>>> getWebsiteDocuments(
             @PathVariable String slug,
             @RequestParam(required = false) DocumentCategory category,
-            @PageableDefault(size = 20) Pageable pageable) {
+            @PageableDefault(size = 20) Pageable pageable,
+            WebRequest webRequest) {
         log.info("PublicController.getWebsiteDocuments called - slug={}, category={}", slug, category);
-        PagedResponse<DocumentResponseDTO> response = documentFacade.getWebsiteDocuments(slug, category, pageable);
-        return ResponseEntity.ok(ApiResponse.success(response));
+        return conditional(webRequest, slug, PublicResourceType.DOCUMENTS,
+                () -> documentFacade.getWebsiteDocuments(slug, category, pageable));
+    }
+
+    /**
+     * Answer 304 when the client's validators match the current version of the resource,
+     * otherwise load and return it. checkNotModified writes the ETag and Last-Modified headers.
+     */
+    private <T> ResponseEntity<ApiResponse<T>> conditional(WebRequest webRequest, String slug,
+                                                         PublicResourceType type, Supplier<T> loader) {
+        ContentVersion version = contentVersionService.current(slug, type);
+        if (webRequest.checkNotModified(version.etag(), version.lastModifiedMillis())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .body(ApiResponse.success(loader.get()));
     }
 
 }
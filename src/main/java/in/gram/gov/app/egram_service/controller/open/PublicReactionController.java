@@ -0,0 +1,51 @@
+package in.gram.gov.app.egram_service.controller.open;
+
+import in.gram.gov.app.egram_service.dto.ApiResponse;
+import in.gram.gov.app.egram_service.dto.request.ReactionRequestDTO;
+import in.gram.gov.app.egram_service.dto.response.ReactionResponseDTO;
+import in.gram.gov.app.egram_service.facade.ReactionFacade;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/public/{slug}/posts/{postId}/reactions")
+@RequiredArgsConstructor
+public class PublicReactionController {
+    private final ReactionFacade reactionFacade;
+
+    @GetMapping
+    public ResponseEntity<ApiResponse<ReactionResponseDTO>> getReactions(
+            @PathVariable String slug,
+            @PathVariable Long postId,
+            @RequestParam(required = false) String visitorId,
+            HttpServletRequest httpRequest) {
+        ReactionResponseDTO response = reactionFacade.get(slug, postId, visitorId, httpRequest);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    /**
+     * Add the reaction, remove it when the visitor sends the same type again, or switch types
+     */
+    @PostMapping
+    public ResponseEntity<ApiResponse<ReactionResponseDTO>> toggleReaction(
+            @PathVariable String slug,
+            @PathVariable Long postId,
+            @Valid @RequestBody ReactionRequestDTO request,
+            HttpServletRequest httpRequest) {
+        ReactionResponseDTO response = reactionFacade.toggle(slug, postId, request, httpRequest);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @DeleteMapping
+    public ResponseEntity<ApiResponse<ReactionResponseDTO>> removeReaction(
+            @PathVariable String slug,
+            @PathVariable Long postId,
+            @RequestParam(required = false) String visitorId,
+            HttpServletRequest httpRequest) {
+        ReactionResponseDTO response = reactionFacade.remove(slug, postId, visitorId, httpRequest);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+}
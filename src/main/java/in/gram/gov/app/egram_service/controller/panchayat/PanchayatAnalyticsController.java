@@ -0,0 +1,43 @@
+package in.gram.gov.app.egram_service.controller.panchayat;
+
+import in.gram.gov.app.egram_service.dto.ApiResponse;
+import in.gram.gov.app.egram_service.dto.response.TopItemResponseDTO;
+import in.gram.gov.app.egram_service.facade.AnalyticsFacade;
+import in.gram.gov.app.egram_service.service.AnalyticsTopItemsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/panchayat/analytics")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('PANCHAYAT_ADMIN')")
+@Slf4j
+public class PanchayatAnalyticsController {
+    private final AnalyticsFacade analyticsFacade;
+
+    @GetMapping("/top-pages")
+    public ResponseEntity<ApiResponse<List<TopItemResponseDTO>>> getTopPages(
+            @RequestParam(defaultValue = "7") Integer days,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        log.info("PanchayatAnalyticsController.getTopPages called - days={}, limit={}", days, limit);
+        List<TopItemResponseDTO> response = analyticsFacade.getTopItems(AnalyticsTopItemsService.Kind.PAGE, days, limit);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+
+    @GetMapping("/top-referrers")
+    public ResponseEntity<ApiResponse<List<TopItemResponseDTO>>> getTopReferrers(
+            @RequestParam(defaultValue = "7") Integer days,
+            @RequestParam(defaultValue = "10") Integer limit) {
+        log.info("PanchayatAnalyticsController.getTopReferrers called - days={}, limit={}", days, limit);
+        List<TopItemResponseDTO> response = analyticsFacade.getTopItems(AnalyticsTopItemsService.Kind.REFERRER, days, limit);
+        return ResponseEntity.ok(ApiResponse.success(response));
+    }
+}
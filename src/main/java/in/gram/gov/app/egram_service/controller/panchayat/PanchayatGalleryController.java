@@ -5,6 +5,7 @@ import in.gram.gov.app.egram_service.dto.PagedResponse;
 import in.gram.gov.app.egram_service.dto.filters.GalleryFilter;
 import in.gram.gov.app.egram_service.dto.request.GalleryImageRequestDTO;
 import in.gram.gov.app.egram_service.dto.response.GalleryImageResponseDTO;
+import in.gram.gov.app.egram_service.dto.response.MediaJobResponseDTO;
 import in.gram.gov.app.egram_service.facade.GalleryImageFacade;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -16,6 +17,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.net.URI;
+
 /**
  * Panchayat Gallery Controller
  * Manages gallery image operations including upload, retrieval, update, and deletion
@@ -76,6 +79,47 @@ public class PanchayatGalleryController {
         return ResponseEntity.ok(ApiResponse.success("Image uploaded successfully", response));
     }
 
+    /**
+     * Create gallery image and upload its file in the background
+     * The image is saved straight away with status PROCESSING and shows in the public gallery
+     * once the returned job (also in the Location header) is COMPLETED
+     * @param caption Image caption
+     * @param tags Image tags
+     * @param albumId Album ID to associate with
+     * @param displayOrder Display order within album
+     * @param imageFile Image file to upload and compress
+     * @param compressionQuality Compression quality for image (HIGH, MEDIUM, LOW)
+     * @param authentication Current user authentication
+     * @return 202 with the upload job
+     */
+    @PostMapping(value = "/async", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<MediaJobResponseDTO>> createAsync(
+            @RequestParam(required = false) String caption,
+            @RequestParam(required = false) String tags,
+            @RequestParam(required = false) Long albumId,
+            @RequestParam(required = false) Integer displayOrder,
+            @RequestParam MultipartFile imageFile,
+            @RequestParam(required = false, defaultValue = "HIGH") String compressionQuality,
+            Authentication authentication) {
+
+        String email = authentication.getName();
+
+        GalleryImageRequestDTO request = new GalleryImageRequestDTO();
+        request.setCaption(caption);
+        request.setTags(tags);
+        request.setAlbumId(albumId);
+        request.setDisplayOrder(displayOrder);
+        request.setImageFile(imageFile);
+        request.setCompressionQuality(compressionQuality.toUpperCase());
+
+        log.info("Creating gallery image with async upload for user: {}", email);
+
+        MediaJobResponseDTO response = galleryImageFacade.createAsync(request, email);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/panchayat/media-jobs/" + response.getJobId()))
+                .body(ApiResponse.success("Image upload in progress", response));
+    }
+
     /**
      * Get all gallery images with optional album filter
      * @param page Page number (0-indexed)
@@ -0,0 +1,32 @@
+package in.gram.gov.app.egram_service.controller.panchayat;
+
+import in.gram.gov.app.egram_service.dto.ApiResponse;
+import in.gram.gov.app.egram_service.dto.response.MediaJobResponseDTO;
+import in.gram.gov.app.egram_service.facade.MediaJobFacade;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Panchayat Media Job Controller
+ * Status of image uploads started through the async post and gallery endpoints
+ */
+@RestController
+@RequestMapping("/api/v1/panchayat/media-jobs")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('PANCHAYAT_ADMIN')")
+public class PanchayatMediaJobController {
+    private final MediaJobFacade mediaJobFacade;
+
+    /**
+     * Get the status of an upload job
+     * @param jobId Job ID returned by an async create
+     * @return Job status, with the image URL once COMPLETED or the error once FAILED
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ApiResponse<MediaJobResponseDTO>> getStatus(@PathVariable String jobId) {
+        MediaJobResponseDTO response = mediaJobFacade.getStatus(jobId);
+        return ResponseEntity.ok(ApiResponse.success("Media job retrieved successfully", response));
+    }
+}
@@ -5,6 +5,7 @@ import in.gram.gov.app.egram_service.dto.ApiResponse;
 import in.gram.gov.app.egram_service.dto.PagedResponse;
 import in.gram.gov.app.egram_service.dto.filters.PostFilter;
 import in.gram.gov.app.egram_service.dto.request.PostRequestDTO;
+import in.gram.gov.app.egram_service.dto.response.MediaJobResponseDTO;
 import in.gram.gov.app.egram_service.dto.response.PostResponseDTO;
 import in.gram.gov.app.egram_service.facade.PostFacade;
 import lombok.RequiredArgsConstructor;
@@ -16,6 +17,8 @@ import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.net.URI;
+
 @RestController
 @RequestMapping("/api/v1/panchayat/posts")
 @RequiredArgsConstructor
@@ -66,6 +69,46 @@ public class PanchayatPostController {
         return ResponseEntity.ok(ApiResponse.success("Post created successfully", response));
     }
 
+    /**
+     * Create a new post and upload its image in the background
+     * The post is saved straight away with media status PROCESSING; poll the returned job
+     * (also in the Location header) until it is COMPLETED or FAILED
+     * @param title Post title
+     * @param bodyText Post body content
+     * @param imageFile Image file to upload and compress
+     * @param compressionQuality Compression quality for image (HIGH, MEDIUM, LOW)
+     * @param authentication Current user authentication
+     * @return 202 with the upload job
+     */
+    @PostMapping(value = "/async", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ApiResponse<MediaJobResponseDTO>> createAsync(
+            @RequestParam(required = false) String title,
+            @RequestParam String bodyText,
+            @RequestParam MultipartFile imageFile,
+            @RequestParam(required = false, defaultValue = "HIGH") String compressionQuality,
+            Authentication authentication) {
+
+        String email = authentication.getName();
+
+        PostRequestDTO request = new PostRequestDTO();
+        request.setTitle(title);
+        request.setBodyText(bodyText);
+        request.setImageFile(imageFile);
+
+        try {
+            request.setCompressionQuality(CompressionQuality.valueOf(compressionQuality.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            request.setCompressionQuality(CompressionQuality.HIGH);
+        }
+
+        log.info("Creating post with async image upload for user: {}", email);
+
+        MediaJobResponseDTO response = postFacade.createAsync(request, email);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/panchayat/media-jobs/" + response.getJobId()))
+                .body(ApiResponse.success("Post created, image upload in progress", response));
+    }
+
     /**
      * Get all posts with optional filtering
      * @param postFilter Filter criteria
@@ -3,10 +3,10 @@ package in.gram.gov.app.egram_service.controller.panchayat;
 import in.gram.gov.app.egram_service.dto.ApiResponse;
 import in.gram.gov.app.egram_service.dto.request.CreateSectionFromTemplateRequestDTO;
 import in.gram.gov.app.egram_service.dto.response.PanchayatWebsiteSectionResponseDTO;
-import in.gram.gov.app.egram_service.dto.response.SectionTemplateResponseDTO;
 import in.gram.gov.app.egram_service.facade.SectionTemplateFacade;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
@@ -23,11 +23,12 @@ public class SectionTemplateController {
     private final SectionTemplateFacade facade;
 
     @GetMapping
-    public ResponseEntity<ApiResponse<Map<String, List<SectionTemplateResponseDTO>>>> getTemplates(
-            @RequestParam(required = false) String language) {
+    public ResponseEntity<byte[]> getTemplates(@RequestParam(required = false) String language) {
         log.info("SectionTemplateController.getTemplates called - language={}", language);
-        List<SectionTemplateResponseDTO> templates = facade.getAllTemplates(language);
-        return ResponseEntity.ok(ApiResponse.success(Map.of("templates", templates)));
+        // Catalog payload is serialized once per language and reused until templates change
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(facade.getAllTemplatesSerialized(language));
     }
 
     @PostMapping("/{templateId}/create-page")
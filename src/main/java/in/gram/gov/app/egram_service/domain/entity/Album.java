@@ -4,13 +4,16 @@
 // ============================================
 package in.gram.gov.app.egram_service.domain.entity;
 
+import com.vladmihalcea.hibernate.type.json.JsonType;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Type;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Entity
 @Table(name = "albums",
@@ -44,6 +47,11 @@ public class Album extends BaseEntity {
     @Column(name = "cover_image_url", length = 500)
     private String coverImageUrl;
 
+    // Variant name (thumb, medium, full) -> public URL; null for images without variants
+    @Type(JsonType.class)
+    @Column(name = "cover_image_variants", columnDefinition = "jsonb")
+    private Map<String, String> coverImageVariants;
+
     // Relationships
     @OneToMany(mappedBy = "album", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
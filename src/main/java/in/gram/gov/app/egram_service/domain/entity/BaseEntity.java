@@ -4,6 +4,7 @@ package in.gram.gov.app.egram_service.domain.entity;// =========================
 
 import jakarta.persistence.Column;
 import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PreUpdate;
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.data.annotation.CreatedDate;
@@ -28,6 +29,12 @@ public abstract class BaseEntity {
     @LastModifiedDate
     @Column(name = "updated_at")
     private LocalDateTime updatedAt=LocalDateTime.now();
+
+    // Auditing listener is disabled, so keep updated_at current on every entity update
+    @PreUpdate
+    protected void touchUpdatedAt() {
+        this.updatedAt = LocalDateTime.now();
+    }
 }
 
 
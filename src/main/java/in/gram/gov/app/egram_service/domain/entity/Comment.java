@@ -14,6 +14,8 @@ import java.util.List;
         indexes = {
                 @Index(name = "idx_comment_post", columnList = "post_id"),
                 @Index(name = "idx_comment_parent", columnList = "parent_comment_id"),
+                @Index(name = "idx_comment_root", columnList = "root_comment_id, depth"),
+                @Index(name = "idx_comment_post_top_level", columnList = "post_id, parent_comment_id, created_at"),
                 @Index(name = "idx_comment_approved", columnList = "approved_flag, created_at")
         })
 @Getter
@@ -50,6 +52,14 @@ public class Comment extends BaseEntity {
     @JoinColumn(name = "parent_comment_id", foreignKey = @ForeignKey(name = "fk_comment_parent"))
     private Comment parentComment;
 
+    // Thread root (own id for top-level comments) and nesting level, so a thread loads in one range query
+    @Column(name = "root_comment_id")
+    private Long rootCommentId;
+
+    @Column(name = "depth", nullable = false)
+    @Builder.Default
+    private Integer depth = 0;
+
     @Column(name = "approved_flag", nullable = false)
     @Builder.Default
     private Boolean approvedFlag = false;
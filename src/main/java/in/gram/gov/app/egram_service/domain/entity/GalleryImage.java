@@ -4,10 +4,14 @@
 // ============================================
 package in.gram.gov.app.egram_service.domain.entity;
 
+import com.vladmihalcea.hibernate.type.json.JsonType;
+import in.gram.gov.app.egram_service.constants.enums.MediaStatus;
 import jakarta.persistence.*;
-import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Type;
+
+import java.util.Map;
 
 @Entity
 @Table(name = "gallery_images",
@@ -40,10 +44,20 @@ public class GalleryImage extends BaseEntity {
     @JoinColumn(name = "uploaded_by_user_id", nullable = false, foreignKey = @ForeignKey(name = "fk_gallery_uploader"))
     private User uploadedBy;
 
-    @NotBlank(message = "Image URL is required")
-    @Column(name = "image_url", nullable = false, length = 500)
+    // Null while an async upload is PROCESSING, or if it FAILED
+    @Column(name = "image_url", length = 500)
     private String imageUrl;
 
+    // Variant name (thumb, medium, full) -> public URL; null for images without variants
+    @Type(JsonType.class)
+    @Column(name = "image_variants", columnDefinition = "jsonb")
+    private Map<String, String> imageVariants;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "image_status", nullable = false, length = 20)
+    @Builder.Default
+    private MediaStatus imageStatus = MediaStatus.READY;
+
     @Size(max = 500)
     @Column(name = "caption", length = 500)
     private String caption;
@@ -0,0 +1,57 @@
+package in.gram.gov.app.egram_service.domain.entity;
+
+import in.gram.gov.app.egram_service.constants.enums.CompressionQuality;
+import in.gram.gov.app.egram_service.constants.enums.MediaJobStatus;
+import in.gram.gov.app.egram_service.constants.enums.MediaJobTarget;
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A background upload for a post or gallery image created in async mode
+ */
+@Entity
+@Table(name = "media_jobs",
+        indexes = {
+                @Index(name = "idx_media_job_status_updated", columnList = "status, updated_at")
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MediaJob extends BaseEntity {
+
+    // Random UUID, so job ids cannot be guessed across panchayats
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+
+    @Column(name = "panchayat_id")
+    private Long panchayatId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "target_type", nullable = false, length = 30)
+    private MediaJobTarget targetType;
+
+    @Column(name = "target_id", nullable = false)
+    private Long targetId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    @Builder.Default
+    private MediaJobStatus status = MediaJobStatus.QUEUED;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "compression_quality", length = 20)
+    private CompressionQuality compressionQuality;
+
+    @Column(name = "attempts", nullable = false)
+    @Builder.Default
+    private Integer attempts = 0;
+
+    @Column(name = "result_url", length = 500)
+    private String resultUrl;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+}
@@ -0,0 +1,68 @@
+package in.gram.gov.app.egram_service.domain.entity;
+
+import com.vladmihalcea.hibernate.type.json.JsonType;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Type;
+
+import java.util.Map;
+
+/**
+ * An image stored under a key derived from its content, shared by every row that uploaded the same bytes
+ */
+@Entity
+@Table(name = "media_objects",
+        indexes = {
+                @Index(name = "idx_media_object_original", columnList = "original_hash, compression_quality")
+        },
+        uniqueConstraints = {
+                @UniqueConstraint(name = "uk_media_object_file_key", columnNames = {"file_key"}),
+                @UniqueConstraint(name = "uk_media_object_content_hash", columnNames = {"content_hash"})
+        })
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class MediaObject extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "file_key", nullable = false)
+    private String fileKey;
+
+    // SHA-256 of the compressed bytes, hex
+    @Column(name = "content_hash", nullable = false, length = 64)
+    private String contentHash;
+
+    // SHA-256 of the upload the object was first compressed from, hex
+    @Column(name = "original_hash", length = 64)
+    private String originalHash;
+
+    @Column(name = "compression_quality", length = 20)
+    private String compressionQuality;
+
+    @Column(name = "content_type", length = 100)
+    private String contentType;
+
+    @Column(name = "size_bytes", nullable = false)
+    private Long sizeBytes;
+
+    @Column(name = "width")
+    private Integer width;
+
+    @Column(name = "height")
+    private Integer height;
+
+    // Variant name (thumb, medium) -> file key; null when the object was stored without variants
+    @Type(JsonType.class)
+    @Column(name = "variant_keys", columnDefinition = "jsonb")
+    private Map<String, String> variantKeys;
+
+    @Column(name = "ref_count", nullable = false)
+    @Builder.Default
+    private Integer refCount = 1;
+}
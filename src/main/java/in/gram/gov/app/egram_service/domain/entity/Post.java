@@ -1,14 +1,18 @@
 package in.gram.gov.app.egram_service.domain.entity;
 
+import com.vladmihalcea.hibernate.type.json.JsonType;
+import in.gram.gov.app.egram_service.constants.enums.MediaStatus;
 import in.gram.gov.app.egram_service.constants.enums.PostStatus;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.*;
+import org.hibernate.annotations.Type;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Entity
 @Table(name = "posts",
@@ -49,6 +53,16 @@ public class Post extends BaseEntity {
     @Column(name = "media_url", length = 500)
     private String mediaUrl;
 
+    // Variant name (thumb, medium, full) -> public URL; null for images without variants
+    @Type(JsonType.class)
+    @Column(name = "media_variants", columnDefinition = "jsonb")
+    private Map<String, String> mediaVariants;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "media_status", nullable = false, length = 20)
+    @Builder.Default
+    private MediaStatus mediaStatus = MediaStatus.READY;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false, length = 20)
     @Builder.Default
@@ -57,10 +71,25 @@ public class Post extends BaseEntity {
     @Column(name = "published_at")
     private LocalDateTime publishedAt;
 
-    @Column(name = "view_count")
+    // Counters below are maintained by atomic UPDATEs (PostRepository, PostViewCounter);
+    // they are never written back from the entity
+    @Column(name = "view_count", updatable = false)
     @Builder.Default
     private Long viewCount = 0L;
 
+    @Column(name = "like_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Long likeCount = 0L;
+
+    @Column(name = "comment_count", nullable = false, updatable = false)
+    @Builder.Default
+    private Long commentCount = 0L;
+
+    // ReactionType name -> count; the column default ('{}') fills it on insert
+    @Type(JsonType.class)
+    @Column(name = "reaction_counts", columnDefinition = "jsonb", insertable = false, updatable = false)
+    private Map<String, Long> reactionCounts;
+
     // Relationships
     @OneToMany(mappedBy = "post", cascade = CascadeType.ALL, orphanRemoval = true)
     @Builder.Default
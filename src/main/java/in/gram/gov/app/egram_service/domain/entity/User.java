@@ -1,5 +1,6 @@
 package in.gram.gov.app.egram_service.domain.entity;
 
+import com.vladmihalcea.hibernate.type.json.JsonType;
 import in.gram.gov.app.egram_service.constants.enums.UserRole;
 import in.gram.gov.app.egram_service.constants.enums.UserStatus;
 import jakarta.persistence.*;
@@ -9,10 +10,12 @@ import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.hibernate.annotations.SQLDelete;
+import org.hibernate.annotations.Type;
 import org.hibernate.annotations.Where;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @Entity
 @Table(name = "users",
@@ -56,6 +59,11 @@ public class User extends BaseEntity {
     @Column(name = "image_url", length = 500)
     private String imageUrl;
 
+    // Variant name (thumb, medium, full) -> public URL; null for images without variants
+    @Type(JsonType.class)
+    @Column(name = "image_variants", columnDefinition = "jsonb")
+    private Map<String, String> imageVariants;
+
     @Column(name = "image_key", length = 500)
     private String imageKey;
 
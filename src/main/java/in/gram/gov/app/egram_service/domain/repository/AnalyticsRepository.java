@@ -8,7 +8,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Repository
 public interface AnalyticsRepository extends JpaRepository<Analytics, Long> {
@@ -26,5 +28,46 @@ public interface AnalyticsRepository extends JpaRepository<Analytics, Long> {
     Long countUniqueSessionsByPanchayatIdAndDateRange(@Param("panchayatId") Long panchayatId,
                                                         @Param("startDate") LocalDateTime startDate,
                                                         @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT COUNT(a) FROM Analytics a WHERE a.panchayat.id = :panchayatId AND " +
+           "a.createdAt >= :startDate AND a.createdAt < :endDate")
+    Long countByPanchayatIdBefore(@Param("panchayatId") Long panchayatId,
+                                  @Param("startDate") LocalDateTime startDate,
+                                  @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Views summed from the per-day total rows of analytics_daily for days in [fromDay, toDay)
+     */
+    @Query(value = "SELECT CAST(COALESCE(SUM(views), 0) AS BIGINT) AS views " +
+                   "FROM analytics_daily WHERE panchayat_id = :panchayatId " +
+                   "AND page_url = '*' AND device_type = '*' AND day >= :fromDay AND day < :toDay",
+           nativeQuery = true)
+    DailyTotals sumDailyTotals(@Param("panchayatId") Long panchayatId,
+                               @Param("fromDay") LocalDate fromDay,
+                               @Param("toDay") LocalDate toDay);
+
+    @Query(value = "SELECT session_sketch FROM analytics_daily WHERE panchayat_id = :panchayatId " +
+                   "AND page_url = '*' AND device_type = '*' AND day >= :fromDay AND day < :toDay " +
+                   "AND session_sketch IS NOT NULL",
+           nativeQuery = true)
+    List<byte[]> findSessionSketches(@Param("panchayatId") Long panchayatId,
+                                     @Param("fromDay") LocalDate fromDay,
+                                     @Param("toDay") LocalDate toDay);
+
+    @Query("SELECT DISTINCT a.sessionId FROM Analytics a WHERE a.panchayat.id = :panchayatId AND " +
+           "a.createdAt >= :startDate AND a.createdAt < :endDate AND a.sessionId IS NOT NULL")
+    List<String> findSessionIdsBefore(@Param("panchayatId") Long panchayatId,
+                                      @Param("startDate") LocalDateTime startDate,
+                                      @Param("endDate") LocalDateTime endDate);
+
+    @Query("SELECT DISTINCT a.sessionId FROM Analytics a WHERE a.panchayat.id = :panchayatId AND " +
+           "a.createdAt >= :startDate AND a.createdAt <= :endDate AND a.sessionId IS NOT NULL")
+    List<String> findSessionIdsByDateRange(@Param("panchayatId") Long panchayatId,
+                                           @Param("startDate") LocalDateTime startDate,
+                                           @Param("endDate") LocalDateTime endDate);
+
+    interface DailyTotals {
+        Long getViews();
+    }
 }
 
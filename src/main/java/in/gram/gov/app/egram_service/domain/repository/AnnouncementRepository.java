@@ -15,12 +15,12 @@ public interface AnnouncementRepository extends JpaRepository<Announcement, Long
     @Query("SELECT a FROM Announcement a WHERE a.panchayat.id = :panchayatId")
     Page<Announcement> findByPanchayatId(@Param("panchayatId") Long panchayatId, Pageable pageable);
     
-    @Query("SELECT a FROM Announcement a WHERE a.panchayat.slug = :slug AND a.isActive = true AND " +
+    @Query("SELECT a FROM Announcement a WHERE a.panchayat.id = :panchayatId AND a.isActive = true AND " +
            "(a.startDate IS NULL OR a.startDate <= :today) AND " +
            "(a.endDate IS NULL OR a.endDate >= :today) " +
            "ORDER BY a.priority DESC, a.createdAt DESC")
-    Page<Announcement> findActiveBySlug(@Param("slug") String slug, 
-                                         @Param("today") LocalDate today, 
-                                         Pageable pageable);
+    Page<Announcement> findActiveByPanchayatId(@Param("panchayatId") Long panchayatId,
+                                                @Param("today") LocalDate today,
+                                                Pageable pageable);
 }
 
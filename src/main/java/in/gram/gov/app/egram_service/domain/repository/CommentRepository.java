@@ -23,5 +23,29 @@ public interface CommentRepository extends JpaRepository<Comment, Long> {
     
     @Query("SELECT c FROM Comment c WHERE c.parentComment.id = :parentId ORDER BY c.createdAt ASC")
     List<Comment> findRepliesByParentId(@Param("parentId") Long parentId);
+
+    /**
+     * One page of top-level comments together with their replies down to maxDepth.
+     * Roots are paged in the subquery; the outer query is a range scan on (root_comment_id, depth).
+     */
+    @Query(value = "SELECT c.* FROM comments c " +
+            "WHERE c.root_comment_id IN (" +
+            "    SELECT r.id FROM comments r " +
+            "    WHERE r.post_id = :postId AND r.parent_comment_id IS NULL " +
+            "      AND (:approvedOnly = false OR r.approved_flag = true) " +
+            "    ORDER BY r.created_at DESC, r.id DESC LIMIT :limit OFFSET :offset) " +
+            "AND c.depth <= :maxDepth " +
+            "AND (:approvedOnly = false OR c.approved_flag = true) " +
+            "ORDER BY c.depth ASC, c.created_at ASC, c.id ASC",
+            nativeQuery = true)
+    List<Comment> findThreadPage(@Param("postId") Long postId,
+                                 @Param("approvedOnly") boolean approvedOnly,
+                                 @Param("maxDepth") int maxDepth,
+                                 @Param("limit") int limit,
+                                 @Param("offset") long offset);
+
+    @Query("SELECT COUNT(c) FROM Comment c WHERE c.post.id = :postId AND c.parentComment IS NULL " +
+            "AND (:approvedOnly = false OR c.approvedFlag = true)")
+    long countTopLevelByPostId(@Param("postId") Long postId, @Param("approvedOnly") boolean approvedOnly);
 }
 
@@ -36,23 +36,23 @@ public interface DocumentRepository extends JpaRepository<Document, Long> {
                                                  @Param("visibility") Visibility visibility,
                                                  Pageable pageable);
     
-    @Query("SELECT d FROM Document d WHERE d.panchayat.slug = :slug " +
+    @Query("SELECT d FROM Document d WHERE d.panchayat.id = :panchayatId " +
            "AND d.visibility = 'PUBLIC' " +
            "AND d.isAvailable = true " +
            "AND (:category IS NULL OR d.category = :category) " +
            "ORDER BY d.createdAt DESC")
-    Page<Document> findPublicDocumentsBySlug(@Param("slug") String slug,
-                                             @Param("category") DocumentCategory category,
-                                             Pageable pageable);
+    Page<Document> findPublicDocumentsByPanchayatId(@Param("panchayatId") Long panchayatId,
+                                                    @Param("category") DocumentCategory category,
+                                                    Pageable pageable);
     
-    @Query("SELECT d FROM Document d WHERE d.panchayat.slug = :slug " +
+    @Query("SELECT d FROM Document d WHERE d.panchayat.id = :panchayatId " +
            "AND d.showOnWebsite = true " +
            "AND d.isAvailable = true " +
            "AND (:category IS NULL OR d.category = :category) " +
            "ORDER BY d.createdAt DESC")
-    Page<Document> findWebsiteDocumentsBySlug(@Param("slug") String slug,
-                                              @Param("category") DocumentCategory category,
-                                              Pageable pageable);
+    Page<Document> findWebsiteDocumentsByPanchayatId(@Param("panchayatId") Long panchayatId,
+                                                     @Param("category") DocumentCategory category,
+                                                     Pageable pageable);
     
     Optional<Document> findByGoogleDriveFileId(String googleDriveFileId);
     
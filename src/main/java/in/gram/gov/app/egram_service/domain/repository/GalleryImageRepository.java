@@ -20,10 +20,11 @@ public interface GalleryImageRepository extends JpaRepository<GalleryImage, Long
                                                    @Param("albumId") Long albumId,
                                                    Pageable pageable);
 
-    @Query("SELECT g FROM GalleryImage g WHERE g.panchayat.slug = :slug AND " +
+    // Public listing: images whose async upload is still processing or failed have no URL yet
+    @Query("SELECT g FROM GalleryImage g WHERE g.panchayat.id = :panchayatId AND g.imageUrl IS NOT NULL AND " +
             "(:albumId IS NULL OR g.album.id = :albumId) ORDER BY g.displayOrder ASC, g.createdAt DESC")
-    Page<GalleryImage> findByPanchayatSlugAndAlbumId(@Param("slug") String slug,
-                                                     @Param("albumId") Long albumId,
-                                                     Pageable pageable);
+    Page<GalleryImage> findByPanchayatIdAndAlbumIdOrdered(@Param("panchayatId") Long panchayatId,
+                                                          @Param("albumId") Long albumId,
+                                                          Pageable pageable);
 }
 
@@ -2,6 +2,7 @@ package in.gram.gov.app.egram_service.domain.repository;
 
 import in.gram.gov.app.egram_service.domain.entity.Like;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -22,5 +23,41 @@ public interface LikeRepository extends JpaRepository<Like, Long> {
     
     @Query("SELECT COUNT(l) FROM Like l WHERE l.post.id = :postId AND l.user IS NOT NULL")
     Long countAuthenticatedLikesByPostId(@Param("postId") Long postId);
+
+    /**
+     * Insert a visitor's reaction unless the visitor already reacted to the post (uk_like_post_visitor)
+     * @return 1 when inserted, 0 when a reaction already existed
+     */
+    @Modifying
+    @Query(value = "INSERT INTO likes (post_id, visitor_identifier, reaction_type, created_at, updated_at) " +
+                   "VALUES (:postId, :visitorIdentifier, :reactionType, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT (post_id, visitor_identifier) DO NOTHING",
+           nativeQuery = true)
+    int insertVisitorReaction(@Param("postId") Long postId,
+                              @Param("visitorIdentifier") String visitorIdentifier,
+                              @Param("reactionType") String reactionType);
+
+    @Query(value = "SELECT reaction_type FROM likes WHERE post_id = :postId AND visitor_identifier = :visitorIdentifier",
+           nativeQuery = true)
+    String findVisitorReactionType(@Param("postId") Long postId,
+                                   @Param("visitorIdentifier") String visitorIdentifier);
+
+    // The expected current type makes concurrent toggles by the same visitor apply at most once
+    @Modifying
+    @Query(value = "UPDATE likes SET reaction_type = :newType, updated_at = CURRENT_TIMESTAMP " +
+                   "WHERE post_id = :postId AND visitor_identifier = :visitorIdentifier AND reaction_type = :currentType",
+           nativeQuery = true)
+    int changeVisitorReaction(@Param("postId") Long postId,
+                              @Param("visitorIdentifier") String visitorIdentifier,
+                              @Param("currentType") String currentType,
+                              @Param("newType") String newType);
+
+    @Modifying
+    @Query(value = "DELETE FROM likes WHERE post_id = :postId AND visitor_identifier = :visitorIdentifier " +
+                   "AND reaction_type = :currentType",
+           nativeQuery = true)
+    int deleteVisitorReaction(@Param("postId") Long postId,
+                              @Param("visitorIdentifier") String visitorIdentifier,
+                              @Param("currentType") String currentType);
 }
 
@@ -0,0 +1,25 @@
+package in.gram.gov.app.egram_service.domain.repository;
+
+import in.gram.gov.app.egram_service.constants.enums.MediaJobStatus;
+import in.gram.gov.app.egram_service.domain.entity.MediaJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface MediaJobRepository extends JpaRepository<MediaJob, String> {
+    Optional<MediaJob> findByIdAndPanchayatId(String id, Long panchayatId);
+
+    List<MediaJob> findByStatusInAndUpdatedAtBefore(Collection<MediaJobStatus> statuses, LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM MediaJob j WHERE j.status IN :statuses AND j.updatedAt < :cutoff")
+    int deleteFinishedBefore(@Param("statuses") Collection<MediaJobStatus> statuses, @Param("cutoff") LocalDateTime cutoff);
+}
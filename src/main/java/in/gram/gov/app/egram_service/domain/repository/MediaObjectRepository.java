@@ -0,0 +1,51 @@
+package in.gram.gov.app.egram_service.domain.repository;
+
+import in.gram.gov.app.egram_service.domain.entity.MediaObject;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface MediaObjectRepository extends JpaRepository<MediaObject, Long> {
+    Optional<MediaObject> findFirstByOriginalHashAndCompressionQuality(String originalHash, String compressionQuality);
+
+    Optional<MediaObject> findByContentHash(String contentHash);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT m FROM MediaObject m WHERE m.fileKey = :fileKey")
+    Optional<MediaObject> findByFileKeyForUpdate(@Param("fileKey") String fileKey);
+
+    /**
+     * Take a reference unless the object is being deleted
+     * @return 1 when acquired, 0 when the object no longer exists or has no references left
+     */
+    @Modifying
+    @Query("UPDATE MediaObject m SET m.refCount = m.refCount + 1 WHERE m.id = :id AND m.refCount > 0")
+    int acquire(@Param("id") Long id);
+
+    /**
+     * Insert a new object holding one reference unless the key or content hash already exists
+     * @return 1 when inserted, 0 when an identical object was stored concurrently
+     */
+    @Modifying
+    @Query(value = "INSERT INTO media_objects (file_key, content_hash, original_hash, compression_quality, content_type, " +
+                   "size_bytes, width, height, ref_count, created_at, updated_at) " +
+                   "VALUES (:fileKey, :contentHash, :originalHash, :compressionQuality, :contentType, " +
+                   ":sizeBytes, :width, :height, 1, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP) " +
+                   "ON CONFLICT DO NOTHING",
+           nativeQuery = true)
+    int claim(@Param("fileKey") String fileKey,
+              @Param("contentHash") String contentHash,
+              @Param("originalHash") String originalHash,
+              @Param("compressionQuality") String compressionQuality,
+              @Param("contentType") String contentType,
+              @Param("sizeBytes") long sizeBytes,
+              @Param("width") Integer width,
+              @Param("height") Integer height);
+}
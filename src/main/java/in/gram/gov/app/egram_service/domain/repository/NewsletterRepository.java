@@ -14,15 +14,12 @@ public interface NewsletterRepository extends JpaRepository<Newsletter, Long> {
     @Query("SELECT n FROM Newsletter n WHERE n.panchayat.id = :panchayatId")
     Page<Newsletter> findByPanchayatId(@Param("panchayatId") Long panchayatId, Pageable pageable);
     
-    @Query("SELECT n FROM Newsletter n WHERE n.panchayat.slug = :slug AND n.isPublished = true")
-    Page<Newsletter> findByPanchayatSlugAndPublished(@Param("slug") String slug, Pageable pageable);
-    
-    @Query("SELECT n FROM Newsletter n WHERE n.panchayat.slug = :slug AND n.isPublished = true AND " +
+    @Query("SELECT n FROM Newsletter n WHERE n.panchayat.id = :panchayatId AND n.isPublished = true AND " +
            "(LOWER(n.title) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(n.subtitle) LIKE LOWER(CONCAT('%', :search, '%')) OR " +
            "LOWER(n.content) LIKE LOWER(CONCAT('%', :search, '%')))")
-    Page<Newsletter> findByPanchayatSlugAndPublishedWithSearch(
-            @Param("slug") String slug, 
+    Page<Newsletter> findByPanchayatIdAndPublishedWithSearch(
+            @Param("panchayatId") Long panchayatId,
             @Param("search") String search, 
             Pageable pageable);
     
@@ -0,0 +1,33 @@
+package in.gram.gov.app.egram_service.domain.repository;
+
+import in.gram.gov.app.egram_service.domain.entity.Panchayat;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Read-only aggregate counts for the panchayat dashboard.
+ */
+@Repository
+public interface PanchayatStatsRepository extends org.springframework.data.repository.Repository<Panchayat, Long> {
+
+    interface PanchayatCounts {
+        Long getTotalUsers();
+        Long getTotalPosts();
+        Long getTotalAnnouncements();
+        Long getTotalSchemes();
+        Long getTotalDocuments();
+        Long getTotalGalleryImages();
+    }
+
+    // One statement; each scalar subquery is an index-only count on its panchayat_id index
+    @Query(value = "SELECT " +
+            "(SELECT COUNT(*) FROM users WHERE panchayat_id = :panchayatId AND status != 'DELETED') AS totalUsers, " +
+            "(SELECT COUNT(*) FROM posts WHERE panchayat_id = :panchayatId) AS totalPosts, " +
+            "(SELECT COUNT(*) FROM announcements WHERE panchayat_id = :panchayatId) AS totalAnnouncements, " +
+            "(SELECT COUNT(*) FROM schemes WHERE panchayat_id = :panchayatId) AS totalSchemes, " +
+            "(SELECT COUNT(*) FROM documents WHERE panchayat_id = :panchayatId) AS totalDocuments, " +
+            "(SELECT COUNT(*) FROM gallery_images WHERE panchayat_id = :panchayatId) AS totalGalleryImages",
+            nativeQuery = true)
+    PanchayatCounts countByPanchayatId(@Param("panchayatId") Long panchayatId);
+}
@@ -16,8 +16,5 @@ public interface PanchayatWebsiteSectionRepository extends JpaRepository<Panchay
     
     @Query("SELECT s FROM PanchayatWebsiteSection s WHERE s.panchayat.id = :panchayatId ORDER BY s.displayOrder ASC")
     List<PanchayatWebsiteSection> findByPanchayatIdOrdered(@Param("panchayatId") Long panchayatId);
-    
-    @Query("SELECT s FROM PanchayatWebsiteSection s WHERE s.panchayat.slug = :slug AND s.isVisible = true ORDER BY s.displayOrder ASC")
-    List<PanchayatWebsiteSection> findByPanchayatSlugAndVisibleOrdered(@Param("slug") String slug);
 }
 
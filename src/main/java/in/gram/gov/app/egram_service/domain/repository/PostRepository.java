@@ -6,6 +6,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -20,10 +21,28 @@ public interface PostRepository extends JpaRepository<Post, Long>, JpaSpecificat
                                           @Param("status") PostStatus status,
                                           Pageable pageable);
 
-    @Query("SELECT p FROM Post p WHERE p.panchayat.slug = :slug AND p.status = 'PUBLISHED' ORDER BY p.publishedAt DESC")
-    Page<Post> findPublishedBySlug(@Param("slug") String slug, Pageable pageable);
+    @Query("SELECT p FROM Post p WHERE p.panchayat.id = :panchayatId AND p.status = 'PUBLISHED' ORDER BY p.publishedAt DESC")
+    Page<Post> findPublishedByPanchayatId(@Param("panchayatId") Long panchayatId, Pageable pageable);
 
-    @Query("SELECT p FROM Post p WHERE p.id = :postId AND p.panchayat.slug = :slug AND p.status = 'PUBLISHED'")
-    Post findPublishedByIdAndSlug(@Param("postId") Long postId, @Param("slug") String slug);
+    @Query("SELECT p FROM Post p WHERE p.id = :postId AND p.panchayat.id = :panchayatId AND p.status = 'PUBLISHED'")
+    Post findPublishedByIdAndPanchayatId(@Param("postId") Long postId, @Param("panchayatId") Long panchayatId);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.likeCount = CASE WHEN p.likeCount + :delta < 0 THEN 0 ELSE p.likeCount + :delta END WHERE p.id = :postId")
+    int adjustLikeCount(@Param("postId") Long postId, @Param("delta") long delta);
+
+    // Clears the persistence context so a post re-read in the same request sees the new counts
+    @Modifying(clearAutomatically = true)
+    @Query(value = "UPDATE posts SET reaction_counts = jsonb_set(reaction_counts, ARRAY[CAST(:reactionType AS TEXT)], " +
+                   "to_jsonb(GREATEST(COALESCE(CAST(reaction_counts ->> CAST(:reactionType AS TEXT) AS BIGINT), 0) + :delta, 0))) " +
+                   "WHERE id = :postId",
+           nativeQuery = true)
+    int adjustReactionCount(@Param("postId") Long postId,
+                            @Param("reactionType") String reactionType,
+                            @Param("delta") long delta);
+
+    @Modifying
+    @Query("UPDATE Post p SET p.commentCount = CASE WHEN p.commentCount + :delta < 0 THEN 0 ELSE p.commentCount + :delta END WHERE p.id = :postId")
+    int adjustCommentCount(@Param("postId") Long postId, @Param("delta") long delta);
 }
 
@@ -19,8 +19,8 @@ public interface SchemeRepository extends JpaRepository<Scheme, Long> {
                                               @Param("status") SchemeStatus status,
                                               Pageable pageable);
     
-    @Query("SELECT s FROM Scheme s WHERE s.panchayat.slug = :slug AND s.status IN ('ACTIVE', 'ONGOING') " +
+    @Query("SELECT s FROM Scheme s WHERE s.panchayat.id = :panchayatId AND s.status IN ('ACTIVE', 'ONGOING') " +
            "ORDER BY s.createdAt DESC")
-    Page<Scheme> findActiveBySlug(@Param("slug") String slug, Pageable pageable);
+    Page<Scheme> findActiveByPanchayatId(@Param("panchayatId") Long panchayatId, Pageable pageable);
 }
 
@@ -0,0 +1,57 @@
+package in.gram.gov.app.egram_service.domain.repository;
+
+import in.gram.gov.app.egram_service.domain.entity.Panchayat;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Platform-wide counts for the super-admin dashboard.
+ */
+@Repository
+public interface SystemAnalyticsRepository extends org.springframework.data.repository.Repository<Panchayat, Long> {
+
+    interface SystemCounts {
+        Long getTotalPanchayats();
+        Long getActivePanchayats();
+        Long getTotalUsers();
+        Long getTotalPosts();
+        Long getTotalSchemes();
+        Long getTotalAnnouncements();
+        Long getTotalDocuments();
+        Long getTotalGalleryImages();
+    }
+
+    interface TableEstimate {
+        String getTableName();
+        Long getEstimate();
+    }
+
+    // Exact counts in one round trip; soft-deleted panchayats and users are excluded as in the entity filters
+    @Query(value = "SELECT " +
+            "(SELECT COUNT(*) FROM panchayats WHERE status != 'DELETED') AS totalPanchayats, " +
+            "(SELECT COUNT(*) FROM panchayats WHERE status = 'ACTIVE') AS activePanchayats, " +
+            "(SELECT COUNT(*) FROM users WHERE status != 'DELETED') AS totalUsers, " +
+            "(SELECT COUNT(*) FROM posts) AS totalPosts, " +
+            "(SELECT COUNT(*) FROM schemes) AS totalSchemes, " +
+            "(SELECT COUNT(*) FROM announcements) AS totalAnnouncements, " +
+            "(SELECT COUNT(*) FROM documents) AS totalDocuments, " +
+            "(SELECT COUNT(*) FROM gallery_images) AS totalGalleryImages",
+            nativeQuery = true)
+    SystemCounts countAll();
+
+    // Planner row estimates maintained by ANALYZE/autovacuum; -1 means the table was never analyzed
+    @Query(value = "SELECT c.relname AS tableName, CAST(c.reltuples AS BIGINT) AS estimate " +
+            "FROM pg_class c JOIN pg_namespace n ON n.oid = c.relnamespace " +
+            "WHERE n.nspname = current_schema() AND c.relkind IN ('r', 'p') " +
+            "AND c.relname IN ('users', 'posts', 'schemes', 'announcements', 'documents', 'gallery_images')",
+            nativeQuery = true)
+    List<TableEstimate> estimateContentTables();
+
+    @Query(value = "SELECT " +
+            "(SELECT COUNT(*) FROM panchayats WHERE status != 'DELETED') AS totalPanchayats, " +
+            "(SELECT COUNT(*) FROM panchayats WHERE status = 'ACTIVE') AS activePanchayats",
+            nativeQuery = true)
+    SystemCounts countPanchayats();
+}
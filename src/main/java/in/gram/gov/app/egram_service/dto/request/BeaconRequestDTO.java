@@ -0,0 +1,19 @@
+package in.gram.gov.app.egram_service.dto.request;
+
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class BeaconRequestDTO {
+    @Size(max = 500)
+    private String pageUrl;
+
+    @Size(max = 500)
+    private String referrerUrl;
+
+    @Size(max = 100)
+    private String sessionId;
+
+    @Size(max = 20)
+    private String deviceType;
+}
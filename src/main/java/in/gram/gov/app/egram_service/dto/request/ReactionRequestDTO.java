@@ -0,0 +1,16 @@
+package in.gram.gov.app.egram_service.dto.request;
+
+import in.gram.gov.app.egram_service.constants.enums.ReactionType;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+@Data
+public class ReactionRequestDTO {
+    @NotNull(message = "Reaction type is required")
+    private ReactionType reactionType;
+
+    // Stable anonymous id kept by the client; the X-Visitor-Id header is used when absent
+    @Size(max = 100)
+    private String visitorId;
+}
@@ -3,6 +3,7 @@ package in.gram.gov.app.egram_service.dto.response;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 public class AlbumResponseDTO {
@@ -10,6 +11,8 @@ public class AlbumResponseDTO {
     private String albumName;
     private String description;
     private String coverImageUrl;
+    // Variant name (thumb, medium, full) -> URL, for srcset; null when only the single image exists
+    private Map<String, String> coverImageVariants;
     private Long imageCount;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
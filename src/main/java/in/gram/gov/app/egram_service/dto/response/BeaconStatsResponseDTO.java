@@ -0,0 +1,13 @@
+package in.gram.gov.app.egram_service.dto.response;
+
+import lombok.Data;
+
+@Data
+public class BeaconStatsResponseDTO {
+    private Integer bufferCapacity;
+    private Integer buffered;
+    private Long accepted;
+    private Long dropped;
+    private Long written;
+    private Long failed;
+}
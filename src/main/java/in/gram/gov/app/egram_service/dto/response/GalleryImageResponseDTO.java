@@ -1,13 +1,18 @@
 package in.gram.gov.app.egram_service.dto.response;
 
+import in.gram.gov.app.egram_service.constants.enums.MediaStatus;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 public class GalleryImageResponseDTO {
     private Long imageId;
     private String imageUrl;
+    // Variant name (thumb, medium, full) -> URL, for srcset; null when only the single image exists
+    private Map<String, String> imageVariants;
+    private MediaStatus imageStatus;
     private String caption;
     private String tags;
     private Long albumId;
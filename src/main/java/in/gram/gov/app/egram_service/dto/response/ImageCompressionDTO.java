@@ -5,6 +5,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 /**
  * DTO to hold image compression metadata and cloud storage information
  */
@@ -20,7 +22,9 @@ public class ImageCompressionDTO {
     private String contentType;
     private Integer width;
     private Integer height;
+    private Integer encodeAttempts; // encodes needed to reach the target size
     private String backblazeFileId; // S3 key/path in Backblaze B2
     private String backblazeFileUrl; // Public URL to access the image
+    private Map<String, String> variantUrls; // Variant name (thumb, medium, full) -> public URL
 }
 
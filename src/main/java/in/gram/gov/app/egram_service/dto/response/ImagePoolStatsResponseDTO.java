@@ -0,0 +1,18 @@
+package in.gram.gov.app.egram_service.dto.response;
+
+import lombok.Data;
+
+@Data
+public class ImagePoolStatsResponseDTO {
+    private Integer workers;
+    private Integer queueCapacity;
+    private Integer queued;
+    private Integer active;
+    private Integer queuedTenants;
+    private Long completed;
+    private Long rejected;
+    private Long timedOut;
+    private Long averageWaitMs;
+    private Long maxWaitMs;
+    private Long averageServiceMs;
+}
@@ -0,0 +1,20 @@
+package in.gram.gov.app.egram_service.dto.response;
+
+import in.gram.gov.app.egram_service.constants.enums.MediaJobStatus;
+import in.gram.gov.app.egram_service.constants.enums.MediaJobTarget;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class MediaJobResponseDTO {
+    private String jobId;
+    private MediaJobStatus status;
+    private MediaJobTarget targetType;
+    private Long targetId;
+    private String mediaUrl;
+    private String errorMessage;
+    private Integer attempts;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -1,9 +1,11 @@
 package in.gram.gov.app.egram_service.dto.response;
 
+import in.gram.gov.app.egram_service.constants.enums.MediaStatus;
 import in.gram.gov.app.egram_service.constants.enums.PostStatus;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 public class PostResponseDTO {
@@ -11,11 +13,16 @@ public class PostResponseDTO {
     private String title;
     private String bodyText;
     private String mediaUrl;
+    // Variant name (thumb, medium, full) -> URL, for srcset; null when only the single image exists
+    private Map<String, String> mediaVariants;
+    private MediaStatus mediaStatus;
     private PostStatus status;
     private LocalDateTime publishedAt;
     private Long viewCount;
     private Long likesCount;
     private Long commentsCount;
+    // ReactionType name -> count
+    private Map<String, Long> reactionCounts;
     private Long panchayatId;
     private Long authorId;
     private String authorName;
@@ -0,0 +1,26 @@
+package in.gram.gov.app.egram_service.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import in.gram.gov.app.egram_service.dto.PagedResponse;
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Composed homepage payload. Parts that were not requested are omitted;
+ * parts that failed or timed out are listed in {@code errors} keyed by part name.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PublicBundleResponseDTO {
+    private PanchayatResponseDTO panchayat;
+    private List<PanchayatWebsiteSectionResponseDTO> website;
+    private PagedResponse<PostResponseDTO> posts;
+    private PagedResponse<AnnouncementResponseDTO> announcements;
+    private PagedResponse<SchemeResponseDTO> schemes;
+    private PagedResponse<GalleryImageResponseDTO> gallery;
+    private PagedResponse<UserResponseDTO> members;
+    private Map<String, String> errors = new LinkedHashMap<>();
+}
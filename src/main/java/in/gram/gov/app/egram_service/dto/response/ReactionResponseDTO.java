@@ -0,0 +1,16 @@
+package in.gram.gov.app.egram_service.dto.response;
+
+import in.gram.gov.app.egram_service.constants.enums.ReactionType;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class ReactionResponseDTO {
+    private Long postId;
+    // The visitor's current reaction, null when none
+    private ReactionType reaction;
+    private Long totalReactions;
+    // ReactionType name -> count
+    private Map<String, Long> reactionCounts;
+}
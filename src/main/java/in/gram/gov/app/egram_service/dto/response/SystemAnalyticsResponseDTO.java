@@ -2,6 +2,8 @@ package in.gram.gov.app.egram_service.dto.response;
 
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 @Data
 public class SystemAnalyticsResponseDTO {
     private Long totalPanchayats;
@@ -12,5 +14,7 @@ public class SystemAnalyticsResponseDTO {
     private Long totalAnnouncements;
     private Long totalDocuments;
     private Long totalGalleryImages;
+    private Boolean approximate;
+    private LocalDateTime computedAt;
 }
 
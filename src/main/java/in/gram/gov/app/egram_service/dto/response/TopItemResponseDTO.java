@@ -0,0 +1,15 @@
+package in.gram.gov.app.egram_service.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TopItemResponseDTO {
+    private String item;
+    private Long count;
+    // count may overestimate the true number of views by up to this much
+    private Long maxError;
+}
@@ -5,6 +5,7 @@ import in.gram.gov.app.egram_service.constants.enums.UserStatus;
 import lombok.Data;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data
 public class UserResponseDTO {
@@ -14,6 +15,8 @@ public class UserResponseDTO {
     private String phone;
     private String designation;
     private String imageUrl;
+    // Variant name (thumb, medium, full) -> URL, for srcset; null when only the single image exists
+    private Map<String, String> imageVariants;
     private String imageKey;
     private Boolean hasImage;
     private String initials; // Generated from name (e.g., "John Doe" -> "JD")
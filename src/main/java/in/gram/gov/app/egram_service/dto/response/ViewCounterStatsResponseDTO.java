@@ -0,0 +1,14 @@
+package in.gram.gov.app.egram_service.dto.response;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Data
+public class ViewCounterStatsResponseDTO {
+    private Integer pendingPosts;
+    private Long pendingViews;
+    private Long flushedViews;
+    private Long failedFlushes;
+    private LocalDateTime lastFlushAt;
+}
@@ -1,16 +1,20 @@
 package in.gram.gov.app.egram_service.facade;
 
-import in.gram.gov.app.egram_service.constants.enums.PanchayatStatus;
+import in.gram.gov.app.egram_service.constants.enums.ExportFormat;
 import in.gram.gov.app.egram_service.constants.enums.UserRole;
 import in.gram.gov.app.egram_service.constants.enums.UserStatus;
 import in.gram.gov.app.egram_service.domain.entity.AuditLog;
-import in.gram.gov.app.egram_service.domain.repository.*;
 import in.gram.gov.app.egram_service.dto.filters.AuditFilter;
 import in.gram.gov.app.egram_service.dto.response.AuditLogResponseDTO;
+import in.gram.gov.app.egram_service.dto.response.ImagePoolStatsResponseDTO;
 import in.gram.gov.app.egram_service.dto.response.SystemAnalyticsResponseDTO;
 import in.gram.gov.app.egram_service.dto.response.UserResponseDTO;
+import in.gram.gov.app.egram_service.dto.response.ViewCounterStatsResponseDTO;
 import in.gram.gov.app.egram_service.service.AuditLogService;
-import in.gram.gov.app.egram_service.service.PanchayatService;
+import in.gram.gov.app.egram_service.service.DataExportService;
+import in.gram.gov.app.egram_service.service.ImageProcessingPool;
+import in.gram.gov.app.egram_service.service.PostViewCounter;
+import in.gram.gov.app.egram_service.service.SystemAnalyticsService;
 import in.gram.gov.app.egram_service.service.UserService;
 import in.gram.gov.app.egram_service.transformer.AuditLogTransformer;
 import in.gram.gov.app.egram_service.transformer.UserTransformer;
@@ -19,19 +23,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AdminFacade {
     private final UserService userService;
-    private final PanchayatService panchayatService;
-    private final PostRepository postRepository;
-    private final AnnouncementRepository announcementRepository;
-    private final SchemeRepository schemeRepository;
-    private final DocumentRepository documentRepository;
-    private final GalleryImageRepository galleryImageRepository;
     private final AuditLogService auditLogService;
+    private final PostViewCounter postViewCounter;
+    private final SystemAnalyticsService systemAnalyticsService;
+    private final DataExportService dataExportService;
+    private final ImageProcessingPool imageProcessingPool;
 
     public Page<UserResponseDTO> getAllUsers(UserRole role, UserStatus status, Pageable pageable) {
         log.info("AdminFacade.getAllUsers called - role={}, status={}, pageable={}", role, status, pageable);
@@ -41,37 +44,37 @@ public class AdminFacade {
         return users.map(UserTransformer::toDTO);
     }
 
+    public ViewCounterStatsResponseDTO getViewCounterStats() {
+        log.info("AdminFacade.getViewCounterStats called");
+        ViewCounterStatsResponseDTO stats = new ViewCounterStatsResponseDTO();
+        stats.setPendingPosts(postViewCounter.getPendingPostCount());
+        stats.setPendingViews(postViewCounter.getPendingIncrements());
+        stats.setFlushedViews(postViewCounter.getFlushedTotal());
+        stats.setFailedFlushes(postViewCounter.getFailedFlushes());
+        stats.setLastFlushAt(postViewCounter.getLastFlushAt());
+        return stats;
+    }
+
+    public ImagePoolStatsResponseDTO getImagePoolStats() {
+        log.info("AdminFacade.getImagePoolStats called");
+        ImagePoolStatsResponseDTO stats = new ImagePoolStatsResponseDTO();
+        stats.setWorkers(imageProcessingPool.getWorkerCount());
+        stats.setQueueCapacity(imageProcessingPool.getQueueCapacity());
+        stats.setQueued(imageProcessingPool.getQueued());
+        stats.setActive(imageProcessingPool.getActive());
+        stats.setQueuedTenants(imageProcessingPool.getQueuedTenants());
+        stats.setCompleted(imageProcessingPool.getCompleted());
+        stats.setRejected(imageProcessingPool.getRejected());
+        stats.setTimedOut(imageProcessingPool.getTimedOut());
+        stats.setAverageWaitMs(imageProcessingPool.getAverageWaitMs());
+        stats.setMaxWaitMs(imageProcessingPool.getMaxWaitMs());
+        stats.setAverageServiceMs(imageProcessingPool.getAverageServiceMs());
+        return stats;
+    }
+
     public SystemAnalyticsResponseDTO getSystemAnalytics() {
         log.info("AdminFacade.getSystemAnalytics called");
-        SystemAnalyticsResponseDTO analytics = new SystemAnalyticsResponseDTO();
-        
-        // Count all panchayats
-        analytics.setTotalPanchayats(panchayatService.findAll(Pageable.unpaged()).getTotalElements());
-        
-        // Count active panchayats
-        analytics.setActivePanchayats(
-            panchayatService.findByStatus(PanchayatStatus.ACTIVE, Pageable.unpaged()).getTotalElements()
-        );
-        
-        // Count all users
-        analytics.setTotalUsers(userService.findByFilters(null, null, null, Pageable.unpaged()).getTotalElements());
-        
-        // Count all posts
-        analytics.setTotalPosts(postRepository.findAll(Pageable.unpaged()).getTotalElements());
-        
-        // Count all schemes
-        analytics.setTotalSchemes(schemeRepository.findAll(Pageable.unpaged()).getTotalElements());
-        
-        // Count all announcements
-        analytics.setTotalAnnouncements(announcementRepository.findAll(Pageable.unpaged()).getTotalElements());
-        
-        // Count all documents
-        analytics.setTotalDocuments(documentRepository.findAll(Pageable.unpaged()).getTotalElements());
-        
-        // Count all gallery images
-        analytics.setTotalGalleryImages(galleryImageRepository.findAll(Pageable.unpaged()).getTotalElements());
-        
-        return analytics;
+        return systemAnalyticsService.getSnapshot();
     }
 
     public Page<AuditLogResponseDTO> getAuditLogs(AuditFilter auditFilter) {
@@ -79,4 +82,20 @@ public class AdminFacade {
         Page<AuditLog> logs = auditLogService.findByFilters(auditFilter);
         return logs.map(AuditLogTransformer::toDTO);
     }
+
+    /**
+     * Audit logs matching the filter, streamed from a database cursor; paging fields are ignored
+     */
+    public StreamingResponseBody exportAuditLogs(AuditFilter auditFilter, ExportFormat format) {
+        log.info("AdminFacade.exportAuditLogs called - filter={}, format={}", auditFilter, format);
+        return out -> dataExportService.exportAuditLogs(auditFilter, format, out);
+    }
+
+    /**
+     * Raw analytics rows matching the filter's panchayat and date range
+     */
+    public StreamingResponseBody exportAnalytics(AuditFilter auditFilter, ExportFormat format) {
+        log.info("AdminFacade.exportAnalytics called - filter={}, format={}", auditFilter, format);
+        return out -> dataExportService.exportAnalytics(auditFilter, format, out);
+    }
 }
@@ -1,6 +1,9 @@
 package in.gram.gov.app.egram_service.facade;
 
+import in.gram.gov.app.egram_service.constants.aspect.PublicContentChange;
+import in.gram.gov.app.egram_service.constants.enums.PublicResourceType;
 import in.gram.gov.app.egram_service.constants.enums.CompressionQuality;
+import in.gram.gov.app.egram_service.constants.exception.ServiceUnavailableException;
 import in.gram.gov.app.egram_service.constants.security.TenantContext;
 import in.gram.gov.app.egram_service.domain.entity.Album;
 import in.gram.gov.app.egram_service.domain.entity.Panchayat;
@@ -22,8 +25,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.InputStream;
-
 /**
  * Album Facade
  * Handles album business logic including image processing for cover images
@@ -43,6 +44,7 @@ public class AlbumFacade {
      * If cover image provided: compress, upload to B2, and store URL in DB
      */
     @Transactional
+    @PublicContentChange({PublicResourceType.ALBUMS, PublicResourceType.GALLERY})
     public AlbumResponseDTO create(AlbumRequestDTO request) {
         Long tenantId = TenantContext.getTenantId();
         Panchayat panchayat = panchayatService.findById(tenantId);
@@ -85,6 +87,7 @@ public class AlbumFacade {
      * If new cover image provided: compress, upload to B2, delete old image, and update URL
      */
     @Transactional
+    @PublicContentChange({PublicResourceType.ALBUMS, PublicResourceType.GALLERY})
     public AlbumResponseDTO update(Long id, AlbumRequestDTO request) {
         Album album = albumService.findById(id);
 
@@ -123,6 +126,7 @@ public class AlbumFacade {
      * @return Updated album with fresh presigned URL
      */
     @Transactional
+    @PublicContentChange({PublicResourceType.ALBUMS, PublicResourceType.GALLERY})
     public AlbumResponseDTO refreshCoverImageUrl(Long id) {
         Album album = albumService.findById(id);
 
@@ -168,6 +172,7 @@ public class AlbumFacade {
      * Gallery images in the album are preserved but album association is cleared
      */
     @Transactional
+    @PublicContentChange({PublicResourceType.ALBUMS, PublicResourceType.GALLERY})
     public void delete(Long id) {
         Album album = albumService.findById(id);
 
@@ -183,9 +188,8 @@ public class AlbumFacade {
     /**
      * Process image: compress and upload to Backblaze B2
      * Step 1: Validate image (size, type, extension)
-     * Step 2: Compress to target size (~500KB)
-     * Step 3: Upload compressed image to B2
-     * Step 4: Return presigned URL from B2
+     * Step 2: Compress and upload under a content-derived key, reusing an identical stored image
+     * Step 3: Return public URL
      * @param imageFile MultipartFile to process
      * @param compressionQuality Quality level for compression (HIGH, MEDIUM, LOW)
      * @return URL of uploaded image or null if storage is disabled
@@ -206,31 +210,14 @@ public class AlbumFacade {
             // Step 1: Validate image
             imageCompressionService.validateImageFile(imageFile);
 
-            // Step 2: Compress image
-            ImageCompressionDTO compressionMetadata = imageCompressionService.compressImage(
-                    imageFile,
-                    compressionQuality
-            );
-
-            log.info("Cover image compressed successfully. Original: {} bytes, Compressed: {} bytes",
-                    compressionMetadata.getOriginalFileSize(),
-                    compressionMetadata.getCompressedFileSize());
-
-            // Step 3: Get compressed image stream
-            InputStream compressedImageStream = imageCompressionService.getCompressedImageInputStream(
-                    imageFile,
-                    compressionQuality
-            );
-
-            // Step 4: Upload to Backblaze B2
-            ImageCompressionDTO uploadResult = cloudStorageService.uploadImage(
-                    compressedImageStream,
-                    compressionMetadata
-            );
+            // Step 2: Compress and upload; a repeated upload reuses the stored copy
+            ImageCompressionDTO uploadResult = cloudStorageService.storeImage(imageFile, compressionQuality);
 
             log.info("Cover image uploaded to cloud storage. URL: {}", uploadResult.getBackblazeFileUrl());
             return uploadResult.getBackblazeFileUrl();
 
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error processing cover image for upload", e);
             // Don't fail the entire operation if image upload fails
@@ -302,7 +289,10 @@ public class AlbumFacade {
             // Extract file key from URL
             int fileIndex = imageUrl.indexOf("/file/");
             if (fileIndex == -1) {
-                log.warn("Invalid image URL format: {}", imageUrl);
+                // Cloudflare R2 URL of a content-addressed image: drop this reference
+                if (!cloudStorageService.releaseImageUrl(imageUrl)) {
+                    log.warn("Invalid image URL format: {}", imageUrl);
+                }
                 return;
             }
 
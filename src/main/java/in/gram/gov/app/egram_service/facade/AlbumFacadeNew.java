@@ -1,6 +1,9 @@
 package in.gram.gov.app.egram_service.facade;
 
+import in.gram.gov.app.egram_service.constants.aspect.PublicContentChange;
+import in.gram.gov.app.egram_service.constants.enums.PublicResourceType;
 import in.gram.gov.app.egram_service.constants.enums.CompressionQuality;
+import in.gram.gov.app.egram_service.constants.exception.ServiceUnavailableException;
 import in.gram.gov.app.egram_service.constants.security.TenantContext;
 import in.gram.gov.app.egram_service.domain.entity.Album;
 import in.gram.gov.app.egram_service.domain.entity.GalleryImage;
@@ -14,6 +17,7 @@ import in.gram.gov.app.egram_service.service.CloudStorageService;
 import in.gram.gov.app.egram_service.service.GalleryImageService;
 import in.gram.gov.app.egram_service.service.ImageCompressionService;
 import in.gram.gov.app.egram_service.service.PanchayatService;
+import in.gram.gov.app.egram_service.service.PanchayatSlugResolver;
 import in.gram.gov.app.egram_service.transformer.AlbumTransformer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -25,8 +29,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.InputStream;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Album Facade
@@ -38,6 +42,7 @@ import java.util.List;
 public class AlbumFacadeNew {
     private final AlbumService albumService;
     private final PanchayatService panchayatService;
+    private final PanchayatSlugResolver panchayatSlugResolver;
     private final ImageCompressionService imageCompressionService;
     private final CloudStorageService cloudStorageService;
     private final GalleryImageService galleryImageService;
@@ -47,19 +52,24 @@ public class AlbumFacadeNew {
      * If cover image provided: compress, upload to B2, and store URL in DB
      */
     @Transactional
+    @PublicContentChange({PublicResourceType.ALBUMS, PublicResourceType.GALLERY})
     public AlbumResponseDTO create(AlbumRequestDTO request) {
         Long tenantId = TenantContext.getTenantId();
         Panchayat panchayat = panchayatService.findById(tenantId);
 
         // Handle cover image upload if provided
         String coverImageUrl = request.getCoverImageUrl();
+        Map<String, String> coverImageVariants = null;
         if (request.getCoverImageFile() != null && !request.getCoverImageFile().isEmpty()) {
             CompressionQuality compressionQuality = parseCompressionQuality(request.getCompressionQuality());
-            coverImageUrl = processAndUploadImage(request.getCoverImageFile(), compressionQuality);
+            ImageCompressionDTO upload = processAndUploadImage(request.getCoverImageFile(), compressionQuality);
+            coverImageUrl = upload != null ? upload.getBackblazeFileUrl() : null;
+            coverImageVariants = upload != null ? upload.getVariantUrls() : null;
         }
 
         Album album = AlbumTransformer.toEntity(request);
         album.setCoverImageUrl(coverImageUrl);
+        album.setCoverImageVariants(coverImageVariants);
         album.setPanchayat(panchayat);
 
         album = albumService.create(album);
@@ -85,6 +95,11 @@ public class AlbumFacadeNew {
     }
 
     public Page<AlbumResponseDTO> getAll(AlbumFilter albumFilter) {
+        if (albumFilter.getPanchayatSlug() != null) {
+            Long panchayatId = panchayatSlugResolver.resolveId(albumFilter.getPanchayatSlug());
+            albumFilter.setPanchayatId(String.valueOf(panchayatId));
+            albumFilter.setPanchayatSlug(null);
+        }
         Page<Album> albums = albumService.findAll(albumFilter);
         return albums.map(AlbumTransformer::toDTO);
     }
@@ -95,6 +110,7 @@ public class AlbumFacadeNew {
      * If new cover image provided: compress, upload to B2, delete old image, and update URL
      */
     @Transactional
+    @PublicContentChange({PublicResourceType.ALBUMS, PublicResourceType.GALLERY})
     public AlbumResponseDTO update(Long id, AlbumRequestDTO request) {
         Album album = albumService.findById(id);
 
@@ -110,13 +126,18 @@ public class AlbumFacadeNew {
             // Delete old cover image if exists
             if (album.getCoverImageUrl() != null && cloudStorageService.isEnabled()) {
                 deleteImageFile(album.getCoverImageUrl());
+                cloudStorageService.deleteVariants(album.getCoverImageVariants());
             }
             // Upload new cover image
             CompressionQuality compressionQuality = parseCompressionQuality(request.getCompressionQuality());
-            String newCoverImageUrl = processAndUploadImage(request.getCoverImageFile(), compressionQuality);
-            album.setCoverImageUrl(newCoverImageUrl);
+            ImageCompressionDTO upload = processAndUploadImage(request.getCoverImageFile(), compressionQuality);
+            album.setCoverImageUrl(upload != null ? upload.getBackblazeFileUrl() : null);
+            album.setCoverImageVariants(upload != null ? upload.getVariantUrls() : null);
         } else if (request.getCoverImageUrl() != null) {
-            // Update with provided URL if no new file
+            // Update with provided URL if no new file; variants belong to the previous upload
+            if (!request.getCoverImageUrl().equals(album.getCoverImageUrl())) {
+                album.setCoverImageVariants(null);
+            }
             album.setCoverImageUrl(request.getCoverImageUrl());
         }
 
@@ -133,6 +154,7 @@ public class AlbumFacadeNew {
      * @return Updated album with fresh presigned URL
      */
     @Transactional
+    @PublicContentChange({PublicResourceType.ALBUMS, PublicResourceType.GALLERY})
     public AlbumResponseDTO refreshCoverImageUrl(Long id) {
         Album album = albumService.findById(id);
 
@@ -177,12 +199,14 @@ public class AlbumFacadeNew {
      * Delete album and associated cover image from cloud storage
      */
     @Transactional
+    @PublicContentChange({PublicResourceType.ALBUMS, PublicResourceType.GALLERY})
     public void delete(Long id) {
         Album album = albumService.findById(id);
 
         // Delete cover image from cloud storage if exists
         if (album.getCoverImageUrl() != null && cloudStorageService.isEnabled()) {
             deleteImageFile(album.getCoverImageUrl());
+            cloudStorageService.deleteVariants(album.getCoverImageVariants());
         }
 
         albumService.delete(id);
@@ -198,6 +222,7 @@ public class AlbumFacadeNew {
      * @return Count of successfully added images
      */
     @Transactional
+    @PublicContentChange({PublicResourceType.ALBUMS, PublicResourceType.GALLERY})
     public int addImagesToAlbum(Long albumId, List<Long> galleryImageIds) {
         Album album = albumService.findById(albumId);
         int addedCount = 0;
@@ -229,9 +254,9 @@ public class AlbumFacadeNew {
      *
      * @param imageFile          MultipartFile to process
      * @param compressionQuality Quality level for compression
-     * @return URL of uploaded image or null if storage is disabled
+     * @return Upload result with the image and variant URLs, or null if storage is disabled
      */
-    private String processAndUploadImage(MultipartFile imageFile, CompressionQuality compressionQuality) {
+    private ImageCompressionDTO processAndUploadImage(MultipartFile imageFile, CompressionQuality compressionQuality) {
         try {
             if (!cloudStorageService.isEnabled()) {
                 log.warn("Cloud storage is disabled. Image upload skipped");
@@ -247,31 +272,14 @@ public class AlbumFacadeNew {
             // Step 1: Validate image
             imageCompressionService.validateImageFile(imageFile);
 
-            // Step 2: Compress image
-            ImageCompressionDTO compressionMetadata = imageCompressionService.compressImage(
-                    imageFile,
-                    compressionQuality
-            );
-
-            log.info("Cover image compressed successfully. Original: {} bytes, Compressed: {} bytes",
-                    compressionMetadata.getOriginalFileSize(),
-                    compressionMetadata.getCompressedFileSize());
-
-            // Step 3: Get compressed image stream
-            InputStream compressedImageStream = imageCompressionService.getCompressedImageInputStream(
-                    imageFile,
-                    compressionQuality
-            );
-
-            // Step 4: Upload to Backblaze B2
-            ImageCompressionDTO uploadResult = cloudStorageService.uploadImage(
-                    compressedImageStream,
-                    compressionMetadata
-            );
+            // Step 2: Compress and upload; a repeated upload reuses the stored copy
+            ImageCompressionDTO uploadResult = cloudStorageService.storeImageWithVariants(imageFile, compressionQuality);
 
             log.info("Cover image uploaded to cloud storage. URL: {}", uploadResult.getBackblazeFileUrl());
-            return uploadResult.getBackblazeFileUrl();
+            return uploadResult;
 
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error processing cover image for upload", e);
             // Don't fail the entire operation if image upload fails
@@ -344,7 +352,10 @@ public class AlbumFacadeNew {
             // Extract file key from URL
             int fileIndex = imageUrl.indexOf("/file/");
             if (fileIndex == -1) {
-                log.warn("Invalid image URL format: {}", imageUrl);
+                // Cloudflare R2 URL of a content-addressed image: drop this reference
+                if (!cloudStorageService.releaseImageUrl(imageUrl)) {
+                    log.warn("Invalid image URL format: {}", imageUrl);
+                }
                 return;
             }
 
@@ -0,0 +1,90 @@
+package in.gram.gov.app.egram_service.facade;
+
+import in.gram.gov.app.egram_service.constants.security.TenantContext;
+import in.gram.gov.app.egram_service.dto.request.BeaconRequestDTO;
+import in.gram.gov.app.egram_service.dto.response.BeaconStatsResponseDTO;
+import in.gram.gov.app.egram_service.dto.response.TopItemResponseDTO;
+import in.gram.gov.app.egram_service.service.AnalyticsTopItemsService;
+import in.gram.gov.app.egram_service.service.PageViewIngestionService;
+import in.gram.gov.app.egram_service.service.PageViewIngestionService.PageViewEvent;
+import in.gram.gov.app.egram_service.service.PanchayatSlugResolver;
+import in.gram.gov.app.egram_service.utility.RequestUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class AnalyticsFacade {
+    private final PanchayatSlugResolver panchayatSlugResolver;
+    private final PageViewIngestionService pageViewIngestionService;
+    private final AnalyticsTopItemsService analyticsTopItemsService;
+
+    /**
+     * Record a public page view. Only the cached slug lookup and a non-blocking enqueue
+     * happen on the request thread.
+     * @param slug Panchayat slug
+     * @param request Beacon payload (may be null)
+     * @param httpRequest Request for IP, user agent and country headers
+     */
+    public void recordPageView(String slug, BeaconRequestDTO request, HttpServletRequest httpRequest) {
+        log.debug("AnalyticsFacade.recordPageView called - slug={}", slug);
+        Long panchayatId = panchayatSlugResolver.resolveId(slug);
+        BeaconRequestDTO beacon = request != null ? request : new BeaconRequestDTO();
+        PageViewEvent event = new PageViewEvent(
+                panchayatId,
+                RequestUtils.getClientIpAddress(httpRequest),
+                truncate(beacon.getPageUrl(), 500),
+                truncate(beacon.getReferrerUrl() != null ? beacon.getReferrerUrl() : httpRequest.getHeader("Referer"), 500),
+                truncate(httpRequest.getHeader("User-Agent"), 500),
+                truncate(beacon.getSessionId(), 100),
+                truncate(httpRequest.getHeader("CF-IPCountry"), 5),
+                truncate(beacon.getDeviceType(), 20),
+                LocalDateTime.now());
+        if (!pageViewIngestionService.enqueue(event)) {
+            log.debug("AnalyticsFacade.recordPageView - buffer full, event dropped for panchayatId={}", panchayatId);
+        }
+    }
+
+    public BeaconStatsResponseDTO getBeaconStats() {
+        log.info("AnalyticsFacade.getBeaconStats called");
+        BeaconStatsResponseDTO stats = new BeaconStatsResponseDTO();
+        stats.setBufferCapacity(pageViewIngestionService.getBufferCapacity());
+        stats.setBuffered(pageViewIngestionService.getBuffered());
+        stats.setAccepted(pageViewIngestionService.getAccepted());
+        stats.setDropped(pageViewIngestionService.getDropped());
+        stats.setWritten(pageViewIngestionService.getWritten());
+        stats.setFailed(pageViewIngestionService.getFailed());
+        return stats;
+    }
+
+    /**
+     * Most viewed pages or top referrers of the current panchayat
+     * @param days Window ending today, 1 to 90
+     * @param limit Number of items
+     */
+    public List<TopItemResponseDTO> getTopItems(AnalyticsTopItemsService.Kind kind, int days, int limit) {
+        log.info("AnalyticsFacade.getTopItems called - kind={}, days={}, limit={}", kind, days, limit);
+        Long panchayatId = TenantContext.getTenantId();
+        if (panchayatId == null) {
+            throw new RuntimeException("No tenant context found");
+        }
+        int window = Math.max(1, Math.min(days, 90));
+        int size = Math.max(1, Math.min(limit, analyticsTopItemsService.getCapacity()));
+        return analyticsTopItemsService.getTop(panchayatId, kind, window, size).stream()
+                .map(entry -> new TopItemResponseDTO(entry.item(), entry.count(), entry.error()))
+                .toList();
+    }
+
+    private static String truncate(String value, int maxLength) {
+        if (value == null || value.length() <= maxLength) {
+            return value;
+        }
+        return value.substring(0, maxLength);
+    }
+}
@@ -1,5 +1,7 @@
 package in.gram.gov.app.egram_service.facade;
 
+import in.gram.gov.app.egram_service.constants.aspect.PublicContentChange;
+import in.gram.gov.app.egram_service.constants.enums.PublicResourceType;
 import in.gram.gov.app.egram_service.constants.security.TenantContext;
 import in.gram.gov.app.egram_service.domain.entity.Announcement;
 import in.gram.gov.app.egram_service.domain.entity.Panchayat;
@@ -8,6 +10,7 @@ import in.gram.gov.app.egram_service.dto.request.AnnouncementRequestDTO;
 import in.gram.gov.app.egram_service.dto.response.AnnouncementResponseDTO;
 import in.gram.gov.app.egram_service.service.AnnouncementService;
 import in.gram.gov.app.egram_service.service.PanchayatService;
+import in.gram.gov.app.egram_service.service.PanchayatSlugResolver;
 import in.gram.gov.app.egram_service.service.UserService;
 import in.gram.gov.app.egram_service.transformer.AnnouncementTransformer;
 import lombok.RequiredArgsConstructor;
@@ -25,9 +28,11 @@ import org.springframework.transaction.annotation.Transactional;
 public class AnnouncementFacade {
     private final AnnouncementService announcementService;
     private final PanchayatService panchayatService;
+    private final PanchayatSlugResolver panchayatSlugResolver;
     private final UserService userService;
 
     @Transactional
+    @PublicContentChange(PublicResourceType.ANNOUNCEMENTS)
     public AnnouncementResponseDTO create(AnnouncementRequestDTO request, String email) {
         log.info("AnnouncementFacade.create called - email={}, title={}", email, request.getTitle());
         Long tenantId = TenantContext.getTenantId();
@@ -61,6 +66,7 @@ public class AnnouncementFacade {
     }
 
     @Transactional
+    @PublicContentChange(PublicResourceType.ANNOUNCEMENTS)
     public AnnouncementResponseDTO update(Long id, AnnouncementRequestDTO request) {
         log.info("AnnouncementFacade.update called - id={}", id);
         Announcement announcement = announcementService.findById(id);
@@ -92,12 +98,14 @@ public class AnnouncementFacade {
     }
 
     @Transactional
+    @PublicContentChange(PublicResourceType.ANNOUNCEMENTS)
     public void updateStatus(Long id, Boolean isActive) {
         log.info("AnnouncementFacade.updateStatus called - id={}, isActive={}", id, isActive);
         announcementService.updateStatus(id, isActive);
     }
 
     @Transactional
+    @PublicContentChange(PublicResourceType.ANNOUNCEMENTS)
     public void delete(Long id) {
         log.info("AnnouncementFacade.delete called - id={}", id);
         announcementService.delete(id);
@@ -111,7 +119,8 @@ public class AnnouncementFacade {
                 Sort.by(Sort.Direction.DESC, "priority")
                     .and(Sort.by(Sort.Direction.DESC, "createdAt"))
         );
-        Page<Announcement> announcements = announcementService.findActiveBySlug(slug, pageable);
+        Long panchayatId = panchayatSlugResolver.resolveId(slug);
+        Page<Announcement> announcements = announcementService.findActiveByPanchayatId(panchayatId, pageable);
         return announcements.map(AnnouncementTransformer::toDTO);
     }
 }
@@ -13,6 +13,7 @@ import in.gram.gov.app.egram_service.dto.request.*;
 import in.gram.gov.app.egram_service.dto.response.LoginResponseDTO;
 import in.gram.gov.app.egram_service.dto.response.UserResponseDTO;
 import in.gram.gov.app.egram_service.service.PanchayatService;
+import in.gram.gov.app.egram_service.service.PanchayatSlugResolver;
 import in.gram.gov.app.egram_service.service.UserService;
 import in.gram.gov.app.egram_service.transformer.UserTransformer;
 import lombok.RequiredArgsConstructor;
@@ -30,6 +31,7 @@ import java.util.UUID;
 public class AuthFacade {
     private final UserService userService;
     private final PanchayatService panchayatService;
+    private final PanchayatSlugResolver panchayatSlugResolver;
     private final JwtTokenProvider jwtTokenProvider;
     private final PasswordEncoder passwordEncoder;
 
@@ -101,6 +103,7 @@ public class AuthFacade {
                     .status(PanchayatStatus.ACTIVE)
                     .build();
             panchayat = panchayatService.create(panchayat);
+            panchayatSlugResolver.evict(panchayat.getSlug());
             log.info("AuthFacade.createPanchayatAdminUser - created new panchayat slug={}", request.getPanchayatSlug());
         }
 
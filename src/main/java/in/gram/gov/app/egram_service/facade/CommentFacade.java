@@ -2,16 +2,21 @@ package in.gram.gov.app.egram_service.facade;
 
 import in.gram.gov.app.egram_service.domain.entity.Comment;
 import in.gram.gov.app.egram_service.domain.entity.Post;
+import in.gram.gov.app.egram_service.constants.enums.PublicResourceType;
 import in.gram.gov.app.egram_service.dto.request.CommentRequestDTO;
 import in.gram.gov.app.egram_service.dto.response.CommentResponseDTO;
 import in.gram.gov.app.egram_service.service.CommentService;
+import in.gram.gov.app.egram_service.service.ContentVersionService;
 import in.gram.gov.app.egram_service.service.PostService;
 import in.gram.gov.app.egram_service.transformer.CommentTransformer;
+import in.gram.gov.app.egram_service.utility.RequestUtils;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +28,10 @@ import java.util.List;
 public class CommentFacade {
     private final CommentService commentService;
     private final PostService postService;
+    private final ContentVersionService contentVersionService;
+
+    @Value("${comment.thread.max-depth:3}")
+    private int maxThreadDepth;
 
     @Transactional
     public CommentResponseDTO create(Long postId, CommentRequestDTO request, HttpServletRequest httpRequest) {
@@ -31,7 +40,7 @@ public class CommentFacade {
         
         Comment comment = CommentTransformer.toEntity(request);
         comment.setPost(post);
-        comment.setIpAddress(getClientIpAddress(httpRequest));
+        comment.setIpAddress(RequestUtils.getClientIpAddress(httpRequest));
 
         if (request.getParentCommentId() != null) {
             Comment parent = commentService.findById(request.getParentCommentId());
@@ -39,19 +48,22 @@ public class CommentFacade {
         }
 
         comment = commentService.create(comment);
+        postService.adjustCommentCount(postId, 1);
+        // Post listings carry the comment count
+        contentVersionService.bump(post.getPanchayat().getId(), PublicResourceType.POSTS);
         return CommentTransformer.toDTO(comment);
     }
 
+    /**
+     * Page of comment threads. Rows come from one query; the count query only runs when
+     * the page is full or not the first one.
+     */
     public Page<CommentResponseDTO> getPostComments(Long postId, Pageable pageable, boolean approvedOnly) {
         log.info("CommentFacade.getPostComments called - postId={}, approvedOnly={}, pageable={}", postId, approvedOnly, pageable);
-        Page<Comment> comments = approvedOnly
-                ? commentService.findApprovedByPostId(postId, pageable)
-                : commentService.findTopLevelByPostId(postId, pageable);
-        
-        return comments.map(comment -> {
-            List<Comment> replies = commentService.findRepliesByParentId(comment.getId());
-            return CommentTransformer.toDTOWithReplies(comment, replies);
-        });
+        List<Comment> rows = commentService.findThreadRows(postId, approvedOnly, maxThreadDepth, pageable);
+        List<CommentResponseDTO> threads = CommentTransformer.toThreads(rows);
+        return PageableExecutionUtils.getPage(threads, pageable,
+                () -> commentService.countTopLevelByPostId(postId, approvedOnly));
     }
 
     @Transactional
@@ -62,6 +74,7 @@ public class CommentFacade {
             throw new RuntimeException("Comment does not belong to this post");
         }
         commentService.approve(commentId);
+        contentVersionService.bump(comment.getPost().getPanchayat().getId(), PublicResourceType.POSTS);
     }
 
     @Transactional
@@ -71,14 +84,8 @@ public class CommentFacade {
         if (!comment.getPost().getId().equals(postId)) {
             throw new RuntimeException("Comment does not belong to this post");
         }
-        commentService.delete(commentId);
-    }
-
-    private String getClientIpAddress(HttpServletRequest request) {
-        String xForwardedFor = request.getHeader("X-Forwarded-For");
-        if (xForwardedFor != null && !xForwardedFor.isEmpty()) {
-            return xForwardedFor.split(",")[0].trim();
-        }
-        return request.getRemoteAddr();
+        int removed = commentService.delete(commentId);
+        postService.adjustCommentCount(postId, -removed);
+        contentVersionService.bump(comment.getPost().getPanchayat().getId(), PublicResourceType.POSTS);
     }
 }
@@ -1,5 +1,7 @@
 package in.gram.gov.app.egram_service.facade;
 
+import in.gram.gov.app.egram_service.constants.aspect.PublicContentChange;
+import in.gram.gov.app.egram_service.constants.enums.PublicResourceType;
 import in.gram.gov.app.egram_service.constants.enums.DocumentCategory;
 import in.gram.gov.app.egram_service.constants.enums.Visibility;
 import in.gram.gov.app.egram_service.constants.exception.BadRequestException;
@@ -33,11 +35,13 @@ import java.util.stream.Collectors;
 public class DocumentFacade {
     private final DocumentService documentService;
     private final PanchayatService panchayatService;
+    private final PanchayatSlugResolver panchayatSlugResolver;
     private final UserService userService;
     private final GoogleDriveService googleDriveService;
     private final ConsentService consentService;
 
     @Transactional
+    @PublicContentChange(PublicResourceType.DOCUMENTS)
     public DocumentResponseDTO uploadDocument(DocumentRequestDTO request, String email) throws IOException {
         log.info("DocumentFacade.uploadDocument called - title={}, email={}", request.getTitle(), email);
         
@@ -105,6 +109,7 @@ public class DocumentFacade {
     }
 
     @Transactional
+    @PublicContentChange(PublicResourceType.DOCUMENTS)
     public DocumentResponseDTO updateDocument(Long id, DocumentRequestDTO request, String email) throws IOException {
         log.info("DocumentFacade.updateDocument called - id={}, title={}, email={}", 
                 id, request.getTitle(), email);
@@ -221,7 +226,8 @@ public class DocumentFacade {
             Pageable pageable) {
         log.info("DocumentFacade.getPublicDocuments called - slug={}, category={}", slug, category);
         
-        Page<Document> documents = documentService.findPublicDocumentsBySlug(slug, category, pageable);
+        Long panchayatId = panchayatSlugResolver.resolveId(slug);
+        Page<Document> documents = documentService.findPublicDocumentsByPanchayatId(panchayatId, category, pageable);
 
         return PagedResponse.of(documents.map(DocumentTransformer::toDTO));
     }
@@ -232,12 +238,14 @@ public class DocumentFacade {
             Pageable pageable) {
         log.info("DocumentFacade.getWebsiteDocuments called - slug={}, category={}", slug, category);
         
-        Page<Document> documents = documentService.findWebsiteDocumentsBySlug(slug, category, pageable);
+        Long panchayatId = panchayatSlugResolver.resolveId(slug);
+        Page<Document> documents = documentService.findWebsiteDocumentsByPanchayatId(panchayatId, category, pageable);
 
         return PagedResponse.of(documents.map(DocumentTransformer::toDTO));
     }
 
     @Transactional
+    @PublicContentChange(PublicResourceType.DOCUMENTS)
     public DocumentResponseDTO updateVisibility(Long id, Visibility visibility, String email) throws IOException {
         log.info("DocumentFacade.updateVisibility called - id={}, visibility={}, email={}", 
                 id, visibility, email);
@@ -267,6 +275,7 @@ public class DocumentFacade {
     }
 
     @Transactional
+    @PublicContentChange(PublicResourceType.DOCUMENTS)
     public DocumentResponseDTO toggleShowOnWebsite(Long id, String email) throws IOException {
         log.info("DocumentFacade.toggleShowOnWebsite called - id={}, email={}", id, email);
         
@@ -296,6 +305,7 @@ public class DocumentFacade {
     }
 
     @Transactional
+    @PublicContentChange(PublicResourceType.DOCUMENTS)
     public void deleteDocument(Long id, String email) throws IOException {
         log.info("DocumentFacade.deleteDocument called - id={}, email={}", id, email);
         
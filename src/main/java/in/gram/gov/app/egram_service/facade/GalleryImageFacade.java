@@ -1,17 +1,27 @@
 package in.gram.gov.app.egram_service.facade;
 
+import in.gram.gov.app.egram_service.constants.aspect.PublicContentChange;
+import in.gram.gov.app.egram_service.constants.enums.PublicResourceType;
 import in.gram.gov.app.egram_service.constants.enums.CompressionQuality;
+import in.gram.gov.app.egram_service.constants.enums.MediaJobTarget;
+import in.gram.gov.app.egram_service.constants.enums.MediaStatus;
+import in.gram.gov.app.egram_service.constants.exception.BadRequestException;
+import in.gram.gov.app.egram_service.constants.exception.ImageUploadException;
+import in.gram.gov.app.egram_service.constants.exception.ServiceUnavailableException;
 import in.gram.gov.app.egram_service.constants.security.TenantContext;
 import in.gram.gov.app.egram_service.domain.entity.Album;
 import in.gram.gov.app.egram_service.domain.entity.GalleryImage;
+import in.gram.gov.app.egram_service.domain.entity.MediaJob;
 import in.gram.gov.app.egram_service.domain.entity.Panchayat;
 import in.gram.gov.app.egram_service.domain.entity.User;
 import in.gram.gov.app.egram_service.dto.filters.GalleryFilter;
 import in.gram.gov.app.egram_service.dto.request.GalleryImageRequestDTO;
 import in.gram.gov.app.egram_service.dto.response.GalleryImageResponseDTO;
 import in.gram.gov.app.egram_service.dto.response.ImageCompressionDTO;
+import in.gram.gov.app.egram_service.dto.response.MediaJobResponseDTO;
 import in.gram.gov.app.egram_service.service.*;
 import in.gram.gov.app.egram_service.transformer.GalleryImageTransformer;
+import in.gram.gov.app.egram_service.transformer.MediaJobTransformer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -22,7 +32,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.InputStream;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -30,16 +40,19 @@ import java.io.InputStream;
 public class GalleryImageFacade {
     private final GalleryImageService galleryImageService;
     private final PanchayatService panchayatService;
+    private final PanchayatSlugResolver panchayatSlugResolver;
     private final AlbumService albumService;
     private final UserService userService;
     private final ImageCompressionService imageCompressionService;
     private final CloudStorageService cloudStorageService;
+    private final MediaJobService mediaJobService;
 
     /**
      * Create gallery image with optional image file upload
      * If image is provided: compress it, upload to B2, and store URL in DB
      */
     @Transactional
+    @PublicContentChange({PublicResourceType.GALLERY, PublicResourceType.ALBUMS})
     public GalleryImageResponseDTO create(GalleryImageRequestDTO request, String email) {
         Long tenantId = TenantContext.getTenantId();
         Panchayat panchayat = panchayatService.findById(tenantId);
@@ -47,13 +60,17 @@ public class GalleryImageFacade {
 
         // Handle image upload if provided
         String imageUrl = request.getImageUrl();
+        Map<String, String> imageVariants = null;
         if (request.getImageFile() != null && !request.getImageFile().isEmpty()) {
             CompressionQuality compressionQuality = parseCompressionQuality(request.getCompressionQuality());
-            imageUrl = processAndUploadImage(request.getImageFile(), compressionQuality);
+            ImageCompressionDTO upload = processAndUploadImage(request.getImageFile(), compressionQuality);
+            imageUrl = upload != null ? upload.getBackblazeFileUrl() : null;
+            imageVariants = upload != null ? upload.getVariantUrls() : null;
         }
 
         GalleryImage image = GalleryImageTransformer.toEntity(request);
         image.setImageUrl(imageUrl);
+        image.setImageVariants(imageVariants);
         image.setPanchayat(panchayat);
         image.setUploadedBy(uploader);
 
@@ -67,6 +84,38 @@ public class GalleryImageFacade {
         return GalleryImageTransformer.toDTO(image);
     }
 
+    /**
+     * Create a gallery image whose file is compressed and uploaded in the background
+     * The image is saved with status PROCESSING and no URL, and is hidden from the public
+     * gallery until the job completes
+     * @return The upload job, to poll for status
+     */
+    @Transactional
+    @PublicContentChange({PublicResourceType.GALLERY, PublicResourceType.ALBUMS})
+    public MediaJobResponseDTO createAsync(GalleryImageRequestDTO request, String email) {
+        validateAsyncUpload(request.getImageFile());
+        Long tenantId = TenantContext.getTenantId();
+        Panchayat panchayat = panchayatService.findById(tenantId);
+        User uploader = userService.findByEmail(email);
+
+        GalleryImage image = GalleryImageTransformer.toEntity(request);
+        image.setImageUrl(null);
+        image.setImageStatus(MediaStatus.PROCESSING);
+        image.setPanchayat(panchayat);
+        image.setUploadedBy(uploader);
+
+        if (request.getAlbumId() != null) {
+            Album album = albumService.findById(request.getAlbumId());
+            image.setAlbum(album);
+        }
+
+        image = galleryImageService.create(image);
+        CompressionQuality compressionQuality = parseCompressionQuality(request.getCompressionQuality());
+        MediaJob job = mediaJobService.enqueue(MediaJobTarget.GALLERY_IMAGE, image.getId(), request.getImageFile(), compressionQuality);
+        log.info("Gallery image created with ID: {}, media job: {}", image.getId(), job.getId());
+        return MediaJobTransformer.toDTO(job);
+    }
+
     public GalleryImageResponseDTO getById(Long id) {
         GalleryImage image = galleryImageService.findById(id);
         return GalleryImageTransformer.toDTO(image);
@@ -87,6 +136,7 @@ public class GalleryImageFacade {
      * If new image provided: compress, upload to B2, delete old image, and update URL
      */
     @Transactional
+    @PublicContentChange({PublicResourceType.GALLERY, PublicResourceType.ALBUMS})
     public GalleryImageResponseDTO update(Long id, GalleryImageRequestDTO request) {
         GalleryImage image = galleryImageService.findById(id);
 
@@ -112,14 +162,22 @@ public class GalleryImageFacade {
             // Delete old image if exists
             if (image.getImageUrl() != null && cloudStorageService.isEnabled()) {
                 deleteImageFile(image.getImageUrl());
+                cloudStorageService.deleteVariants(image.getImageVariants());
             }
             // Upload new image
             CompressionQuality compressionQuality = parseCompressionQuality(request.getCompressionQuality());
-            String newImageUrl = processAndUploadImage(request.getImageFile(), compressionQuality);
-            image.setImageUrl(newImageUrl);
+            ImageCompressionDTO upload = processAndUploadImage(request.getImageFile(), compressionQuality);
+            image.setImageUrl(upload != null ? upload.getBackblazeFileUrl() : null);
+            image.setImageVariants(upload != null ? upload.getVariantUrls() : null);
+            // A background upload still running for this image is discarded when it finishes
+            image.setImageStatus(MediaStatus.READY);
         } else if (request.getImageUrl() != null) {
-            // Update with provided URL if no new file
+            // Update with provided URL if no new file; variants belong to the previous upload
+            if (!request.getImageUrl().equals(image.getImageUrl())) {
+                image.setImageVariants(null);
+            }
             image.setImageUrl(request.getImageUrl());
+            image.setImageStatus(MediaStatus.READY);
         }
 
         image = galleryImageService.update(image);
@@ -135,6 +193,7 @@ public class GalleryImageFacade {
      * @return Updated gallery image with fresh presigned URL
      */
     @Transactional
+    @PublicContentChange({PublicResourceType.GALLERY, PublicResourceType.ALBUMS})
     public GalleryImageResponseDTO refreshImageUrl(Long id) {
         GalleryImage image = galleryImageService.findById(id);
 
@@ -179,26 +238,45 @@ public class GalleryImageFacade {
      * Delete gallery image and associated image from cloud storage
      */
     @Transactional
+    @PublicContentChange({PublicResourceType.GALLERY, PublicResourceType.ALBUMS})
     public void delete(Long id) {
         GalleryImage image = galleryImageService.findById(id);
 
         // Delete image from cloud storage if exists
         if (image.getImageUrl() != null && cloudStorageService.isEnabled()) {
             deleteImageFile(image.getImageUrl());
+            cloudStorageService.deleteVariants(image.getImageVariants());
         }
 
         galleryImageService.delete(id);
         log.info("Gallery image deleted successfully with ID: {}", id);
     }
 
+    /**
+     * Checks an async upload before anything is saved, so a bad file fails the request rather than the job
+     */
+    private void validateAsyncUpload(MultipartFile imageFile) {
+        if (imageFile == null || imageFile.isEmpty()) {
+            throw new BadRequestException("Image file is required");
+        }
+        if (!cloudStorageService.isEnabled()) {
+            throw new BadRequestException("Cloud storage is disabled");
+        }
+        try {
+            imageCompressionService.validateImageFile(imageFile);
+        } catch (ImageUploadException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
     /**
      * Process image: compress and upload to Backblaze B2
      *
      * @param imageFile          MultipartFile to process
      * @param compressionQuality Quality level for compression
-     * @return URL of uploaded image or null if storage is disabled
+     * @return Upload result with the image and variant URLs, or null if storage is disabled
      */
-    private String processAndUploadImage(MultipartFile imageFile, CompressionQuality compressionQuality) {
+    private ImageCompressionDTO processAndUploadImage(MultipartFile imageFile, CompressionQuality compressionQuality) {
         try {
             if (!cloudStorageService.isEnabled()) {
                 log.warn("Cloud storage is disabled. Image upload skipped");
@@ -214,31 +292,14 @@ public class GalleryImageFacade {
             // Step 1: Validate image
             imageCompressionService.validateImageFile(imageFile);
 
-            // Step 2: Compress image
-            ImageCompressionDTO compressionMetadata = imageCompressionService.compressImage(
-                    imageFile,
-                    compressionQuality
-            );
-
-            log.info("Image compressed successfully. Original: {} bytes, Compressed: {} bytes",
-                    compressionMetadata.getOriginalFileSize(),
-                    compressionMetadata.getCompressedFileSize());
-
-            // Step 3: Get compressed image stream
-            InputStream compressedImageStream = imageCompressionService.getCompressedImageInputStream(
-                    imageFile,
-                    compressionQuality
-            );
-
-            // Step 4: Upload to Backblaze B2
-            ImageCompressionDTO uploadResult = cloudStorageService.uploadImage(
-                    compressedImageStream,
-                    compressionMetadata
-            );
+            // Step 2: Compress and upload; a repeated upload reuses the stored copy
+            ImageCompressionDTO uploadResult = cloudStorageService.storeImageWithVariants(imageFile, compressionQuality);
 
             log.info("Image uploaded to cloud storage. URL: {}", uploadResult.getBackblazeFileUrl());
-            return uploadResult.getBackblazeFileUrl();
+            return uploadResult;
 
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error processing image for upload", e);
             // Don't fail the entire operation if image upload fails
@@ -311,7 +372,10 @@ public class GalleryImageFacade {
             // Extract file key from URL
             int fileIndex = imageUrl.indexOf("/file/");
             if (fileIndex == -1) {
-                log.warn("Invalid image URL format: {}", imageUrl);
+                // Cloudflare R2 URL of a content-addressed image: drop this reference
+                if (!cloudStorageService.releaseImageUrl(imageUrl)) {
+                    log.warn("Invalid image URL format: {}", imageUrl);
+                }
                 return;
             }
 
@@ -366,14 +430,12 @@ public class GalleryImageFacade {
                         .and(Sort.by(Sort.Direction.DESC, "createdAt"))
         );
 
+        Long panchayatId = panchayatSlugResolver.resolveId(slug);
         Page<GalleryImage> images;
         if (albumId != null) {
-            images = galleryImageService.findByPanchayatSlugAndAlbumId(slug, albumId, pageable);
+            images = galleryImageService.findByPanchayatIdAndAlbumIdOrdered(panchayatId, albumId, pageable);
         } else {
-            // Need to add a method to find by slug without album
-            // For now, we'll get panchayat by slug first
-            Panchayat panchayat = panchayatService.findBySlug(slug);
-            images = galleryImageService.findByPanchayatId(panchayat.getId(), pageable);
+            images = galleryImageService.findByPanchayatId(panchayatId, pageable);
         }
 
         return images.map(GalleryImageTransformer::toDTO);
@@ -0,0 +1,23 @@
+package in.gram.gov.app.egram_service.facade;
+
+import in.gram.gov.app.egram_service.dto.response.MediaJobResponseDTO;
+import in.gram.gov.app.egram_service.service.MediaJobService;
+import in.gram.gov.app.egram_service.transformer.MediaJobTransformer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MediaJobFacade {
+    private final MediaJobService mediaJobService;
+
+    /**
+     * Status of an async upload of the current panchayat, polled by the admin UI
+     */
+    public MediaJobResponseDTO getStatus(String jobId) {
+        log.debug("MediaJobFacade.getStatus called - jobId={}", jobId);
+        return MediaJobTransformer.toDTO(mediaJobService.findForTenant(jobId));
+    }
+}
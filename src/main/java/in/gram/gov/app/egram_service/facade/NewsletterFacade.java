@@ -1,6 +1,9 @@
 package in.gram.gov.app.egram_service.facade;
 
+import in.gram.gov.app.egram_service.constants.aspect.PublicContentChange;
+import in.gram.gov.app.egram_service.constants.enums.PublicResourceType;
 import in.gram.gov.app.egram_service.constants.enums.CompressionQuality;
+import in.gram.gov.app.egram_service.constants.exception.ServiceUnavailableException;
 import in.gram.gov.app.egram_service.constants.security.TenantContext;
 import in.gram.gov.app.egram_service.domain.entity.Newsletter;
 import in.gram.gov.app.egram_service.domain.entity.Panchayat;
@@ -18,7 +21,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.InputStream;
 import java.time.LocalDate;
 
 @Service
@@ -27,6 +29,7 @@ import java.time.LocalDate;
 public class NewsletterFacade {
     private final NewsletterService newsletterService;
     private final PanchayatService panchayatService;
+    private final PanchayatSlugResolver panchayatSlugResolver;
     private final UserService userService;
     private final ImageCompressionService imageCompressionService;
     private final CloudStorageService cloudStorageService;
@@ -36,6 +39,7 @@ public class NewsletterFacade {
      * Create a new newsletter with optional cover image upload
      */
     @Transactional
+    @PublicContentChange(PublicResourceType.NEWSLETTERS)
     public NewsletterResponseDTO create(NewsletterRequestDTO request, String email) {
         log.info("NewsletterFacade.create called - title={}, email={}", request.getTitle(), email);
         Long tenantId = TenantContext.getTenantId();
@@ -80,7 +84,8 @@ public class NewsletterFacade {
 
     public NewsletterResponseDTO getPublishedByIdAndSlug(Long newsletterId, String slug) {
         log.info("NewsletterFacade.getPublishedByIdAndSlug called - newsletterId={}, slug={}", newsletterId, slug);
-        Newsletter newsletter = newsletterService.findPublishedByIdAndSlug(newsletterId, slug);
+        Long panchayatId = panchayatSlugResolver.resolveId(slug);
+        Newsletter newsletter = newsletterService.findPublishedByIdAndPanchayatId(newsletterId, panchayatId);
         return mapToResponse(newsletter);
     }
 
@@ -93,7 +98,8 @@ public class NewsletterFacade {
 
     public Page<NewsletterResponseDTO> getPublishedBySlug(String slug, String search, Pageable pageable) {
         log.info("NewsletterFacade.getPublishedBySlug called - slug={}, search={}, pageable={}", slug, search, pageable);
-        Page<Newsletter> newsletters = newsletterService.findPublishedBySlugWithSearch(slug, search, pageable);
+        Long panchayatId = panchayatSlugResolver.resolveId(slug);
+        Page<Newsletter> newsletters = newsletterService.findPublishedByPanchayatIdWithSearch(panchayatId, search, pageable);
         return newsletters.map(this::mapToResponse);
     }
 
@@ -101,6 +107,7 @@ public class NewsletterFacade {
      * Update a newsletter with optional new cover image
      */
     @Transactional
+    @PublicContentChange(PublicResourceType.NEWSLETTERS)
     public NewsletterResponseDTO update(Long id, NewsletterRequestDTO request) {
         log.info("NewsletterFacade.update called - id={}", id);
         Newsletter newsletter = newsletterService.findById(id);
@@ -141,12 +148,14 @@ public class NewsletterFacade {
     }
 
     @Transactional
+    @PublicContentChange(PublicResourceType.NEWSLETTERS)
     public void togglePublish(Long id) {
         log.info("NewsletterFacade.togglePublish called - id={}", id);
         newsletterService.togglePublish(id);
     }
 
     @Transactional
+    @PublicContentChange(PublicResourceType.NEWSLETTERS)
     public void delete(Long id) {
         log.info("NewsletterFacade.delete called - id={}", id);
         Newsletter newsletter = newsletterService.findById(id);
@@ -179,33 +188,16 @@ public class NewsletterFacade {
             // Step 1: Validate image
             imageCompressionService.validateImageFile(imageFile);
 
-            // Step 2: Compress image
-            ImageCompressionDTO compressionMetadata = imageCompressionService.compressImage(
-                    imageFile,
-                    compressionQuality
-            );
-
-            log.info("Cover image compressed successfully. Original: {} bytes, Compressed: {} bytes",
-                    compressionMetadata.getOriginalFileSize(),
-                    compressionMetadata.getCompressedFileSize());
-
-            // Step 3: Get compressed image stream
-            InputStream compressedImageStream = imageCompressionService.getCompressedImageInputStream(
-                    imageFile,
-                    compressionQuality
-            );
-
-            // Step 4: Upload to Backblaze B2
-            ImageCompressionDTO uploadResult = cloudStorageService.uploadImage(
-                    compressedImageStream,
-                    compressionMetadata
-            );
+            // Step 2: Compress and upload; a repeated upload reuses the stored copy
+            ImageCompressionDTO uploadResult = cloudStorageService.storeImage(imageFile, compressionQuality);
 
             log.info("Cover image uploaded to cloud storage. File Key: {}", uploadResult.getBackblazeFileId());
             
             // Return file key (not presigned URL) for storage
             return uploadResult.getBackblazeFileId();
 
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error processing cover image for upload", e);
             // Don't fail the entire newsletter creation if image upload fails
@@ -2,6 +2,8 @@ package in.gram.gov.app.egram_service.facade;
 
 import in.gram.gov.app.egram_service.constants.enums.CompressionQuality;
 import in.gram.gov.app.egram_service.constants.enums.PanchayatStatus;
+import in.gram.gov.app.egram_service.constants.enums.PublicResourceType;
+import in.gram.gov.app.egram_service.constants.exception.ServiceUnavailableException;
 import in.gram.gov.app.egram_service.constants.security.TenantContext;
 import in.gram.gov.app.egram_service.domain.entity.Panchayat;
 import in.gram.gov.app.egram_service.dto.filters.PanchayatFilter;
@@ -14,24 +16,19 @@ import in.gram.gov.app.egram_service.transformer.PanchayatTransformer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.InputStream;
-
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class PanchayatFacade {
     private final PanchayatService panchayatService;
+    private final PanchayatSlugResolver panchayatSlugResolver;
+    private final ContentVersionService contentVersionService;
     private final UserService userService;
-    private final PostService postService;
-    private final AnnouncementService announcementService;
-    private final SchemeService schemeService;
-    private final DocumentService documentService;
-    private final GalleryImageService galleryImageService;
+    private final PanchayatStatsService panchayatStatsService;
     private final ImageCompressionService imageCompressionService;
     private final CloudStorageService cloudStorageService;
 
@@ -40,6 +37,7 @@ public class PanchayatFacade {
         log.info("PanchayatFacade.create called - slug={}", request.getSlug());
         Panchayat panchayat = PanchayatTransformer.toEntity(request);
         panchayat = panchayatService.create(panchayat);
+        panchayatSlugResolver.evict(panchayat.getSlug());
         return PanchayatTransformer.toDTO(panchayat);
     }
 
@@ -51,7 +49,7 @@ public class PanchayatFacade {
 
     public PanchayatResponseDTO getBySlug(String slug) {
         log.debug("PanchayatFacade.getBySlug called - slug={}", slug);
-        Panchayat panchayat = panchayatService.findBySlug(slug);
+        Panchayat panchayat = panchayatService.findById(panchayatSlugResolver.resolveId(slug));
         return PanchayatTransformer.toDTO(panchayat);
     }
 
@@ -67,6 +65,10 @@ public class PanchayatFacade {
         Panchayat panchayat = panchayatService.findById(id);
         PanchayatTransformer.updateEntity(panchayat, request);
         panchayat = panchayatService.update(panchayat);
+        // Slug may have changed: drop the old mapping and any cached miss for the new slug
+        panchayatSlugResolver.evictById(id);
+        panchayatSlugResolver.evict(panchayat.getSlug());
+        contentVersionService.bump(id, PublicResourceType.PANCHAYAT);
         return PanchayatTransformer.toDTO(panchayat);
     }
 
@@ -74,6 +76,8 @@ public class PanchayatFacade {
     public void updateStatus(Long id, PanchayatStatus status) {
         log.info("PanchayatFacade.updateStatus called - id={}, status={}", id, status);
         panchayatService.updateStatus(id, status);
+        panchayatSlugResolver.evictById(id);
+        contentVersionService.bump(id, PublicResourceType.PANCHAYAT);
     }
 
     @Transactional
@@ -81,6 +85,9 @@ public class PanchayatFacade {
         log.info("PanchayatFacade.delete called - id={}", id);
         // Mark panchayat as inactive
         panchayatService.delete(id);
+        panchayatSlugResolver.evictById(id);
+        contentVersionService.bump(id, PublicResourceType.PANCHAYAT);
+        contentVersionService.bump(id, PublicResourceType.MEMBERS);
         // Asynchronously deactivate all users of this panchayat
         userService.deactivateUsersByPanchayatIdAsync(id);
         log.info("Panchayat {} marked as inactive and user deactivation process started", id);
@@ -88,14 +95,7 @@ public class PanchayatFacade {
 
     public PanchayatStatsResponseDTO getStats(Long id) {
         log.info("PanchayatFacade.getStats called - id={}", id);
-        PanchayatStatsResponseDTO stats = new PanchayatStatsResponseDTO();
-        stats.setTotalUsers(userService.findByPanchayatId(id, Pageable.unpaged()).getTotalElements());
-        stats.setTotalPosts(postService.findByPanchayatId(id, Pageable.unpaged()).getTotalElements());
-        stats.setTotalAnnouncements(announcementService.findByPanchayatId(id, Pageable.unpaged()).getTotalElements());
-        stats.setTotalSchemes(schemeService.findByPanchayatId(id, Pageable.unpaged()).getTotalElements());
-        stats.setTotalDocuments(documentService.findByPanchayatId(id, Pageable.unpaged()).getTotalElements());
-        stats.setTotalGalleryImages(galleryImageService.findByPanchayatId(id, Pageable.unpaged()).getTotalElements());
-        return stats;
+        return panchayatStatsService.getStats(id);
     }
 
     public PanchayatResponseDTO getCurrentPanchayat() {
@@ -135,6 +135,7 @@ public class PanchayatFacade {
         if (imageUrl != null) {
             panchayat.setHeroImageUrl(imageUrl);
             panchayat = panchayatService.update(panchayat);
+            contentVersionService.bump(tenantId, PublicResourceType.PANCHAYAT);
             log.info("Hero image uploaded successfully for panchayat ID: {}", tenantId);
         } else {
             log.warn("Hero image upload failed or cloud storage is disabled");
@@ -166,6 +167,7 @@ public class PanchayatFacade {
         if (imageUrl != null) {
             panchayat.setLogoUrl(imageUrl);
             panchayat = panchayatService.update(panchayat);
+            contentVersionService.bump(tenantId, PublicResourceType.PANCHAYAT);
             log.info("Logo uploaded successfully for panchayat ID: {}", tenantId);
         } else {
             log.warn("Logo upload failed or cloud storage is disabled");
@@ -197,31 +199,14 @@ public class PanchayatFacade {
             // Step 1: Validate image
             imageCompressionService.validateImageFile(imageFile);
 
-            // Step 2: Compress image
-            ImageCompressionDTO compressionMetadata = imageCompressionService.compressImage(
-                    imageFile,
-                    compressionQuality
-            );
-
-            log.info("Image compressed successfully. Original: {} bytes, Compressed: {} bytes",
-                    compressionMetadata.getOriginalFileSize(),
-                    compressionMetadata.getCompressedFileSize());
-
-            // Step 3: Get compressed image stream
-            InputStream compressedImageStream = imageCompressionService.getCompressedImageInputStream(
-                    imageFile,
-                    compressionQuality
-            );
-
-            // Step 4: Upload to cloud storage
-            ImageCompressionDTO uploadResult = cloudStorageService.uploadImage(
-                    compressedImageStream,
-                    compressionMetadata
-            );
+            // Step 2: Compress and upload; a repeated upload reuses the stored copy
+            ImageCompressionDTO uploadResult = cloudStorageService.storeImage(imageFile, compressionQuality);
 
             log.info("Image uploaded to cloud storage. URL: {}", uploadResult.getBackblazeFileUrl());
             return uploadResult.getBackblazeFileUrl();
 
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error processing image for upload", e);
             return null;
@@ -1,6 +1,7 @@
 package in.gram.gov.app.egram_service.facade;
 
 import in.gram.gov.app.egram_service.constants.enums.CompressionQuality;
+import in.gram.gov.app.egram_service.constants.exception.ServiceUnavailableException;
 import in.gram.gov.app.egram_service.constants.security.TenantContext;
 import in.gram.gov.app.egram_service.domain.entity.Panchayat;
 import in.gram.gov.app.egram_service.domain.entity.PanchayatWebsiteSection;
@@ -13,7 +14,10 @@ import in.gram.gov.app.egram_service.dto.response.PanchayatWebsiteSectionRespons
 import in.gram.gov.app.egram_service.service.CloudStorageService;
 import in.gram.gov.app.egram_service.service.ImageCompressionService;
 import in.gram.gov.app.egram_service.service.PanchayatService;
+import in.gram.gov.app.egram_service.service.PanchayatSlugResolver;
 import in.gram.gov.app.egram_service.service.PanchayatWebsiteSectionService;
+import in.gram.gov.app.egram_service.service.PanchayatWebsiteSnapshotService;
+import in.gram.gov.app.egram_service.service.PanchayatWebsiteSnapshotService.WebsiteSnapshot;
 import in.gram.gov.app.egram_service.transformer.PanchayatWebsiteSectionTransformer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -24,7 +28,6 @@ import org.springframework.web.multipart.MultipartFile;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.JsonNode;
 
-import java.io.InputStream;
 import java.util.List;
 import java.util.ArrayList;
 import java.util.stream.Collectors;
@@ -34,7 +37,9 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PanchayatWebsiteFacade {
     private final PanchayatWebsiteSectionService sectionService;
+    private final PanchayatWebsiteSnapshotService snapshotService;
     private final PanchayatService panchayatService;
+    private final PanchayatSlugResolver panchayatSlugResolver;
     private final ImageCompressionService imageCompressionService;
     private final CloudStorageService cloudStorageService;
     private final ObjectMapper objectMapper = new ObjectMapper();
@@ -58,12 +63,23 @@ public class PanchayatWebsiteFacade {
 
     public List<PanchayatWebsiteSectionResponseDTO> getVisibleSections(String slug) {
         log.info("PanchayatWebsiteFacade.getVisibleSections called - slug={}", slug);
-        List<PanchayatWebsiteSection> sections = sectionService.findByPanchayatSlugAndVisible(slug);
+        Long panchayatId = panchayatSlugResolver.resolveId(slug);
+        List<PanchayatWebsiteSection> sections = sectionService.findByPanchayatIdAndVisible(panchayatId);
         return sections.stream()
                 .map(PanchayatWebsiteSectionTransformer::toDTO)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Pre-serialized public website payload for a panchayat, served from memory
+     * @param slug Panchayat slug
+     * @return Snapshot bytes and ETag
+     */
+    public WebsiteSnapshot getVisibleSectionsSnapshot(String slug) {
+        log.info("PanchayatWebsiteFacade.getVisibleSectionsSnapshot called - slug={}", slug);
+        return snapshotService.get(panchayatSlugResolver.resolveId(slug));
+    }
+
     @Transactional
     public PanchayatWebsiteSectionResponseDTO createSection(PanchayatWebsiteSectionRequestDTO request) {
         log.info("PanchayatWebsiteFacade.createSection called - sectionType={}", request.getSectionType());
@@ -89,7 +105,7 @@ public class PanchayatWebsiteFacade {
             );
             if (uploadResult != null) {
                 imageUrl = uploadResult.getBackblazeFileUrl();
-                imageKey = extractFileKeyFromUrl(imageUrl);
+                imageKey = uploadResult.getBackblazeFileId();
             }
         }
 
@@ -122,6 +138,7 @@ public class PanchayatWebsiteFacade {
         section.setImageKey(imageKey);
         
         section = sectionService.create(section);
+        snapshotService.refreshAfterCommit(panchayatId);
         log.info("Panchayat website section created successfully with ID: {}", section.getId());
         return PanchayatWebsiteSectionTransformer.toDTO(section);
     }
@@ -209,7 +226,7 @@ public class PanchayatWebsiteFacade {
             );
             if (uploadResult != null) {
                 section.setImageUrl(uploadResult.getBackblazeFileUrl());
-                section.setImageKey(extractFileKeyFromUrl(uploadResult.getBackblazeFileUrl()));
+                section.setImageKey(uploadResult.getBackblazeFileId());
             }
         } else if (request.getImageUrl() != null) {
             section.setImageUrl(request.getImageUrl());
@@ -217,6 +234,7 @@ public class PanchayatWebsiteFacade {
         }
 
         section = sectionService.update(section);
+        snapshotService.refreshAfterCommit(panchayatId);
         log.info("Panchayat website section updated successfully with ID: {}", id);
         return PanchayatWebsiteSectionTransformer.toDTO(section);
     }
@@ -242,6 +260,7 @@ public class PanchayatWebsiteFacade {
         }
 
         sectionService.delete(id);
+        snapshotService.refreshAfterCommit(panchayatId);
         log.info("Panchayat website section deleted successfully with ID: {}", id);
     }
 
@@ -257,6 +276,7 @@ public class PanchayatWebsiteFacade {
         }
         
         sectionService.updateDisplayOrder(id, request.getDisplayOrder());
+        snapshotService.refreshAfterCommit(panchayatId);
     }
 
     @Transactional
@@ -271,6 +291,7 @@ public class PanchayatWebsiteFacade {
         }
         
         sectionService.updateVisibility(id, request.getIsVisible());
+        snapshotService.refreshAfterCommit(panchayatId);
     }
 
     @Transactional
@@ -296,8 +317,9 @@ public class PanchayatWebsiteFacade {
         ImageCompressionDTO uploadResult = processAndUploadImage(imageFile, compressionQuality);
         if (uploadResult != null) {
             section.setImageUrl(uploadResult.getBackblazeFileUrl());
-            section.setImageKey(extractFileKeyFromUrl(uploadResult.getBackblazeFileUrl()));
+            section.setImageKey(uploadResult.getBackblazeFileId());
             section = sectionService.update(section);
+            snapshotService.refreshAfterCommit(panchayatId);
         }
 
         return PanchayatWebsiteSectionTransformer.toDTO(section);
@@ -332,31 +354,14 @@ public class PanchayatWebsiteFacade {
             // Step 1: Validate image
             imageCompressionService.validateImageFile(imageFile);
 
-            // Step 2: Compress image
-            ImageCompressionDTO compressionMetadata = imageCompressionService.compressImage(
-                    imageFile,
-                    compressionQuality
-            );
-
-            log.info("Image compressed successfully. Original: {} bytes, Compressed: {} bytes",
-                    compressionMetadata.getOriginalFileSize(),
-                    compressionMetadata.getCompressedFileSize());
-
-            // Step 3: Get compressed image stream
-            InputStream compressedImageStream = imageCompressionService.getCompressedImageInputStream(
-                    imageFile,
-                    compressionQuality
-            );
-
-            // Step 4: Upload to Backblaze B2
-            ImageCompressionDTO uploadResult = cloudStorageService.uploadImage(
-                    compressedImageStream,
-                    compressionMetadata
-            );
+            // Step 2: Compress and upload; a repeated upload reuses the stored copy
+            ImageCompressionDTO uploadResult = cloudStorageService.storeImage(imageFile, compressionQuality);
 
             log.info("Image uploaded to cloud storage. URL: {}", uploadResult.getBackblazeFileUrl());
             return uploadResult;
 
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error processing image for upload", e);
             return null;
@@ -469,6 +474,8 @@ public class PanchayatWebsiteFacade {
         log.debug("Content JSON (first 200 chars): {}", 
                 contentJson.length() > 200 ? contentJson.substring(0, 200) : contentJson);
 
+        // Keys stored so far; released if the content is not saved with them
+        List<String> uploadedKeys = new ArrayList<>();
         try {
             // Parse content JSON - handle both string and already parsed object
             JsonNode contentNode;
@@ -558,6 +565,7 @@ public class PanchayatWebsiteFacade {
                     ImageCompressionDTO uploadResult = processAndUploadImage(imageFile, compressionQuality);
                     if (uploadResult != null && uploadResult.getBackblazeFileUrl() != null) {
                         String imageUrl = uploadResult.getBackblazeFileUrl();
+                        uploadedKeys.add(uploadResult.getBackblazeFileId());
                         log.info("Successfully uploaded image for item at index {}: {}", itemIndex, imageUrl);
                         
                         // Update the item's image field
@@ -571,6 +579,8 @@ public class PanchayatWebsiteFacade {
                     } else {
                         log.error("Failed to upload image for item at index {} - uploadResult is null or has no URL", itemIndex);
                     }
+                } catch (ServiceUnavailableException e) {
+                    throw e;
                 } catch (Exception e) {
                     log.error("Exception while uploading image for item at index {}: {} - continuing with next image", 
                             itemIndex, e.getMessage(), e);
@@ -586,11 +596,26 @@ public class PanchayatWebsiteFacade {
             // Convert back to JSON string
             return objectMapper.writeValueAsString(contentNode);
 
+        } catch (ServiceUnavailableException e) {
+            // Fail the request with its 503 rather than saving a partly processed section
+            releaseUploadedImages(uploadedKeys);
+            throw e;
         } catch (Exception e) {
             log.error("Error processing content item images", e);
+            releaseUploadedImages(uploadedKeys);
             // Return original content if processing fails
             return contentJson;
         }
     }
+
+    private void releaseUploadedImages(List<String> fileKeys) {
+        for (String fileKey : fileKeys) {
+            try {
+                cloudStorageService.deleteImage(fileKey);
+            } catch (Exception e) {
+                log.warn("Failed to release uploaded image {}: {}", fileKey, e.getMessage());
+            }
+        }
+    }
 }
 
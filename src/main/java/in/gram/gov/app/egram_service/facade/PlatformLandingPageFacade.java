@@ -1,6 +1,7 @@
 package in.gram.gov.app.egram_service.facade;
 
 import in.gram.gov.app.egram_service.constants.enums.CompressionQuality;
+import in.gram.gov.app.egram_service.constants.exception.ServiceUnavailableException;
 import in.gram.gov.app.egram_service.domain.entity.PlatformLandingPageSection;
 import in.gram.gov.app.egram_service.dto.request.OrderUpdateRequestDTO;
 import in.gram.gov.app.egram_service.dto.request.PlatformSectionRequestDTO;
@@ -11,6 +12,8 @@ import in.gram.gov.app.egram_service.dto.response.PlatformSectionResponseDTO;
 import in.gram.gov.app.egram_service.service.CloudStorageService;
 import in.gram.gov.app.egram_service.service.ImageCompressionService;
 import in.gram.gov.app.egram_service.service.PlatformLandingPageSectionService;
+import in.gram.gov.app.egram_service.service.PlatformLandingPageSnapshotService;
+import in.gram.gov.app.egram_service.service.PlatformLandingPageSnapshotService.LandingPageSnapshot;
 import in.gram.gov.app.egram_service.transformer.PlatformLandingPageSectionTransformer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,7 +23,6 @@ import org.springframework.web.multipart.MultipartFile;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -30,6 +32,7 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PlatformLandingPageFacade {
     private final PlatformLandingPageSectionService sectionService;
+    private final PlatformLandingPageSnapshotService landingPageSnapshotService;
     private final ImageCompressionService imageCompressionService;
     private final CloudStorageService cloudStorageService;
     private final ObjectMapper objectMapper = new ObjectMapper();
@@ -52,10 +55,16 @@ public class PlatformLandingPageFacade {
 
     public List<PlatformSectionResponseDTO> getVisibleSections() {
         log.info("PlatformLandingPageFacade.getVisibleSections called");
-        List<PlatformLandingPageSection> sections = sectionService.findAllVisible();
-        return sections.stream()
-                .map(PlatformLandingPageSectionTransformer::toDTO)
-                .collect(Collectors.toList());
+        return landingPageSnapshotService.get().sections();
+    }
+
+    /**
+     * Visible sections as a pre-serialized snapshot for the public landing page
+     * @return Snapshot with serialized payload and ETag
+     */
+    public LandingPageSnapshot getVisibleSectionsSnapshot() {
+        log.info("PlatformLandingPageFacade.getVisibleSectionsSnapshot called");
+        return landingPageSnapshotService.get();
     }
 
     @Transactional
@@ -80,7 +89,7 @@ public class PlatformLandingPageFacade {
             );
             if (uploadResult != null) {
                 imageUrl = uploadResult.getBackblazeFileUrl();
-                imageKey = extractFileKeyFromUrl(imageUrl);
+                imageKey = uploadResult.getBackblazeFileId();
             }
         }
 
@@ -113,6 +122,7 @@ public class PlatformLandingPageFacade {
         section.setImageKey(imageKey);
         
         section = sectionService.create(section);
+        landingPageSnapshotService.refreshAfterCommit();
         log.info("Platform landing page section created successfully with ID: {}", section.getId());
         return PlatformLandingPageSectionTransformer.toDTO(section);
     }
@@ -189,7 +199,7 @@ public class PlatformLandingPageFacade {
             );
             if (uploadResult != null) {
                 section.setImageUrl(uploadResult.getBackblazeFileUrl());
-                section.setImageKey(extractFileKeyFromUrl(uploadResult.getBackblazeFileUrl()));
+                section.setImageKey(uploadResult.getBackblazeFileId());
             }
         } else if (request.getImageUrl() != null) {
             section.setImageUrl(request.getImageUrl());
@@ -197,6 +207,7 @@ public class PlatformLandingPageFacade {
         }
 
         section = sectionService.update(section);
+        landingPageSnapshotService.refreshAfterCommit();
         log.info("Platform landing page section updated successfully with ID: {}", id);
         return PlatformLandingPageSectionTransformer.toDTO(section);
     }
@@ -216,6 +227,7 @@ public class PlatformLandingPageFacade {
         }
 
         sectionService.delete(id);
+        landingPageSnapshotService.refreshAfterCommit();
         log.info("Platform landing page section deleted successfully with ID: {}", id);
     }
 
@@ -223,12 +235,14 @@ public class PlatformLandingPageFacade {
     public void updateDisplayOrder(Long id, OrderUpdateRequestDTO request) {
         log.info("PlatformLandingPageFacade.updateDisplayOrder called - id={}, order={}", id, request.getDisplayOrder());
         sectionService.updateDisplayOrder(id, request.getDisplayOrder());
+        landingPageSnapshotService.refreshAfterCommit();
     }
 
     @Transactional
     public void updateVisibility(Long id, VisibilityUpdateRequestDTO request) {
         log.info("PlatformLandingPageFacade.updateVisibility called - id={}, isVisible={}", id, request.getIsVisible());
         sectionService.updateVisibility(id, request.getIsVisible());
+        landingPageSnapshotService.refreshAfterCommit();
     }
 
     @Transactional
@@ -248,8 +262,9 @@ public class PlatformLandingPageFacade {
         ImageCompressionDTO uploadResult = processAndUploadImage(imageFile, compressionQuality);
         if (uploadResult != null) {
             section.setImageUrl(uploadResult.getBackblazeFileUrl());
-            section.setImageKey(extractFileKeyFromUrl(uploadResult.getBackblazeFileUrl()));
+            section.setImageKey(uploadResult.getBackblazeFileId());
             section = sectionService.update(section);
+            landingPageSnapshotService.refreshAfterCommit();
         }
 
         return PlatformLandingPageSectionTransformer.toDTO(section);
@@ -284,31 +299,14 @@ public class PlatformLandingPageFacade {
             // Step 1: Validate image
             imageCompressionService.validateImageFile(imageFile);
 
-            // Step 2: Compress image
-            ImageCompressionDTO compressionMetadata = imageCompressionService.compressImage(
-                    imageFile,
-                    compressionQuality
-            );
-
-            log.info("Image compressed successfully. Original: {} bytes, Compressed: {} bytes",
-                    compressionMetadata.getOriginalFileSize(),
-                    compressionMetadata.getCompressedFileSize());
-
-            // Step 3: Get compressed image stream
-            InputStream compressedImageStream = imageCompressionService.getCompressedImageInputStream(
-                    imageFile,
-                    compressionQuality
-            );
-
-            // Step 4: Upload to Backblaze B2
-            ImageCompressionDTO uploadResult = cloudStorageService.uploadImage(
-                    compressedImageStream,
-                    compressionMetadata
-            );
+            // Step 2: Compress and upload; a repeated upload reuses the stored copy
+            ImageCompressionDTO uploadResult = cloudStorageService.storeImage(imageFile, compressionQuality);
 
             log.info("Image uploaded to cloud storage. URL: {}", uploadResult.getBackblazeFileUrl());
             return uploadResult;
 
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error processing image for upload", e);
             return null;
@@ -516,6 +514,8 @@ public class PlatformLandingPageFacade {
                     } else {
                         log.error("Failed to upload image for item at index {} - uploadResult is null or has no URL", itemIndex);
                     }
+                } catch (ServiceUnavailableException e) {
+                    throw e;
                 } catch (Exception e) {
                     log.error("Exception while uploading image for item at index {}: {} - continuing with next image", 
                             itemIndex, e.getMessage(), e);
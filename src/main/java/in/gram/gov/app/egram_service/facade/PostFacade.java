@@ -1,16 +1,26 @@
 package in.gram.gov.app.egram_service.facade;
 
+import in.gram.gov.app.egram_service.constants.aspect.PublicContentChange;
+import in.gram.gov.app.egram_service.constants.enums.PublicResourceType;
 import in.gram.gov.app.egram_service.constants.enums.CompressionQuality;
+import in.gram.gov.app.egram_service.constants.enums.MediaJobTarget;
+import in.gram.gov.app.egram_service.constants.enums.MediaStatus;
 import in.gram.gov.app.egram_service.constants.enums.PostStatus;
+import in.gram.gov.app.egram_service.constants.exception.BadRequestException;
+import in.gram.gov.app.egram_service.constants.exception.ImageUploadException;
+import in.gram.gov.app.egram_service.constants.exception.ServiceUnavailableException;
 import in.gram.gov.app.egram_service.constants.security.TenantContext;
 import in.gram.gov.app.egram_service.domain.entity.Panchayat;
+import in.gram.gov.app.egram_service.domain.entity.MediaJob;
 import in.gram.gov.app.egram_service.domain.entity.Post;
 import in.gram.gov.app.egram_service.domain.entity.User;
 import in.gram.gov.app.egram_service.dto.filters.PostFilter;
 import in.gram.gov.app.egram_service.dto.request.PostRequestDTO;
 import in.gram.gov.app.egram_service.dto.response.ImageCompressionDTO;
+import in.gram.gov.app.egram_service.dto.response.MediaJobResponseDTO;
 import in.gram.gov.app.egram_service.dto.response.PostResponseDTO;
 import in.gram.gov.app.egram_service.service.*;
+import in.gram.gov.app.egram_service.transformer.MediaJobTransformer;
 import in.gram.gov.app.egram_service.transformer.PostTransformer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -20,7 +30,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.InputStream;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -29,17 +39,19 @@ import java.io.InputStream;
 public class PostFacade {
     private final PostService postService;
     private final PanchayatService panchayatService;
+    private final PanchayatSlugResolver panchayatSlugResolver;
+    private final PostViewCounter postViewCounter;
     private final UserService userService;
-    private final LikeService likeService;
-    private final CommentService commentService;
     private final ImageCompressionService imageCompressionService;
     private final CloudStorageService cloudStorageService;
+    private final MediaJobService mediaJobService;
 
     /**
      * Create a new post with optional image upload
      * If image is provided: compress it, upload to B2, and store URL in DB
      */
     @Transactional
+    @PublicContentChange(PublicResourceType.POSTS)
     public PostResponseDTO create(PostRequestDTO request, String email) {
         log.info("PostFacade.create called - title={}, email={}", request.getTitle(), email);
         Long tenantId = TenantContext.getTenantId();
@@ -48,14 +60,18 @@ public class PostFacade {
 
         // Handle image upload if provided
         String mediaUrl = request.getMediaUrl();
+        Map<String, String> mediaVariants = null;
         if (request.getImageFile() != null && !request.getImageFile().isEmpty()) {
-            mediaUrl = processAndUploadImage(request.getImageFile(), request.getCompressionQuality());
+            ImageCompressionDTO upload = processAndUploadImage(request.getImageFile(), request.getCompressionQuality());
+            mediaUrl = upload != null ? upload.getBackblazeFileUrl() : null;
+            mediaVariants = upload != null ? upload.getVariantUrls() : null;
         }
 
         Post post = Post.builder()
                 .title(request.getTitle())
                 .bodyText(request.getBodyText())
                 .mediaUrl(mediaUrl)
+                .mediaVariants(mediaVariants)
                 .panchayat(panchayat)
                 .author(author)
                 .status(PostStatus.PUBLISHED)
@@ -67,6 +83,38 @@ public class PostFacade {
         return mapToResponse(post);
     }
 
+    /**
+     * Create a post whose image is compressed and uploaded in the background
+     * The post is saved with media status PROCESSING and gets its URL when the job completes
+     * @return The upload job, to poll for status
+     */
+    @Transactional
+    @PublicContentChange(PublicResourceType.POSTS)
+    public MediaJobResponseDTO createAsync(PostRequestDTO request, String email) {
+        log.info("PostFacade.createAsync called - title={}, email={}", request.getTitle(), email);
+        validateAsyncUpload(request.getImageFile());
+        Long tenantId = TenantContext.getTenantId();
+        Panchayat panchayat = panchayatService.findById(tenantId);
+        User author = userService.findByEmail(email);
+
+        Post post = Post.builder()
+                .title(request.getTitle())
+                .bodyText(request.getBodyText())
+                .mediaStatus(MediaStatus.PROCESSING)
+                .panchayat(panchayat)
+                .author(author)
+                .status(PostStatus.PUBLISHED)
+                .viewCount(0L)
+                .build();
+
+        post = postService.create(post);
+        CompressionQuality compressionQuality = request.getCompressionQuality() != null
+                ? request.getCompressionQuality() : CompressionQuality.HIGH;
+        MediaJob job = mediaJobService.enqueue(MediaJobTarget.POST, post.getId(), request.getImageFile(), compressionQuality);
+        log.info("Post created with ID: {}, media job: {}", post.getId(), job.getId());
+        return MediaJobTransformer.toDTO(job);
+    }
+
     public PostResponseDTO getById(Long id) {
         log.debug("PostFacade.getById called - id={}", id);
         Post post = postService.findById(id);
@@ -82,14 +130,16 @@ public class PostFacade {
 
     public Page<PostResponseDTO> getPublishedBySlug(String slug, Pageable pageable) {
         log.info("PostFacade.getPublishedBySlug called - slug={}, pageable={}", slug, pageable);
-        Page<Post> posts = postService.findPublishedBySlug(slug, pageable);
+        Long panchayatId = panchayatSlugResolver.resolveId(slug);
+        Page<Post> posts = postService.findPublishedByPanchayatId(panchayatId, pageable);
         return posts.map(this::mapToResponse);
     }
 
     public PostResponseDTO getPublishedByIdAndSlug(Long postId, String slug) {
         log.info("PostFacade.getPublishedByIdAndSlug called - postId={}, slug={}", postId, slug);
-        Post post = postService.findPublishedByIdAndSlug(postId, slug);
-        postService.incrementViewCount(postId);
+        Long panchayatId = panchayatSlugResolver.resolveId(slug);
+        Post post = postService.findPublishedByIdAndPanchayatId(postId, panchayatId);
+        postViewCounter.record(postId);
         return mapToResponse(post);
     }
 
@@ -98,6 +148,7 @@ public class PostFacade {
      * If new image provided: compress, upload to B2, delete old image, and update URL
      */
     @Transactional
+    @PublicContentChange(PublicResourceType.POSTS)
     public PostResponseDTO update(Long id, PostRequestDTO request) {
         log.info("PostFacade.update called - id={}", id);
         Post post = postService.findById(id);
@@ -110,13 +161,21 @@ public class PostFacade {
             // Delete old image if exists
             if (post.getMediaUrl() != null && cloudStorageService.isEnabled()) {
                 deleteImageFile(post.getMediaUrl());
+                cloudStorageService.deleteVariants(post.getMediaVariants());
             }
             // Upload new image
-            String newMediaUrl = processAndUploadImage(request.getImageFile(), request.getCompressionQuality());
-            post.setMediaUrl(newMediaUrl);
+            ImageCompressionDTO upload = processAndUploadImage(request.getImageFile(), request.getCompressionQuality());
+            post.setMediaUrl(upload != null ? upload.getBackblazeFileUrl() : null);
+            post.setMediaVariants(upload != null ? upload.getVariantUrls() : null);
+            // A background upload still running for this post is discarded when it finishes
+            post.setMediaStatus(MediaStatus.READY);
         } else if (request.getMediaUrl() != null) {
-            // Update with provided URL if no new file
+            // Update with provided URL if no new file; variants belong to the previous upload
+            if (!request.getMediaUrl().equals(post.getMediaUrl())) {
+                post.setMediaVariants(null);
+            }
             post.setMediaUrl(request.getMediaUrl());
+            post.setMediaStatus(MediaStatus.READY);
         }
 
         post = postService.update(post);
@@ -125,6 +184,7 @@ public class PostFacade {
     }
 
     @Transactional
+    @PublicContentChange(PublicResourceType.POSTS)
     public void publish(Long id) {
         log.info("PostFacade.publish called - id={}", id);
         postService.publish(id);
@@ -137,6 +197,7 @@ public class PostFacade {
      * @return Updated post with fresh presigned URL
      */
     @Transactional
+    @PublicContentChange(PublicResourceType.POSTS)
     public PostResponseDTO refreshImageUrl(Long id) {
         log.info("PostFacade.refreshImageUrl called - id={}", id);
         Post post = postService.findById(id);
@@ -230,6 +291,7 @@ public class PostFacade {
      * Delete post and associated image from cloud storage
      */
     @Transactional
+    @PublicContentChange(PublicResourceType.POSTS)
     public void delete(Long id) {
         log.info("PostFacade.delete called - id={}", id);
         Post post = postService.findById(id);
@@ -237,19 +299,37 @@ public class PostFacade {
         // Delete image from cloud storage if exists
         if (post.getMediaUrl() != null && cloudStorageService.isEnabled()) {
             deleteImageFile(post.getMediaUrl());
+            cloudStorageService.deleteVariants(post.getMediaVariants());
         }
 
         postService.delete(id);
         log.info("Post deleted successfully with ID: {}", id);
     }
 
+    /**
+     * Checks an async upload before anything is saved, so a bad file fails the request rather than the job
+     */
+    private void validateAsyncUpload(MultipartFile imageFile) {
+        if (imageFile == null || imageFile.isEmpty()) {
+            throw new BadRequestException("Image file is required");
+        }
+        if (!cloudStorageService.isEnabled()) {
+            throw new BadRequestException("Cloud storage is disabled");
+        }
+        try {
+            imageCompressionService.validateImageFile(imageFile);
+        } catch (ImageUploadException e) {
+            throw new BadRequestException(e.getMessage());
+        }
+    }
+
     /**
      * Process image: compress and upload to Backblaze B2
      * @param imageFile MultipartFile to process
      * @param compressionQuality Quality level for compression
-     * @return URL of uploaded image or null if storage is disabled
+     * @return Upload result with the image and variant URLs, or null if storage is disabled
      */
-    private String processAndUploadImage(MultipartFile imageFile, CompressionQuality compressionQuality) {
+    private ImageCompressionDTO processAndUploadImage(MultipartFile imageFile, CompressionQuality compressionQuality) {
         try {
             if (!cloudStorageService.isEnabled()) {
                 log.warn("Cloud storage is disabled. Image upload skipped");
@@ -265,31 +345,14 @@ public class PostFacade {
             // Step 1: Validate image
             imageCompressionService.validateImageFile(imageFile);
 
-            // Step 2: Compress image
-            ImageCompressionDTO compressionMetadata = imageCompressionService.compressImage(
-                    imageFile,
-                    compressionQuality
-            );
-
-            log.info("Image compressed successfully. Original: {} bytes, Compressed: {} bytes",
-                    compressionMetadata.getOriginalFileSize(),
-                    compressionMetadata.getCompressedFileSize());
-
-            // Step 3: Get compressed image stream
-            InputStream compressedImageStream = imageCompressionService.getCompressedImageInputStream(
-                    imageFile,
-                    compressionQuality
-            );
-
-            // Step 4: Upload to Backblaze B2
-            ImageCompressionDTO uploadResult = cloudStorageService.uploadImage(
-                    compressedImageStream,
-                    compressionMetadata
-            );
+            // Step 2: Compress and upload; a repeated upload reuses the stored copy
+            ImageCompressionDTO uploadResult = cloudStorageService.storeImageWithVariants(imageFile, compressionQuality);
 
             log.info("Image uploaded to cloud storage. URL: {}", uploadResult.getBackblazeFileUrl());
-            return uploadResult.getBackblazeFileUrl();
+            return uploadResult;
 
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error processing image for upload", e);
             // Don't fail the entire post creation if image upload fails
@@ -315,7 +378,10 @@ public class PostFacade {
             // We need: images/timestamp-uuid.ext
             int fileIndex = mediaUrl.indexOf("/file/");
             if (fileIndex == -1) {
-                log.warn("Invalid media URL format: {}", mediaUrl);
+                // Cloudflare R2 URL of a content-addressed image: drop this reference
+                if (!cloudStorageService.releaseImageUrl(mediaUrl)) {
+                    log.warn("Invalid media URL format: {}", mediaUrl);
+                }
                 return;
             }
 
@@ -342,8 +408,12 @@ public class PostFacade {
     }
 
     private PostResponseDTO mapToResponse(Post post) {
-        Long likesCount = likeService.countByPostId(post.getId());
-        Long commentsCount = (long) commentService.findAllByPostId(post.getId()).size();
-        return PostTransformer.toDTO(post, likesCount, commentsCount);
+        PostResponseDTO dto = PostTransformer.toDTO(post);
+        // Include views recorded since the last write-behind flush
+        long pendingViews = postViewCounter.pending(post.getId());
+        if (pendingViews > 0) {
+            dto.setViewCount((dto.getViewCount() != null ? dto.getViewCount() : 0L) + pendingViews);
+        }
+        return dto;
     }
 }
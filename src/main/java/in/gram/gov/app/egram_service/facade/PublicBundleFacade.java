@@ -0,0 +1,221 @@
+package in.gram.gov.app.egram_service.facade;
+
+import in.gram.gov.app.egram_service.constants.enums.BundlePart;
+import in.gram.gov.app.egram_service.constants.exception.BadRequestException;
+import in.gram.gov.app.egram_service.dto.PagedResponse;
+import in.gram.gov.app.egram_service.dto.response.PublicBundleResponseDTO;
+import in.gram.gov.app.egram_service.service.PanchayatSlugResolver;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Composes the public homepage in one request by running the individual facade reads
+ * in parallel on a bounded executor. Each part has its own timeout; a part that fails,
+ * times out or is rejected because the executor is saturated is reported in the
+ * response's errors map instead of failing the whole bundle.
+ */
+@Service
+@Slf4j
+public class PublicBundleFacade {
+    private static final int MAX_PAGE_SIZE = 50;
+
+    private final PanchayatSlugResolver panchayatSlugResolver;
+    private final PanchayatFacade panchayatFacade;
+    private final PanchayatWebsiteFacade panchayatWebsiteFacade;
+    private final PostFacade postFacade;
+    private final AnnouncementFacade announcementFacade;
+    private final SchemeFacade schemeFacade;
+    private final GalleryImageFacade galleryImageFacade;
+    private final UserFacade userFacade;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Environment environment;
+    private final ThreadPoolExecutor executor;
+
+    public PublicBundleFacade(PanchayatSlugResolver panchayatSlugResolver,
+                              PanchayatFacade panchayatFacade,
+                              PanchayatWebsiteFacade panchayatWebsiteFacade,
+                              PostFacade postFacade,
+                              AnnouncementFacade announcementFacade,
+                              SchemeFacade schemeFacade,
+                              GalleryImageFacade galleryImageFacade,
+                              UserFacade userFacade,
+                              PlatformTransactionManager transactionManager,
+                              Environment environment,
+                              @Value("${public.bundle.executor.core-size:8}") int coreSize,
+                              @Value("${public.bundle.executor.max-size:12}") int maxSize,
+                              @Value("${public.bundle.executor.queue-capacity:200}") int queueCapacity) {
+        this.panchayatSlugResolver = panchayatSlugResolver;
+        this.panchayatFacade = panchayatFacade;
+        this.panchayatWebsiteFacade = panchayatWebsiteFacade;
+        this.postFacade = postFacade;
+        this.announcementFacade = announcementFacade;
+        this.schemeFacade = schemeFacade;
+        this.galleryImageFacade = galleryImageFacade;
+        this.userFacade = userFacade;
+        this.environment = environment;
+
+        // Worker threads have no open-session-in-view, so each part runs in its own read-only transaction
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(coreSize, maxSize, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "public-bundle-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Build the homepage bundle for a panchayat
+     * @param slug Panchayat slug
+     * @param include Part names to include (case-insensitive); all parts when null or empty
+     * @param size Page size for list parts
+     * @return Composed bundle
+     */
+    public PublicBundleResponseDTO getBundle(String slug, List<String> include, Integer size) {
+        log.info("PublicBundleFacade.getBundle called - slug={}, include={}, size={}", slug, include, size);
+        Set<BundlePart> parts = parseParts(include);
+        int pageSize = Math.min(Math.max(size != null ? size : 10, 1), MAX_PAGE_SIZE);
+
+        // Resolve once on the caller thread so unknown slugs fail fast with 404
+        panchayatSlugResolver.resolve(slug);
+
+        PublicBundleResponseDTO bundle = new PublicBundleResponseDTO();
+        Map<BundlePart, CompletableFuture<?>> futures = new EnumMap<>(BundlePart.class);
+        for (BundlePart part : parts) {
+            switch (part) {
+                case PANCHAYAT -> submit(futures, bundle, part,
+                        () -> panchayatFacade.getBySlug(slug),
+                        PublicBundleResponseDTO::setPanchayat);
+                case WEBSITE -> submit(futures, bundle, part,
+                        () -> panchayatWebsiteFacade.getVisibleSections(slug),
+                        PublicBundleResponseDTO::setWebsite);
+                case POSTS -> submit(futures, bundle, part,
+                        () -> PagedResponse.of(postFacade.getPublishedBySlug(slug, PageRequest.of(0, pageSize))),
+                        PublicBundleResponseDTO::setPosts);
+                case ANNOUNCEMENTS -> submit(futures, bundle, part,
+                        () -> PagedResponse.of(announcementFacade.getActiveBySlug(slug, 0, pageSize)),
+                        PublicBundleResponseDTO::setAnnouncements);
+                case SCHEMES -> submit(futures, bundle, part,
+                        () -> PagedResponse.of(schemeFacade.getActiveBySlug(slug, 0, pageSize)),
+                        PublicBundleResponseDTO::setSchemes);
+                case GALLERY -> submit(futures, bundle, part,
+                        () -> PagedResponse.of(galleryImageFacade.getBySlug(slug, 0, pageSize, null)),
+                        PublicBundleResponseDTO::setGallery);
+                case MEMBERS -> submit(futures, bundle, part,
+                        () -> PagedResponse.of(userFacade.getTeamMembersBySlug(slug, PageRequest.of(0, pageSize))),
+                        PublicBundleResponseDTO::setMembers);
+            }
+        }
+
+        CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).join();
+        if (bundle.getErrors().isEmpty()) {
+            bundle.setErrors(null);
+        }
+        return bundle;
+    }
+
+    private <T> void submit(Map<BundlePart, CompletableFuture<?>> futures,
+                            PublicBundleResponseDTO bundle,
+                            BundlePart part,
+                            Supplier<T> loader,
+                            BiConsumer<PublicBundleResponseDTO, T> setter) {
+        CompletableFuture<T> future;
+        try {
+            future = CompletableFuture.supplyAsync(() -> readOnlyTransaction.execute(status -> loader.get()), executor);
+        } catch (RejectedExecutionException e) {
+            log.warn("PublicBundleFacade - executor saturated, skipping part={}", part);
+            recordError(bundle, part, "unavailable");
+            return;
+        }
+
+        CompletableFuture<Void> handled = future
+                .orTimeout(timeoutFor(part), TimeUnit.MILLISECONDS)
+                .handle((value, error) -> {
+                    if (error == null) {
+                        synchronized (bundle) {
+                            setter.accept(bundle, value);
+                        }
+                        return null;
+                    }
+                    Throwable cause = error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error;
+                    if (cause instanceof TimeoutException) {
+                        // The worker keeps running to completion; its result is simply discarded
+                        log.warn("PublicBundleFacade - part={} timed out", part);
+                        recordError(bundle, part, "timeout");
+                    } else {
+                        log.error("PublicBundleFacade - part={} failed", part, cause);
+                        recordError(bundle, part, "failed");
+                    }
+                    return null;
+                });
+        futures.put(part, handled);
+    }
+
+    private void recordError(PublicBundleResponseDTO bundle, BundlePart part, String reason) {
+        synchronized (bundle) {
+            bundle.getErrors().put(part.name().toLowerCase(Locale.ROOT), reason);
+        }
+    }
+
+    private long timeoutFor(BundlePart part) {
+        String key = "public.bundle.timeout-ms." + part.name().toLowerCase(Locale.ROOT);
+        return environment.getProperty(key, Long.class, part.getDefaultTimeoutMs());
+    }
+
+    private Set<BundlePart> parseParts(List<String> include) {
+        if (include == null || include.isEmpty()) {
+            return EnumSet.allOf(BundlePart.class);
+        }
+        Set<BundlePart> parts = EnumSet.noneOf(BundlePart.class);
+        List<String> unknown = new ArrayList<>();
+        for (String name : include) {
+            if (name == null || name.isBlank()) {
+                continue;
+            }
+            try {
+                parts.add(BundlePart.valueOf(name.trim().toUpperCase(Locale.ROOT)));
+            } catch (IllegalArgumentException e) {
+                unknown.add(name);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new BadRequestException("Unknown bundle parts: " + String.join(", ", unknown));
+        }
+        return parts.isEmpty() ? EnumSet.allOf(BundlePart.class) : parts;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,99 @@
+package in.gram.gov.app.egram_service.facade;
+
+import in.gram.gov.app.egram_service.constants.enums.PublicResourceType;
+import in.gram.gov.app.egram_service.constants.enums.ReactionType;
+import in.gram.gov.app.egram_service.domain.entity.Post;
+import in.gram.gov.app.egram_service.dto.request.ReactionRequestDTO;
+import in.gram.gov.app.egram_service.dto.response.ReactionResponseDTO;
+import in.gram.gov.app.egram_service.service.ContentVersionService;
+import in.gram.gov.app.egram_service.service.LikeService;
+import in.gram.gov.app.egram_service.service.PanchayatSlugResolver;
+import in.gram.gov.app.egram_service.service.PostService;
+import in.gram.gov.app.egram_service.utility.Digests;
+import in.gram.gov.app.egram_service.utility.RequestUtils;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HexFormat;
+import java.util.Map;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReactionFacade {
+    private static final String VISITOR_HEADER = "X-Visitor-Id";
+    private static final int MAX_VISITOR_ID_LENGTH = 100;
+
+    private final PanchayatSlugResolver panchayatSlugResolver;
+    private final PostService postService;
+    private final LikeService likeService;
+    private final ContentVersionService contentVersionService;
+
+    /**
+     * Toggle the visitor's reaction on a published post of the panchayat
+     * @param slug Panchayat slug
+     * @param postId Post ID
+     * @param request Reaction type and optional visitor id
+     * @param httpRequest Request for the visitor header and fallback identity
+     * @return Visitor's reaction and the post's counters after the toggle
+     */
+    public ReactionResponseDTO toggle(String slug, Long postId, ReactionRequestDTO request, HttpServletRequest httpRequest) {
+        log.info("ReactionFacade.toggle called - slug={}, postId={}, reactionType={}", slug, postId, request.getReactionType());
+        Long panchayatId = requirePublishedPost(slug, postId);
+        String visitor = visitorIdentifier(request.getVisitorId(), httpRequest);
+        ReactionType reaction = likeService.toggleVisitorReaction(postId, visitor, request.getReactionType());
+        // Post listings carry the reaction counts
+        contentVersionService.bump(panchayatId, PublicResourceType.POSTS);
+        return toResponse(postId, reaction);
+    }
+
+    public ReactionResponseDTO remove(String slug, Long postId, String visitorId, HttpServletRequest httpRequest) {
+        log.info("ReactionFacade.remove called - slug={}, postId={}", slug, postId);
+        Long panchayatId = requirePublishedPost(slug, postId);
+        likeService.removeVisitorReaction(postId, visitorIdentifier(visitorId, httpRequest));
+        contentVersionService.bump(panchayatId, PublicResourceType.POSTS);
+        return toResponse(postId, null);
+    }
+
+    public ReactionResponseDTO get(String slug, Long postId, String visitorId, HttpServletRequest httpRequest) {
+        log.info("ReactionFacade.get called - slug={}, postId={}", slug, postId);
+        requirePublishedPost(slug, postId);
+        ReactionType reaction = likeService.findVisitorReaction(postId, visitorIdentifier(visitorId, httpRequest));
+        return toResponse(postId, reaction);
+    }
+
+    private Long requirePublishedPost(String slug, Long postId) {
+        Long panchayatId = panchayatSlugResolver.resolveId(slug);
+        postService.findPublishedByIdAndPanchayatId(postId, panchayatId);
+        return panchayatId;
+    }
+
+    private ReactionResponseDTO toResponse(Long postId, ReactionType reaction) {
+        // Counter updates clear the persistence context, so this reads the committed counts
+        Post post = postService.findById(postId);
+        ReactionResponseDTO response = new ReactionResponseDTO();
+        response.setPostId(postId);
+        response.setReaction(reaction);
+        response.setTotalReactions(post.getLikeCount());
+        response.setReactionCounts(post.getReactionCounts() != null ? post.getReactionCounts() : Map.of());
+        return response;
+    }
+
+    /**
+     * Client-supplied visitor id (body, then header). Without one, a hash of IP and user
+     * agent is used so anonymous clients still get one reaction per post.
+     */
+    private String visitorIdentifier(String visitorId, HttpServletRequest request) {
+        String id = visitorId != null && !visitorId.isBlank() ? visitorId : request.getHeader(VISITOR_HEADER);
+        if (id != null && !id.isBlank()) {
+            String trimmed = id.trim();
+            return trimmed.length() <= MAX_VISITOR_ID_LENGTH ? trimmed : trimmed.substring(0, MAX_VISITOR_ID_LENGTH);
+        }
+        String fingerprint = RequestUtils.getClientIpAddress(request) + "|" + request.getHeader("User-Agent");
+        byte[] digest = Digests.sha256(fingerprint.getBytes(StandardCharsets.UTF_8));
+        return "anon:" + HexFormat.of().formatHex(digest, 0, 16);
+    }
+}
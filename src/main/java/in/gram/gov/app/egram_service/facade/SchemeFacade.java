@@ -1,5 +1,7 @@
 package in.gram.gov.app.egram_service.facade;
 
+import in.gram.gov.app.egram_service.constants.aspect.PublicContentChange;
+import in.gram.gov.app.egram_service.constants.enums.PublicResourceType;
 import in.gram.gov.app.egram_service.constants.enums.SchemeStatus;
 import in.gram.gov.app.egram_service.constants.security.TenantContext;
 import in.gram.gov.app.egram_service.domain.entity.Panchayat;
@@ -8,6 +10,7 @@ import in.gram.gov.app.egram_service.domain.entity.User;
 import in.gram.gov.app.egram_service.dto.request.SchemeRequestDTO;
 import in.gram.gov.app.egram_service.dto.response.SchemeResponseDTO;
 import in.gram.gov.app.egram_service.service.PanchayatService;
+import in.gram.gov.app.egram_service.service.PanchayatSlugResolver;
 import in.gram.gov.app.egram_service.service.SchemeService;
 import in.gram.gov.app.egram_service.service.UserService;
 import in.gram.gov.app.egram_service.transformer.SchemeTransformer;
@@ -24,9 +27,11 @@ import org.springframework.transaction.annotation.Transactional;
 public class SchemeFacade {
     private final SchemeService schemeService;
     private final PanchayatService panchayatService;
+    private final PanchayatSlugResolver panchayatSlugResolver;
     private final UserService userService;
 
     @Transactional
+    @PublicContentChange(PublicResourceType.SCHEMES)
     public SchemeResponseDTO create(SchemeRequestDTO request, String email) {
         Long tenantId = TenantContext.getTenantId();
         Panchayat panchayat = panchayatService.findById(tenantId);
@@ -60,6 +65,7 @@ public class SchemeFacade {
     }
 
     @Transactional
+    @PublicContentChange(PublicResourceType.SCHEMES)
     public SchemeResponseDTO update(Long id, SchemeRequestDTO request) {
         Scheme scheme = schemeService.findById(id);
         
@@ -96,11 +102,13 @@ public class SchemeFacade {
     }
 
     @Transactional
+    @PublicContentChange(PublicResourceType.SCHEMES)
     public void updateStatus(Long id, SchemeStatus status) {
         schemeService.updateStatus(id, status);
     }
 
     @Transactional
+    @PublicContentChange(PublicResourceType.SCHEMES)
     public void delete(Long id) {
         schemeService.delete(id);
     }
@@ -111,7 +119,8 @@ public class SchemeFacade {
                 size != null ? size : 20,
                 Sort.by(Sort.Direction.DESC, "createdAt")
         );
-        Page<Scheme> schemes = schemeService.findActiveBySlug(slug, pageable);
+        Long panchayatId = panchayatSlugResolver.resolveId(slug);
+        Page<Scheme> schemes = schemeService.findActiveByPanchayatId(panchayatId, pageable);
         return schemes.map(SchemeTransformer::toDTO);
     }
 }
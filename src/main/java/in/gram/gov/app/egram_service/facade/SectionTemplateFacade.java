@@ -13,7 +13,9 @@ import in.gram.gov.app.egram_service.dto.response.PanchayatWebsiteSectionRespons
 import in.gram.gov.app.egram_service.dto.response.SectionTemplateResponseDTO;
 import in.gram.gov.app.egram_service.service.PanchayatService;
 import in.gram.gov.app.egram_service.service.PanchayatWebsiteSectionService;
-import in.gram.gov.app.egram_service.service.SectionTemplateService;
+import in.gram.gov.app.egram_service.service.PanchayatWebsiteSnapshotService;
+import in.gram.gov.app.egram_service.service.SectionTemplateCatalogService;
+import in.gram.gov.app.egram_service.service.SectionTemplateCatalogService.CatalogTemplate;
 import in.gram.gov.app.egram_service.transformer.PanchayatWebsiteSectionTransformer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,24 +30,33 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 @Slf4j
 public class SectionTemplateFacade {
-    private final SectionTemplateService templateService;
+    private final SectionTemplateCatalogService templateCatalogService;
     private final PanchayatWebsiteSectionService sectionService;
+    private final PanchayatWebsiteSnapshotService websiteSnapshotService;
     private final PanchayatService panchayatService;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     public List<SectionTemplateResponseDTO> getAllTemplates(String language) {
         log.info("SectionTemplateFacade.getAllTemplates called - language={}", language);
-        List<SectionTemplate> templates = templateService.findAllActive(language);
-        return templates.stream()
-                .map(this::toDTO)
-                .collect(Collectors.toList());
+        return templateCatalogService.getTemplates(language);
+    }
+
+    /**
+     * Template picker payload, pre-serialized per language
+     * @param language Language code; all languages when null or empty
+     * @return JSON bytes of the ApiResponse
+     */
+    public byte[] getAllTemplatesSerialized(String language) {
+        log.info("SectionTemplateFacade.getAllTemplatesSerialized called - language={}", language);
+        return templateCatalogService.getSerializedTemplates(language);
     }
 
     @Transactional
     public List<PanchayatWebsiteSectionResponseDTO> createPageFromTemplate(Long templateId) {
         log.info("SectionTemplateFacade.createPageFromTemplate called - templateId={}", templateId);
         
-        SectionTemplate template = templateService.findById(templateId);
+        CatalogTemplate catalogTemplate = templateCatalogService.getById(templateId);
+        SectionTemplate template = catalogTemplate.template();
         if (!template.getIsPageTemplate()) {
             throw new IllegalArgumentException("Template is not a page template");
         }
@@ -53,13 +64,10 @@ public class SectionTemplateFacade {
         Long panchayatId = TenantContext.getTenantId();
         Panchayat panchayat = panchayatService.findById(panchayatId);
 
-        // Parse template data
-        JsonNode templateData;
-        try {
-            templateData = objectMapper.readTree(template.getTemplateData());
-        } catch (Exception e) {
-            log.error("Failed to parse template data", e);
-            throw new RuntimeException("Invalid template data format", e);
+        // Template data is parsed once by the catalog
+        JsonNode templateData = catalogTemplate.templateData();
+        if (templateData == null) {
+            throw new RuntimeException("Invalid template data format");
         }
 
         // Get sections array from template
@@ -92,6 +100,7 @@ public class SectionTemplateFacade {
             }
         }
 
+        websiteSnapshotService.refreshAfterCommit(panchayatId);
         log.info("Created {} sections from template", createdSections.size());
         return createdSections.stream()
                 .map(PanchayatWebsiteSectionTransformer::toDTO)
@@ -102,7 +111,8 @@ public class SectionTemplateFacade {
     public PanchayatWebsiteSectionResponseDTO createSectionFromTemplate(Long templateId, Integer displayOrder, Boolean isVisible) {
         log.info("SectionTemplateFacade.createSectionFromTemplate called - templateId={}, displayOrder={}", templateId, displayOrder);
         
-        SectionTemplate template = templateService.findById(templateId);
+        CatalogTemplate catalogTemplate = templateCatalogService.getById(templateId);
+        SectionTemplate template = catalogTemplate.template();
         if (template.getIsPageTemplate()) {
             throw new IllegalArgumentException("Template is a page template. Use createPageFromTemplate instead.");
         }
@@ -110,13 +120,10 @@ public class SectionTemplateFacade {
         Long panchayatId = TenantContext.getTenantId();
         Panchayat panchayat = panchayatService.findById(panchayatId);
 
-        // Parse template data - for single section templates, the templateData is the section itself
-        JsonNode sectionNode;
-        try {
-            sectionNode = objectMapper.readTree(template.getTemplateData());
-        } catch (Exception e) {
-            log.error("Failed to parse template data", e);
-            throw new RuntimeException("Invalid template data format", e);
+        // For single section templates, the templateData is the section itself
+        JsonNode sectionNode = catalogTemplate.templateData();
+        if (sectionNode == null) {
+            throw new RuntimeException("Invalid template data format");
         }
 
         // If displayOrder not provided, set to max + 1
@@ -135,6 +142,7 @@ public class SectionTemplateFacade {
         }
         
         section = sectionService.create(section);
+        websiteSnapshotService.refreshAfterCommit(panchayatId);
         log.info("Created section from template with ID: {}", section.getId());
         return PanchayatWebsiteSectionTransformer.toDTO(section);
     }
@@ -233,32 +241,5 @@ public class SectionTemplateFacade {
         
         return result;
     }
-
-    private SectionTemplateResponseDTO toDTO(SectionTemplate template) {
-        SectionTemplateResponseDTO dto = new SectionTemplateResponseDTO();
-        dto.setId(template.getId());
-        dto.setName(template.getName());
-        dto.setDescription(template.getDescription());
-        dto.setCategory(template.getCategory());
-        dto.setLanguage(template.getLanguage());
-        dto.setColorTheme(template.getColorTheme());
-        dto.setPreviewImageUrl(template.getPreviewImageUrl());
-        dto.setIsActive(template.getIsActive());
-        dto.setIsSystem(template.getIsSystem());
-        dto.setIsPageTemplate(template.getIsPageTemplate());
-        dto.setDisplayOrder(template.getDisplayOrder());
-        dto.setCreatedAt(template.getCreatedAt());
-        dto.setUpdatedAt(template.getUpdatedAt());
-        
-        // Parse templateData JSON
-        try {
-            dto.setTemplateData(objectMapper.readTree(template.getTemplateData()));
-        } catch (Exception e) {
-            log.warn("Failed to parse template data as JSON", e);
-            dto.setTemplateData(template.getTemplateData());
-        }
-        
-        return dto;
-    }
 }
 
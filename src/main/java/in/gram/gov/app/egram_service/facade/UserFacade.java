@@ -1,10 +1,13 @@
 package in.gram.gov.app.egram_service.facade;
 
+import in.gram.gov.app.egram_service.constants.aspect.PublicContentChange;
+import in.gram.gov.app.egram_service.constants.enums.PublicResourceType;
 import in.gram.gov.app.egram_service.constants.enums.CompressionQuality;
 import in.gram.gov.app.egram_service.constants.enums.UserRole;
 import in.gram.gov.app.egram_service.constants.enums.UserStatus;
 import in.gram.gov.app.egram_service.constants.exception.MaxAdminsExceededException;
 import in.gram.gov.app.egram_service.constants.exception.ResourceNotFoundException;
+import in.gram.gov.app.egram_service.constants.exception.ServiceUnavailableException;
 import in.gram.gov.app.egram_service.constants.security.TenantContext;
 import in.gram.gov.app.egram_service.domain.entity.Panchayat;
 import in.gram.gov.app.egram_service.domain.entity.User;
@@ -22,7 +25,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.InputStream;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -30,12 +33,14 @@ import java.io.InputStream;
 public class UserFacade {
     private final UserService userService;
     private final PanchayatService panchayatService;
+    private final PanchayatSlugResolver panchayatSlugResolver;
     private final PasswordEncoder passwordEncoder;
     private final ImageCompressionService imageCompressionService;
     private final CloudStorageService cloudStorageService;
     private static final int MAX_ADMINS = 4;
 
     @Transactional
+    @PublicContentChange(PublicResourceType.MEMBERS)
     public UserResponseDTO addTeamMember(UserRequestDTO request) {
         Long tenantId = TenantContext.getTenantId();
         Panchayat panchayat = panchayatService.findById(tenantId);
@@ -50,14 +55,16 @@ public class UserFacade {
         // Handle image upload if provided
         String imageUrl = request.getImageUrl();
         String imageKey = null;
+        Map<String, String> imageVariants = null;
         Boolean hasImage = false;
         
         if (request.getImageFile() != null && !request.getImageFile().isEmpty()) {
             CompressionQuality compressionQuality = parseCompressionQuality(request.getCompressionQuality());
-            String uploadedUrl = processAndUploadImage(request.getImageFile(), compressionQuality);
-            if (uploadedUrl != null) {
-                imageUrl = uploadedUrl;
-                imageKey = extractFileKeyFromUrl(uploadedUrl);
+            ImageCompressionDTO upload = processAndUploadImage(request.getImageFile(), compressionQuality);
+            if (upload != null) {
+                imageUrl = upload.getBackblazeFileUrl();
+                imageKey = upload.getBackblazeFileId();
+                imageVariants = upload.getVariantUrls();
                 hasImage = true;
             }
         } else if (request.getImageUrl() != null && !request.getImageUrl().isEmpty()) {
@@ -72,6 +79,7 @@ public class UserFacade {
                 .designation(request.getDesignation())
                 .imageUrl(imageUrl)
                 .imageKey(imageKey)
+                .imageVariants(imageVariants)
                 .hasImage(hasImage)
                 .passwordHash(passwordEncoder.encode(request.getPassword()))
                 .role(UserRole.PANCHAYAT_ADMIN)
@@ -85,6 +93,7 @@ public class UserFacade {
     }
 
     @Transactional
+    @PublicContentChange(PublicResourceType.MEMBERS)
     public UserResponseDTO updateTeamMember(Long userId, UserRequestDTO request) {
         Long tenantId = TenantContext.getTenantId();
         User user = userService.findById(userId);
@@ -120,13 +129,15 @@ public class UserFacade {
                 } catch (Exception e) {
                     log.warn("Failed to delete old image: {}", e.getMessage());
                 }
+                cloudStorageService.deleteVariants(user.getImageVariants());
             }
             
             CompressionQuality compressionQuality = parseCompressionQuality(request.getCompressionQuality());
-            String uploadedUrl = processAndUploadImage(request.getImageFile(), compressionQuality);
-            if (uploadedUrl != null) {
-                user.setImageUrl(uploadedUrl);
-                user.setImageKey(extractFileKeyFromUrl(uploadedUrl));
+            ImageCompressionDTO upload = processAndUploadImage(request.getImageFile(), compressionQuality);
+            if (upload != null) {
+                user.setImageUrl(upload.getBackblazeFileUrl());
+                user.setImageKey(upload.getBackblazeFileId());
+                user.setImageVariants(upload.getVariantUrls());
                 user.setHasImage(true);
             }
         } else if (request.getImageUrl() != null) {
@@ -139,11 +150,17 @@ public class UserFacade {
                     } catch (Exception e) {
                         log.warn("Failed to delete old image: {}", e.getMessage());
                     }
+                    cloudStorageService.deleteVariants(user.getImageVariants());
                 }
                 user.setImageUrl(null);
                 user.setImageKey(null);
+                user.setImageVariants(null);
                 user.setHasImage(false);
             } else {
+                // Variants belong to the previous upload
+                if (!request.getImageUrl().equals(user.getImageUrl())) {
+                    user.setImageVariants(null);
+                }
                 user.setImageUrl(request.getImageUrl());
                 user.setImageKey(extractFileKeyFromUrl(request.getImageUrl()));
                 user.setHasImage(true);
@@ -162,11 +179,13 @@ public class UserFacade {
     }
 
     @Transactional
+    @PublicContentChange(PublicResourceType.MEMBERS)
     public void removeTeamMember(Long userId) {
         userService.updateStatus(userId, UserStatus.INACTIVE);
     }
 
     @Transactional
+    @PublicContentChange(PublicResourceType.MEMBERS)
     public void updateTeamMemberStatus(Long userId, UserStatus status) {
         userService.updateStatus(userId, status);
     }
@@ -177,15 +196,15 @@ public class UserFacade {
     }
 
     public Page<UserResponseDTO> getTeamMembersBySlug(String slug, Pageable pageable) {
-        Panchayat panchayat = panchayatService.findBySlug(slug);
-        Page<User> users = userService.findByPanchayatId(panchayat.getId(), pageable);
+        Long panchayatId = panchayatSlugResolver.resolveId(slug);
+        Page<User> users = userService.findByPanchayatId(panchayatId, pageable);
         return users.map(UserTransformer::toDTO);
     }
 
     /**
      * Process image: compress and upload to Backblaze B2
      */
-    private String processAndUploadImage(MultipartFile imageFile, CompressionQuality compressionQuality) {
+    private ImageCompressionDTO processAndUploadImage(MultipartFile imageFile, CompressionQuality compressionQuality) {
         try {
             if (!cloudStorageService.isEnabled()) {
                 log.warn("Cloud storage is disabled. Image upload skipped");
@@ -201,31 +220,14 @@ public class UserFacade {
             // Step 1: Validate image
             imageCompressionService.validateImageFile(imageFile);
 
-            // Step 2: Compress image
-            ImageCompressionDTO compressionMetadata = imageCompressionService.compressImage(
-                    imageFile,
-                    compressionQuality
-            );
-
-            log.info("Image compressed successfully. Original: {} bytes, Compressed: {} bytes",
-                    compressionMetadata.getOriginalFileSize(),
-                    compressionMetadata.getCompressedFileSize());
-
-            // Step 3: Get compressed image stream
-            InputStream compressedImageStream = imageCompressionService.getCompressedImageInputStream(
-                    imageFile,
-                    compressionQuality
-            );
-
-            // Step 4: Upload to Backblaze B2
-            ImageCompressionDTO uploadResult = cloudStorageService.uploadImage(
-                    compressedImageStream,
-                    compressionMetadata
-            );
+            // Step 2: Compress and upload; a repeated upload reuses the stored copy
+            ImageCompressionDTO uploadResult = cloudStorageService.storeImageWithVariants(imageFile, compressionQuality);
 
             log.info("Image uploaded to cloud storage. URL: {}", uploadResult.getBackblazeFileUrl());
-            return uploadResult.getBackblazeFileUrl();
+            return uploadResult;
 
+        } catch (ServiceUnavailableException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error processing image for upload", e);
             return null;
@@ -0,0 +1,186 @@
+package in.gram.gov.app.egram_service.service;
+
+import in.gram.gov.app.egram_service.utility.HyperLogLog;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incrementally folds raw analytics rows into analytics_daily. Each run only reads rows past
+ * the stored watermark, adds their views, recounts distinct sessions for the
+ * (panchayat, day) pairs those rows touched, and merges their session ids into the
+ * per-day {@link HyperLogLog} sketch kept on the total row.
+ */
+@Service
+@Slf4j
+public class AnalyticsRollupService {
+    private static final String STATE_NAME = "analytics_daily";
+
+    // A raw row whose page and device are both "*" would collide with the per-day total key
+    private static final String IS_TOTAL_KEY = "COALESCE(page_url, '') = '*' AND COALESCE(device_type, '') = '*'";
+
+    private static final String LOCK_STATE_SQL =
+            "SELECT last_id FROM analytics_rollup_state WHERE name = ? FOR UPDATE";
+
+    // Rows younger than the safety lag are left for the next run so that an insert which
+    // commits after a higher id is never skipped by the watermark
+    private static final String UPPER_BOUND_SQL =
+            "SELECT MAX(id) FROM analytics WHERE id > ? AND id <= ? " +
+            "AND created_at < CURRENT_TIMESTAMP - make_interval(secs => ?)";
+
+    // First settled id past the watermark, for when the window above lands entirely in an id gap
+    private static final String NEXT_ID_SQL =
+            "SELECT MIN(id) FROM analytics WHERE id > ? " +
+            "AND created_at < CURRENT_TIMESTAMP - make_interval(secs => ?)";
+
+    private static final String ADD_VIEWS_SQL =
+            "INSERT INTO analytics_daily (panchayat_id, day, page_url, device_type, views, sessions) " +
+            "SELECT panchayat_id, CAST(created_at AS DATE), COALESCE(page_url, ''), COALESCE(device_type, ''), COUNT(*), 0 " +
+            "FROM analytics WHERE id > ? AND id <= ? AND NOT (" + IS_TOTAL_KEY + ") GROUP BY 1, 2, 3, 4 " +
+            "UNION ALL " +
+            "SELECT panchayat_id, CAST(created_at AS DATE), '*', '*', COUNT(*), 0 " +
+            "FROM analytics WHERE id > ? AND id <= ? GROUP BY 1, 2 " +
+            "ON CONFLICT (panchayat_id, day, page_url, device_type) " +
+            "DO UPDATE SET views = analytics_daily.views + EXCLUDED.views";
+
+    private static final String RECOUNT_SESSIONS_SQL =
+            "WITH touched AS (" +
+            "    SELECT DISTINCT panchayat_id, CAST(created_at AS DATE) AS day FROM analytics WHERE id > ? AND id <= ?" +
+            "), day_rows AS (" +
+            "    SELECT a.panchayat_id, t.day, COALESCE(a.page_url, '') AS page_url, " +
+            "           COALESCE(a.device_type, '') AS device_type, a.session_id " +
+            "    FROM analytics a JOIN touched t ON a.panchayat_id = t.panchayat_id " +
+            "     AND a.created_at >= t.day AND a.created_at < t.day + 1 " +
+            "    WHERE a.id <= ?" +
+            "), counted AS (" +
+            "    SELECT panchayat_id, day, page_url, device_type, COUNT(DISTINCT session_id) AS sessions " +
+            "    FROM day_rows WHERE NOT (page_url = '*' AND device_type = '*') GROUP BY 1, 2, 3, 4 " +
+            "    UNION ALL " +
+            "    SELECT panchayat_id, day, '*', '*', COUNT(DISTINCT session_id) FROM day_rows GROUP BY 1, 2" +
+            ") " +
+            "UPDATE analytics_daily d SET sessions = c.sessions FROM counted c " +
+            "WHERE d.panchayat_id = c.panchayat_id AND d.day = c.day " +
+            "AND d.page_url = c.page_url AND d.device_type = c.device_type";
+
+    private static final String SAVE_STATE_SQL =
+            "UPDATE analytics_rollup_state SET last_id = ?, updated_at = CURRENT_TIMESTAMP, " +
+            "complete_before = COALESCE((SELECT CAST(MIN(created_at) AS DATE) FROM analytics WHERE id > ?), CURRENT_DATE) " +
+            "WHERE name = ?";
+
+    private static final String NEW_SESSIONS_SQL =
+            "SELECT DISTINCT panchayat_id, CAST(created_at AS DATE), session_id FROM analytics " +
+            "WHERE id > ? AND id <= ? AND session_id IS NOT NULL";
+
+    private static final String LOAD_SKETCH_SQL =
+            "SELECT session_sketch FROM analytics_daily WHERE panchayat_id = ? AND day = ? " +
+            "AND page_url = '*' AND device_type = '*' AND session_sketch IS NOT NULL";
+
+    private static final String SAVE_SKETCH_SQL =
+            "UPDATE analytics_daily SET session_sketch = ? WHERE panchayat_id = ? AND day = ? " +
+            "AND page_url = '*' AND device_type = '*'";
+
+    private static final String COMPLETE_BEFORE_SQL =
+            "SELECT complete_before FROM analytics_rollup_state WHERE name = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxRowsPerRun;
+    private final int safetyLagSeconds;
+
+    public AnalyticsRollupService(JdbcTemplate jdbcTemplate,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${analytics.rollup.max-rows-per-run:200000}") int maxRowsPerRun,
+                                  @Value("${analytics.rollup.safety-lag-seconds:120}") int safetyLagSeconds) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxRowsPerRun = maxRowsPerRun;
+        this.safetyLagSeconds = safetyLagSeconds;
+    }
+
+    /**
+     * First day that may still have raw rows missing from the rollup; every earlier day is complete
+     * @return Day boundary, or null when the state row is missing
+     */
+    public LocalDate getCompleteBefore() {
+        List<LocalDate> days = jdbcTemplate.queryForList(COMPLETE_BEFORE_SQL, LocalDate.class, STATE_NAME);
+        return days.isEmpty() ? null : days.get(0);
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.rollup.interval-ms:300000}", initialDelayString = "${analytics.rollup.initial-delay-ms:60000}")
+    public void rollup() {
+        try {
+            Long processed = transactionTemplate.execute(status -> rollupOnce());
+            if (processed != null && processed > 0) {
+                log.info("AnalyticsRollupService.rollup - advanced watermark by {} ids", processed);
+            }
+        } catch (Exception e) {
+            log.warn("Analytics rollup failed: {}", e.getMessage());
+        }
+    }
+
+    private long rollupOnce() {
+        // Row lock on the state serializes concurrent runs across instances
+        Long watermark = jdbcTemplate.queryForObject(LOCK_STATE_SQL, Long.class, STATE_NAME);
+        if (watermark == null) {
+            return 0;
+        }
+        long start = watermark;
+        Long upperBound = jdbcTemplate.queryForObject(UPPER_BOUND_SQL, Long.class,
+                start, start + maxRowsPerRun, safetyLagSeconds);
+        if (upperBound == null) {
+            // An id gap wider than one window (burned sequence values, or a table whose ids start
+            // above it) would otherwise stall the watermark forever; restart just below the next row
+            Long nextId = jdbcTemplate.queryForObject(NEXT_ID_SQL, Long.class, start, safetyLagSeconds);
+            if (nextId == null) {
+                jdbcTemplate.update(SAVE_STATE_SQL, watermark, watermark, STATE_NAME);
+                return 0;
+            }
+            start = nextId - 1;
+            upperBound = jdbcTemplate.queryForObject(UPPER_BOUND_SQL, Long.class,
+                    start, start + maxRowsPerRun, safetyLagSeconds);
+        }
+
+        jdbcTemplate.update(ADD_VIEWS_SQL, start, upperBound, start, upperBound);
+        jdbcTemplate.update(RECOUNT_SESSIONS_SQL, start, upperBound, upperBound);
+        mergeSessionSketches(start, upperBound);
+        jdbcTemplate.update(SAVE_STATE_SQL, upperBound, upperBound, STATE_NAME);
+        return upperBound - watermark;
+    }
+
+    /**
+     * Add the sessions of the new rows to each touched day's sketch. Adding is idempotent, so
+     * only the new rows are read, never the whole day.
+     */
+    private void mergeSessionSketches(long watermark, long upperBound) {
+        Map<DayKey, HyperLogLog> sketches = new HashMap<>();
+        jdbcTemplate.query(NEW_SESSIONS_SQL, (RowCallbackHandler) rs -> sketches
+                .computeIfAbsent(new DayKey(rs.getLong(1), rs.getObject(2, LocalDate.class)), key -> new HyperLogLog())
+                .add(rs.getString(3)), watermark, upperBound);
+
+        List<Object[]> updates = new ArrayList<>(sketches.size());
+        sketches.forEach((key, sketch) -> {
+            List<byte[]> stored = jdbcTemplate.queryForList(LOAD_SKETCH_SQL, byte[].class, key.panchayatId(), key.day());
+            if (!stored.isEmpty()) {
+                sketch.merge(HyperLogLog.fromBytes(stored.get(0)));
+            }
+            updates.add(new Object[]{sketch.toBytes(), key.panchayatId(), key.day()});
+        });
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(SAVE_SKETCH_SQL, updates);
+        }
+    }
+
+    private record DayKey(long panchayatId, LocalDate day) {
+    }
+}
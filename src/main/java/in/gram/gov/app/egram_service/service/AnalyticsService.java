@@ -2,6 +2,7 @@ package in.gram.gov.app.egram_service.service;
 
 import in.gram.gov.app.egram_service.domain.entity.Analytics;
 import in.gram.gov.app.egram_service.domain.repository.AnalyticsRepository;
+import in.gram.gov.app.egram_service.utility.HyperLogLog;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -9,6 +10,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Service
@@ -16,6 +18,7 @@ import java.time.LocalDateTime;
 @Slf4j
 public class AnalyticsService {
     private final AnalyticsRepository analyticsRepository;
+    private final AnalyticsRollupService analyticsRollupService;
 
     @Transactional
     public Analytics create(Analytics analytics) {
@@ -28,13 +31,70 @@ public class AnalyticsService {
         return analyticsRepository.findByPanchayatId(panchayatId, pageable);
     }
 
+    /**
+     * Page views in [startDate, endDate]. Whole days already folded into analytics_daily are read
+     * from the rollup; only the partial first day and the days after the rollup (normally just
+     * today) scan raw rows.
+     */
     public Long countByPanchayatIdAndDateRange(Long panchayatId, LocalDateTime startDate, LocalDateTime endDate) {
         log.info("AnalyticsService.countByPanchayatIdAndDateRange called - panchayatId={}, startDate={}, endDate={}", panchayatId, startDate, endDate);
-        return analyticsRepository.countByPanchayatIdAndDateRange(panchayatId, startDate, endDate);
+        RollupSplit split = split(startDate, endDate);
+        if (split == null) {
+            return analyticsRepository.countByPanchayatIdAndDateRange(panchayatId, startDate, endDate);
+        }
+        long views = analyticsRepository.sumDailyTotals(panchayatId, split.fromDay(), split.toDay()).getViews();
+        if (startDate.isBefore(split.fromDay().atStartOfDay())) {
+            views += analyticsRepository.countByPanchayatIdBefore(panchayatId, startDate, split.fromDay().atStartOfDay());
+        }
+        views += analyticsRepository.countByPanchayatIdAndDateRange(panchayatId, split.toDay().atStartOfDay(), endDate);
+        return views;
     }
 
+    /**
+     * Unique sessions in [startDate, endDate]. Where the rollup is used, the per-day
+     * {@link HyperLogLog} sketches are merged with the raw session ids of the partial days, so
+     * the result is an estimate within the sketch's error bound (about 1.6% standard error)
+     * and a session spanning several days is counted once.
+     */
     public Long countUniqueSessionsByPanchayatIdAndDateRange(Long panchayatId, LocalDateTime startDate, LocalDateTime endDate) {
         log.info("AnalyticsService.countUniqueSessionsByPanchayatIdAndDateRange called - panchayatId={}, startDate={}, endDate={}", panchayatId, startDate, endDate);
-        return analyticsRepository.countUniqueSessionsByPanchayatIdAndDateRange(panchayatId, startDate, endDate);
+        RollupSplit split = split(startDate, endDate);
+        if (split == null) {
+            return analyticsRepository.countUniqueSessionsByPanchayatIdAndDateRange(panchayatId, startDate, endDate);
+        }
+        HyperLogLog sessions = new HyperLogLog();
+        for (byte[] sketch : analyticsRepository.findSessionSketches(panchayatId, split.fromDay(), split.toDay())) {
+            sessions.merge(HyperLogLog.fromBytes(sketch));
+        }
+        if (startDate.isBefore(split.fromDay().atStartOfDay())) {
+            analyticsRepository.findSessionIdsBefore(panchayatId, startDate, split.fromDay().atStartOfDay())
+                    .forEach(sessions::add);
+        }
+        analyticsRepository.findSessionIdsByDateRange(panchayatId, split.toDay().atStartOfDay(), endDate)
+                .forEach(sessions::add);
+        return sessions.estimate();
+    }
+
+    /**
+     * Whole days of the range that the rollup fully covers, or null when there are none
+     */
+    private RollupSplit split(LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDate fromDay = startDate.toLocalDate();
+        if (!startDate.equals(fromDay.atStartOfDay())) {
+            fromDay = fromDay.plusDays(1);
+        }
+        // The day containing endDate is only partly inside the range
+        LocalDate toDay = endDate.toLocalDate();
+        LocalDate completeBefore = analyticsRollupService.getCompleteBefore();
+        if (completeBefore == null) {
+            return null;
+        }
+        if (completeBefore.isBefore(toDay)) {
+            toDay = completeBefore;
+        }
+        return fromDay.isBefore(toDay) ? new RollupSplit(fromDay, toDay) : null;
+    }
+
+    private record RollupSplit(LocalDate fromDay, LocalDate toDay) {
     }
 }
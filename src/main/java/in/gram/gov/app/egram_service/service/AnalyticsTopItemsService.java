@@ -0,0 +1,232 @@
+package in.gram.gov.app.egram_service.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.gram.gov.app.egram_service.service.PageViewIngestionService.PageViewEvent;
+import in.gram.gov.app.egram_service.utility.SpaceSavingSketch;
+import in.gram.gov.app.egram_service.utility.SpaceSavingSketch.Entry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Top pages and referrers per panchayat per day, kept as {@link SpaceSavingSketch}es that the
+ * page-view writer updates after each batch. Sketches are snapshotted to analytics_top_items
+ * on a schedule; a range query merges the stored days with today's live sketch, so answering
+ * "most viewed pages this week" reads a few small arrays instead of grouping raw rows.
+ */
+@Service
+@Slf4j
+public class AnalyticsTopItemsService {
+    private static final String LOAD_DAY_SQL =
+            "SELECT CAST(items AS TEXT) FROM analytics_top_items WHERE panchayat_id = ? AND day = ? AND kind = ?";
+    private static final String LOAD_RANGE_SQL =
+            "SELECT day, CAST(items AS TEXT) AS items FROM analytics_top_items " +
+            "WHERE panchayat_id = ? AND kind = ? AND day >= ? AND day <= ?";
+    private static final String SAVE_SQL =
+            "INSERT INTO analytics_top_items (panchayat_id, day, kind, items, updated_at) " +
+            "VALUES (?, ?, ?, CAST(? AS jsonb), CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (panchayat_id, day, kind) DO UPDATE SET items = EXCLUDED.items, updated_at = EXCLUDED.updated_at";
+    private static final TypeReference<List<Entry>> ENTRY_LIST = new TypeReference<>() {
+    };
+
+    public enum Kind {
+        PAGE,
+        REFERRER
+    }
+
+    private record SketchKey(Long panchayatId, LocalDate day, Kind kind) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final int capacity;
+
+    private final Map<SketchKey, SpaceSavingSketch> sketches = new ConcurrentHashMap<>();
+    private final Set<SketchKey> dirty = ConcurrentHashMap.newKeySet();
+
+    public AnalyticsTopItemsService(JdbcTemplate jdbcTemplate,
+                                    ObjectMapper objectMapper,
+                                    @Value("${analytics.top-items.capacity:100}") int capacity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Count a batch of persisted page views. Called from the page-view writer thread.
+     */
+    public void record(List<PageViewEvent> events) {
+        for (PageViewEvent event : events) {
+            LocalDate day = event.createdAt().toLocalDate();
+            String page = normalizePage(event.pageUrl());
+            if (page != null) {
+                offer(new SketchKey(event.panchayatId(), day, Kind.PAGE), page);
+            }
+            String referrer = normalizeReferrer(event.referrerUrl());
+            if (referrer != null) {
+                offer(new SketchKey(event.panchayatId(), day, Kind.REFERRER), referrer);
+            }
+        }
+    }
+
+    private void offer(SketchKey key, String item) {
+        while (true) {
+            SpaceSavingSketch sketch = sketches.get(key);
+            if (sketch == null) {
+                // Continue from the stored snapshot so a restart does not reset the day
+                sketch = sketches.computeIfAbsent(key, this::load);
+            }
+            synchronized (sketch) {
+                // Evicted by snapshot() after it was persisted: start again from the stored copy
+                if (sketches.get(key) != sketch) {
+                    continue;
+                }
+                sketch.offer(item);
+                dirty.add(key);
+                return;
+            }
+        }
+    }
+
+    private SpaceSavingSketch load(SketchKey key) {
+        try {
+            List<String> stored = jdbcTemplate.queryForList(LOAD_DAY_SQL, String.class,
+                    key.panchayatId(), key.day(), key.kind().name());
+            if (!stored.isEmpty()) {
+                return SpaceSavingSketch.of(capacity, objectMapper.readValue(stored.get(0), ENTRY_LIST));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to load top items for {}: {}", key, e.getMessage());
+        }
+        return new SpaceSavingSketch(capacity);
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.top-items.snapshot-interval-ms:60000}")
+    public synchronized void snapshot() {
+        LocalDate today = LocalDate.now();
+        for (SketchKey key : List.copyOf(dirty)) {
+            SpaceSavingSketch sketch = sketches.get(key);
+            if (sketch == null) {
+                dirty.remove(key);
+                continue;
+            }
+            // An offer after this copy marks the key dirty again, so it is not evicted below
+            List<Entry> entries;
+            synchronized (sketch) {
+                dirty.remove(key);
+                entries = sketch.entries();
+            }
+            try {
+                jdbcTemplate.update(SAVE_SQL, key.panchayatId(), key.day(), key.kind().name(),
+                        objectMapper.writeValueAsString(entries));
+            } catch (Exception e) {
+                dirty.add(key);
+                log.warn("Failed to snapshot top items for {}: {}", key, e.getMessage());
+            }
+        }
+        // Past days are complete once persisted; only today's sketches stay in memory. Eviction
+        // holds the sketch's lock, so a late offer either lands before it (and keeps the key dirty)
+        // or sees the sketch gone and reloads the persisted copy.
+        sketches.forEach((key, sketch) -> {
+            if (key.day().isBefore(today)) {
+                synchronized (sketch) {
+                    if (!dirty.contains(key)) {
+                        sketches.remove(key, sketch);
+                    }
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void drain() {
+        log.info("AnalyticsTopItemsService.drain called - dirty={}", dirty.size());
+        snapshot();
+    }
+
+    /**
+     * Top items over the last {@code days} days including today
+     * @param limit Number of items to return, at most the sketch capacity
+     */
+    public List<Entry> getTop(Long panchayatId, Kind kind, int days, int limit) {
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusDays(days - 1L);
+        SpaceSavingSketch merged = new SpaceSavingSketch(capacity);
+
+        jdbcTemplate.query(LOAD_RANGE_SQL, (RowCallbackHandler) rs -> {
+            LocalDate day = rs.getObject("day", LocalDate.class);
+            // Days still held in memory are newer than their snapshot; merge the live sketch instead
+            if (sketches.containsKey(new SketchKey(panchayatId, day, kind))) {
+                return;
+            }
+            try {
+                merged.merge(objectMapper.readValue(rs.getString("items"), ENTRY_LIST));
+            } catch (Exception e) {
+                log.warn("Skipping unreadable top items for panchayatId={}, day={}: {}", panchayatId, day, e.getMessage());
+            }
+        }, panchayatId, kind.name(), from, today);
+
+        sketches.forEach((key, sketch) -> {
+            if (key.panchayatId().equals(panchayatId) && key.kind() == kind
+                    && !key.day().isBefore(from) && !key.day().isAfter(today)) {
+                merged.merge(sketch.entries());
+            }
+        });
+        return merged.top(Math.min(limit, capacity));
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Path without query string or fragment, so tracking parameters do not split a page
+     */
+    private static String normalizePage(String pageUrl) {
+        if (pageUrl == null || pageUrl.isBlank()) {
+            return null;
+        }
+        String page = pageUrl.trim();
+        int cut = indexOfAny(page, '?', '#');
+        return cut >= 0 ? page.substring(0, cut) : page;
+    }
+
+    /**
+     * Referrers are grouped by host
+     */
+    private static String normalizeReferrer(String referrerUrl) {
+        if (referrerUrl == null || referrerUrl.isBlank()) {
+            return null;
+        }
+        try {
+            String host = URI.create(referrerUrl.trim()).getHost();
+            if (host != null) {
+                return host.startsWith("www.") ? host.substring(4) : host;
+            }
+        } catch (IllegalArgumentException e) {
+            // Fall through to the raw value
+        }
+        return normalizePage(referrerUrl);
+    }
+
+    private static int indexOfAny(String value, char first, char second) {
+        int a = value.indexOf(first);
+        int b = value.indexOf(second);
+        if (a < 0) {
+            return b;
+        }
+        return b < 0 ? a : Math.min(a, b);
+    }
+}
@@ -35,9 +35,9 @@ public class AnnouncementService {
         return announcementRepository.findByPanchayatId(panchayatId, pageable);
     }
 
-    public Page<Announcement> findActiveBySlug(String slug, Pageable pageable) {
-        log.info("AnnouncementService.findActiveBySlug called - slug={}, pageable={}", slug, pageable);
-        return announcementRepository.findActiveBySlug(slug, LocalDate.now(), pageable);
+    public Page<Announcement> findActiveByPanchayatId(Long panchayatId, Pageable pageable) {
+        log.info("AnnouncementService.findActiveByPanchayatId called - panchayatId={}, pageable={}", panchayatId, pageable);
+        return announcementRepository.findActiveByPanchayatId(panchayatId, LocalDate.now(), pageable);
     }
 
     @Transactional
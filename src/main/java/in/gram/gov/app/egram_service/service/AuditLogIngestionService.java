@@ -0,0 +1,252 @@
+package in.gram.gov.app.egram_service.service;
+
+import in.gram.gov.app.egram_service.utility.BoundedRingBuffer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Queues audit events captured by the audit aspect and writes them to audit_logs from a
+ * background job in JDBC batches, so an audited request only pays for a non-blocking enqueue.
+ * A batch that fails on a transient database error is held and retried on the following flushes,
+ * before anything else is written, for up to {@code audit.log.max-retries} flushes; a batch
+ * rejected for any other reason is written row by row so one bad event does not lose the rest.
+ * Events that still cannot be written are counted and logged one by one.
+ * The queue is drained on shutdown; events that do not fit are dropped, counted and logged.
+ */
+@Service
+@Slf4j
+public class AuditLogIngestionService {
+    private static final String INSERT_SQL = "INSERT INTO audit_logs (user_id, panchayat_id, action_type, " +
+            "target_entity_type, target_entity_id, changes, ip_address, user_agent, description, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, CAST(? AS jsonb), ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BoundedRingBuffer<AuditEvent> buffer;
+    private final int batchSize;
+    private final int maxRetries;
+
+    // Batch that failed on a transient error, written before anything else; guarded by flush()
+    private final List<AuditEvent> retryBatch = new ArrayList<>();
+    private int retryAttempts;
+    private volatile int heldForRetry;
+    private volatile boolean shuttingDown;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    /**
+     * Immutable audit row; changes is already serialized JSON (or null)
+     */
+    public record AuditEvent(Long userId,
+                             Long panchayatId,
+                             String actionType,
+                             String targetEntityType,
+                             Long targetEntityId,
+                             String changes,
+                             String ipAddress,
+                             String userAgent,
+                             String description,
+                             LocalDateTime createdAt) {
+    }
+
+    public AuditLogIngestionService(JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${audit.log.buffer-capacity:4096}") int bufferCapacity,
+                                    @Value("${audit.log.batch-size:500}") int batchSize,
+                                    @Value("${audit.log.max-retries:30}") int maxRetries) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.buffer = new BoundedRingBuffer<>(bufferCapacity);
+        this.batchSize = batchSize;
+        this.maxRetries = maxRetries;
+    }
+
+    /**
+     * Enqueue an event without blocking
+     * @param event Audit event
+     * @return false when the queue is full and the event was dropped
+     */
+    public boolean enqueue(AuditEvent event) {
+        if (buffer.offer(event)) {
+            accepted.increment();
+            return true;
+        }
+        dropped.increment();
+        log.warn("Audit queue full, dropped {} on {} {} by userId={}",
+                event.actionType(), event.targetEntityType(), event.targetEntityId(), event.userId());
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${audit.log.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        if (!retryBatch.isEmpty() && !retryHeldBatch()) {
+            // Database still unavailable; keep the rest queued
+            return;
+        }
+        List<AuditEvent> batch = new ArrayList<>(Math.min(batchSize, buffer.capacity()));
+        int remaining = buffer.capacity();
+        int drained;
+        while (remaining > 0 && (drained = buffer.drainTo(batch, Math.min(batchSize, remaining))) > 0) {
+            boolean writtenOrHandled = write(batch);
+            batch.clear();
+            if (!writtenOrHandled) {
+                return;
+            }
+            remaining -= drained;
+        }
+    }
+
+    /**
+     * Write a fresh batch
+     * @return false if it failed transiently and is now held for retry
+     */
+    private boolean write(List<AuditEvent> batch) {
+        try {
+            insertBatch(batch);
+            return true;
+        } catch (Exception e) {
+            if (isTransient(e)) {
+                if (shuttingDown) {
+                    logDropped(batch, e);
+                    return true;
+                }
+                log.warn("Failed to write {} audit events, will retry: {}", batch.size(), e.getMessage());
+                retryBatch.addAll(batch);
+                retryAttempts = 1;
+                heldForRetry = retryBatch.size();
+                return false;
+            }
+            log.warn("Audit batch of {} rejected, writing row by row: {}", batch.size(), e.getMessage());
+            insertEach(batch);
+            return true;
+        }
+    }
+
+    /**
+     * @return true once the held batch is written or given up on
+     */
+    private boolean retryHeldBatch() {
+        try {
+            insertBatch(retryBatch);
+            log.info("Wrote {} audit events after {} retries", retryBatch.size(), retryAttempts);
+        } catch (Exception e) {
+            if (!isTransient(e)) {
+                log.warn("Audit batch of {} rejected, writing row by row: {}", retryBatch.size(), e.getMessage());
+                insertEach(retryBatch);
+            } else if (!shuttingDown && retryAttempts < maxRetries) {
+                retryAttempts++;
+                log.warn("Retry {} of {} audit events failed: {}", retryAttempts, retryBatch.size(), e.getMessage());
+                return false;
+            } else {
+                logDropped(retryBatch, e);
+            }
+        }
+        retryBatch.clear();
+        retryAttempts = 0;
+        heldForRetry = 0;
+        return true;
+    }
+
+    private void insertBatch(List<AuditEvent> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (AuditEvent event : batch) {
+            rows.add(toRow(event));
+        }
+        // All or nothing, so a retried or row-by-row batch is never written twice
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+        written.addAndGet(rows.size());
+    }
+
+    private void insertEach(List<AuditEvent> batch) {
+        for (AuditEvent event : batch) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, toRow(event));
+                written.incrementAndGet();
+            } catch (Exception e) {
+                logDropped(List.of(event), e);
+            }
+        }
+    }
+
+    private void logDropped(List<AuditEvent> events, Exception cause) {
+        failed.addAndGet(events.size());
+        for (AuditEvent event : events) {
+            log.error("Dropped audit event {} on {} {} by userId={}, panchayatId={} at {}: {}",
+                    event.actionType(), event.targetEntityType(), event.targetEntityId(), event.userId(),
+                    event.panchayatId(), event.createdAt(), cause.getMessage());
+        }
+    }
+
+    private static Object[] toRow(AuditEvent event) {
+        Timestamp createdAt = Timestamp.valueOf(event.createdAt());
+        return new Object[]{
+                event.userId(),
+                event.panchayatId(),
+                event.actionType(),
+                event.targetEntityType(),
+                event.targetEntityId(),
+                event.changes(),
+                event.ipAddress(),
+                event.userAgent(),
+                event.description(),
+                createdAt,
+                createdAt};
+    }
+
+    private static boolean isTransient(Exception e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException;
+    }
+
+    @PreDestroy
+    public void drain() {
+        log.info("AuditLogIngestionService.drain called - buffered={}, held={}", buffer.size(), retryBatch.size());
+        // No later flush to retry in: whatever cannot be written now is logged
+        shuttingDown = true;
+        flush();
+    }
+
+    public int getBuffered() {
+        return buffer.size();
+    }
+
+    public int getHeldForRetry() {
+        return heldForRetry;
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+}
@@ -1,13 +1,25 @@
 package in.gram.gov.app.egram_service.service;
 
+import in.gram.gov.app.egram_service.constants.enums.CompressionQuality;
 import in.gram.gov.app.egram_service.constants.exception.CloudStorageException;
+import in.gram.gov.app.egram_service.constants.exception.ImageUploadException;
+import in.gram.gov.app.egram_service.domain.entity.MediaObject;
 import in.gram.gov.app.egram_service.dto.response.ImageCompressionDTO;
+import in.gram.gov.app.egram_service.service.ImageCompressionService.CompressedImage;
+import in.gram.gov.app.egram_service.service.ImageCompressionService.ImageVariant;
+import in.gram.gov.app.egram_service.utility.Digests;
+import in.gram.gov.app.egram_service.utility.TransactionCallbacks;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Main Cloud Storage Service - acts as a facade to delegate to S3CloudStorageService
@@ -19,7 +31,11 @@ import java.io.InputStream;
 @Slf4j
 public class CloudStorageService {
 
+    private static final int MAX_CLAIM_ATTEMPTS = 3;
+
     private final S3CloudStorageService s3CloudStorageService;
+    private final ImageCompressionService imageCompressionService;
+    private final MediaObjectService mediaObjectService;
 
     @Value("${cloudflare.r2.enabled:false}")
     private boolean r2Enabled;
@@ -58,7 +74,217 @@ public class CloudStorageService {
     }
 
     /**
-     * Delete image from cloud storage
+     * Compress and upload an image under a key derived from its content ({@code media/<sha256>.<ext>}).
+     * A file uploaded before at the same quality takes a reference on the stored object without
+     * being decoded; one that compresses to bytes already stored is not uploaded again.
+     * The reference is dropped again if the caller's transaction rolls back. Release it with
+     * {@link #deleteImage(String)}.
+     * @param file Original image file, already validated
+     * @param quality Compression quality level
+     * @return Upload result with file key and public URL
+     * @throws CloudStorageException if the upload fails
+     */
+    public ImageCompressionDTO storeImage(MultipartFile file, CompressionQuality quality) {
+        return store(file, quality, false);
+    }
+
+    /**
+     * Same as {@link #storeImage}, also storing the thumb and medium variants next to the image
+     * ({@code media/<sha256>.jpg -> media/<sha256>-thumb.jpg}). A variant that fails to upload is left out.
+     * @return Upload result whose variantUrls maps variant name to public URL, including "full"
+     */
+    public ImageCompressionDTO storeImageWithVariants(MultipartFile file, CompressionQuality quality) {
+        return store(file, quality, true);
+    }
+
+    private ImageCompressionDTO store(MultipartFile file, CompressionQuality quality, boolean withVariants) {
+        if (!r2Enabled) {
+            log.warn("Cloud storage is not enabled. Image will not be persisted to Cloudflare R2");
+            return compress(file, quality, withVariants).metadata();
+        }
+
+        byte[] originalBytes;
+        try {
+            originalBytes = file.getBytes();
+        } catch (IOException e) {
+            throw new ImageUploadException("Failed to read file bytes: " + e.getMessage(), e);
+        }
+        String originalHash = Digests.sha256Hex(originalBytes);
+        Optional<MediaObject> previous = mediaObjectService.acquireByOriginal(originalHash, quality, withVariants);
+        if (previous.isPresent()) {
+            MediaObject object = previous.get();
+            log.info("Reusing stored image for repeated upload {} - fileKey={}", file.getOriginalFilename(), object.getFileKey());
+            ImageCompressionDTO metadata = ImageCompressionDTO.builder()
+                    .originalFileName(file.getOriginalFilename())
+                    .originalFileSize(file.getSize())
+                    .compressedFileSize(object.getSizeBytes())
+                    .compressionRatio(((file.getSize() - object.getSizeBytes()) * 100.0f) / file.getSize())
+                    .contentType(object.getContentType())
+                    .width(object.getWidth())
+                    .height(object.getHeight())
+                    .encodeAttempts(0)
+                    .build();
+            return releaseOnRollback(withStorageLocation(metadata, object.getFileKey(), object.getVariantKeys(), withVariants));
+        }
+
+        CompressedImage compressedImage = compress(file, quality, withVariants);
+        ImageCompressionDTO metadata = compressedImage.metadata();
+        log.info("Image compressed successfully. Original: {} bytes, Compressed: {} bytes",
+                metadata.getOriginalFileSize(), metadata.getCompressedFileSize());
+
+        String contentHash = Digests.sha256Hex(compressedImage.bytes());
+        MediaObject candidate = MediaObject.builder()
+                .fileKey(MediaObjectService.fileKey(contentHash, metadata.getContentType()))
+                .contentHash(contentHash)
+                .originalHash(originalHash)
+                .compressionQuality(quality.name())
+                .contentType(metadata.getContentType())
+                .sizeBytes(metadata.getCompressedFileSize())
+                .width(metadata.getWidth())
+                .height(metadata.getHeight())
+                .build();
+
+        // An identical object claimed concurrently is referenced instead once its insert commits
+        for (int attempt = 1; attempt <= MAX_CLAIM_ATTEMPTS; attempt++) {
+            Optional<MediaObject> stored = mediaObjectService.acquireByContent(contentHash);
+            if (stored.isPresent()) {
+                MediaObject object = stored.get();
+                log.info("Compressed image already stored - fileKey={}", object.getFileKey());
+                Map<String, String> variantKeys = object.getVariantKeys();
+                if (withVariants && variantKeys == null) {
+                    variantKeys = uploadVariants(object.getFileKey(), compressedImage);
+                    mediaObjectService.setVariantKeys(object.getFileKey(), variantKeys);
+                }
+                return releaseOnRollback(withStorageLocation(metadata, object.getFileKey(), variantKeys, withVariants));
+            }
+            if (mediaObjectService.claim(candidate)) {
+                return releaseOnRollback(upload(candidate, compressedImage, withVariants));
+            }
+        }
+        throw new CloudStorageException("Failed to store image " + candidate.getFileKey() + ": concurrent updates");
+    }
+
+    private CompressedImage compress(MultipartFile file, CompressionQuality quality, boolean withVariants) {
+        return withVariants
+                ? imageCompressionService.compressWithVariants(file, quality)
+                : imageCompressionService.compress(file, quality);
+    }
+
+    private ImageCompressionDTO upload(MediaObject object, CompressedImage compressedImage, boolean withVariants) {
+        String fileKey = object.getFileKey();
+        try {
+            s3CloudStorageService.uploadObject(fileKey, compressedImage.bytes(), object.getContentType());
+        } catch (RuntimeException e) {
+            if (mediaObjectService.abandon(fileKey)) {
+                throw new CloudStorageException("Failed to upload image: " + e.getMessage(), e);
+            }
+            // An identical upload referenced the object meanwhile and points at this key; try once more for it
+            log.warn("Upload of shared media object {} failed, retrying: {}", fileKey, e.getMessage());
+            try {
+                s3CloudStorageService.uploadObject(fileKey, compressedImage.bytes(), object.getContentType());
+            } catch (RuntimeException retryFailure) {
+                // Keep the reference: releasing cannot restore the object for the other holders
+                log.error("Shared media object {} could not be uploaded and is referenced without content", fileKey);
+                throw new CloudStorageException("Failed to upload image: " + retryFailure.getMessage(), retryFailure);
+            }
+        }
+        Map<String, String> variantKeys = null;
+        if (withVariants) {
+            variantKeys = uploadVariants(fileKey, compressedImage);
+            mediaObjectService.setVariantKeys(fileKey, variantKeys);
+        }
+        log.info("Image uploaded successfully to Cloudflare R2. File Key: {}", fileKey);
+        return withStorageLocation(compressedImage.metadata(), fileKey, variantKeys, withVariants);
+    }
+
+    /**
+     * Upload each variant next to the image
+     * @return Variant name to file key for the variants that were uploaded
+     */
+    private Map<String, String> uploadVariants(String fileKey, CompressedImage compressedImage) {
+        Map<String, String> variantKeys = new LinkedHashMap<>();
+        for (ImageVariant variant : compressedImage.variants()) {
+            String key = variantKey(fileKey, variant.name());
+            try {
+                s3CloudStorageService.uploadObject(key, variant.bytes(), compressedImage.metadata().getContentType());
+                variantKeys.put(variant.name(), key);
+            } catch (Exception e) {
+                log.warn("Failed to upload {} variant of {}: {}", variant.name(), fileKey, e.getMessage());
+            }
+        }
+        return variantKeys;
+    }
+
+    // Without a transaction the caller owns the reference as soon as this returns
+    private ImageCompressionDTO releaseOnRollback(ImageCompressionDTO stored) {
+        String fileKey = stored.getBackblazeFileId();
+        TransactionCallbacks.afterCompletion(() -> { }, () -> releaseQuietly(fileKey));
+        return stored;
+    }
+
+    private void releaseQuietly(String fileKey) {
+        try {
+            mediaObjectService.release(fileKey);
+        } catch (Exception e) {
+            log.error("Failed to release media object {}: {}", fileKey, e.getMessage());
+        }
+    }
+
+    private ImageCompressionDTO withStorageLocation(ImageCompressionDTO metadata, String fileKey,
+                                                    Map<String, String> variantKeys, boolean withVariants) {
+        metadata.setBackblazeFileId(fileKey);
+        metadata.setBackblazeFileUrl(s3CloudStorageService.getFileUrl(fileKey));
+        if (withVariants) {
+            Map<String, String> variantUrls = new LinkedHashMap<>();
+            if (variantKeys != null) {
+                variantKeys.forEach((name, key) -> variantUrls.put(name, s3CloudStorageService.getFileUrl(key)));
+            }
+            variantUrls.put(ImageCompressionService.VARIANT_FULL, metadata.getBackblazeFileUrl());
+            metadata.setVariantUrls(variantUrls);
+        }
+        return metadata;
+    }
+
+    /**
+     * Delete the resized variants of an image; the "full" entry is the original and is left to the caller.
+     * Variants of content-addressed images are owned by their media object and go with its last reference.
+     * @param variantUrls Variant name to public URL, may be null
+     */
+    public void deleteVariants(Map<String, String> variantUrls) {
+        if (variantUrls == null || !r2Enabled) {
+            return;
+        }
+        variantUrls.forEach((name, url) -> {
+            if (ImageCompressionService.VARIANT_FULL.equals(name)) {
+                return;
+            }
+            String fileKey = extractFileKeyFromUrl(url);
+            if (fileKey == null || MediaObjectService.isContentAddressed(fileKey)) {
+                return;
+            }
+            try {
+                s3CloudStorageService.deleteImageFromB2(fileKey);
+            } catch (Exception e) {
+                log.warn("Failed to delete {} variant {}: {}", name, fileKey, e.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Key of a variant stored next to the original: the variant name goes before the extension
+     */
+    public static String variantKey(String fileKey, String variant) {
+        int dot = fileKey.lastIndexOf('.');
+        if (dot > fileKey.lastIndexOf('/')) {
+            return fileKey.substring(0, dot) + "-" + variant + fileKey.substring(dot);
+        }
+        return fileKey + "-" + variant;
+    }
+
+    /**
+     * Delete image from cloud storage. A content-addressed image (media/...) may be shared, so
+     * this only drops the caller's reference, once the caller's transaction commits, and the
+     * object is deleted with the last one.
      * @param fileKey S3 key/path of the file to delete (e.g., "images/1234567890-abcd1234.jpg")
      * @throws CloudStorageException if deletion fails
      */
@@ -69,6 +295,11 @@ public class CloudStorageService {
                 return;
             }
 
+            if (MediaObjectService.isContentAddressed(fileKey)) {
+                TransactionCallbacks.afterCommit(() -> releaseOrDelete(fileKey));
+                return;
+            }
+
             log.info("Deleting image from Cloudflare R2 cloud storage. File Key: {}", fileKey);
             s3CloudStorageService.deleteImageFromB2(fileKey);
             log.info("Image deleted successfully from Cloudflare R2");
@@ -79,6 +310,43 @@ public class CloudStorageService {
         }
     }
 
+    // An untracked content-addressed key has no other holders and is deleted directly
+    private void releaseOrDelete(String fileKey) {
+        try {
+            if (!mediaObjectService.release(fileKey)) {
+                s3CloudStorageService.deleteImageFromB2(fileKey);
+            }
+        } catch (Exception e) {
+            log.error("Failed to delete image {} from Cloudflare R2: {}", fileKey, e.getMessage());
+        }
+    }
+
+    /**
+     * Drop a reference on a content-addressed image given its public URL, once the caller's
+     * transaction commits
+     * @param publicUrl Public URL as returned by {@link #storeImage}
+     * @return false if the URL is not a content-addressed image in this bucket
+     */
+    public boolean releaseImageUrl(String publicUrl) {
+        if (!r2Enabled || publicUrl == null) {
+            return false;
+        }
+        String fileKey = extractFileKeyFromUrl(publicUrl);
+        if (!MediaObjectService.isContentAddressed(fileKey) || !publicUrl.equals(getImageUrl(fileKey))) {
+            return false;
+        }
+        TransactionCallbacks.afterCommit(() -> {
+            try {
+                if (!mediaObjectService.release(fileKey)) {
+                    log.warn("Media object {} is not tracked, nothing released", fileKey);
+                }
+            } catch (Exception e) {
+                log.error("Failed to release media object {}: {}", fileKey, e.getMessage());
+            }
+        });
+        return true;
+    }
+
     /**
      * Get public URL for uploaded image
      * Returns permanent public URL for accessing the file
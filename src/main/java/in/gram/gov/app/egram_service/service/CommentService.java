@@ -21,7 +21,19 @@ public class CommentService {
     @Transactional
     public Comment create(Comment comment) {
         log.info("CommentService.create called - comment={}", comment);
-        return commentRepository.save(comment);
+        Comment parent = comment.getParentComment();
+        if (parent != null) {
+            comment.setRootCommentId(parent.getRootCommentId() != null ? parent.getRootCommentId() : parent.getId());
+            comment.setDepth(parent.getDepth() + 1);
+        } else {
+            comment.setDepth(0);
+        }
+        Comment saved = commentRepository.save(comment);
+        if (saved.getRootCommentId() == null) {
+            // Top-level comments are the root of their own thread; flushed with the transaction
+            saved.setRootCommentId(saved.getId());
+        }
+        return saved;
     }
 
     public Comment findById(Long id) {
@@ -45,6 +57,26 @@ public class CommentService {
         return commentRepository.findAllByPostId(postId);
     }
 
+    /**
+     * Rows for one page of comment threads: the page's top-level comments and their replies
+     * down to maxDepth, fetched in a single query and ordered by depth
+     * @param postId Post ID
+     * @param approvedOnly Only approved comments at every level
+     * @param maxDepth Deepest reply level to include (0 = top-level only)
+     * @param pageable Page of top-level comments
+     * @return Thread rows
+     */
+    public List<Comment> findThreadRows(Long postId, boolean approvedOnly, int maxDepth, Pageable pageable) {
+        log.info("CommentService.findThreadRows called - postId={}, approvedOnly={}, maxDepth={}, pageable={}", postId, approvedOnly, maxDepth, pageable);
+        return commentRepository.findThreadPage(postId, approvedOnly, maxDepth,
+                pageable.getPageSize(), pageable.getOffset());
+    }
+
+    public long countTopLevelByPostId(Long postId, boolean approvedOnly) {
+        log.debug("CommentService.countTopLevelByPostId called - postId={}, approvedOnly={}", postId, approvedOnly);
+        return commentRepository.countTopLevelByPostId(postId, approvedOnly);
+    }
+
     public List<Comment> findRepliesByParentId(Long parentId) {
         log.info("CommentService.findRepliesByParentId called - parentId={}", parentId);
         return commentRepository.findRepliesByParentId(parentId);
@@ -64,9 +96,25 @@ public class CommentService {
         commentRepository.save(comment);
     }
 
+    /**
+     * Delete a comment together with its replies
+     * @param id Comment ID
+     * @return Number of comments removed, including cascaded replies
+     */
     @Transactional
-    public void delete(Long id) {
+    public int delete(Long id) {
         log.info("CommentService.delete called - id={}", id);
-        commentRepository.deleteById(id);
+        Comment comment = findById(id);
+        int removed = countWithReplies(comment);
+        commentRepository.delete(comment);
+        return removed;
+    }
+
+    private int countWithReplies(Comment comment) {
+        int count = 1;
+        for (Comment reply : comment.getReplies()) {
+            count += countWithReplies(reply);
+        }
+        return count;
     }
 }
@@ -0,0 +1,92 @@
+package in.gram.gov.app.egram_service.service;
+
+import in.gram.gov.app.egram_service.constants.enums.PublicResourceType;
+import in.gram.gov.app.egram_service.utility.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Version stamps per (panchayat, public resource type) used as ETag / Last-Modified validators.
+ * Stamps live in memory and are bumped by the facade write paths; the boot epoch is part of the
+ * ETag so validators issued before a restart are never matched afterwards.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ContentVersionService {
+    private final PanchayatSlugResolver panchayatSlugResolver;
+
+    private final long bootEpoch = System.currentTimeMillis();
+    private final Instant bootInstant = nextSecond(Instant.now());
+    private final Map<String, Stamp> stamps = new ConcurrentHashMap<>();
+
+    private record Stamp(long version, Instant lastModified) {
+    }
+
+    public record ContentVersion(String etag, long lastModifiedMillis) {
+    }
+
+    /**
+     * Current validators for a public resource of a panchayat, resolved by slug without loading entities
+     * @param slug Panchayat slug
+     * @param type Resource type
+     * @return ETag and Last-Modified timestamp
+     */
+    public ContentVersion current(String slug, PublicResourceType type) {
+        return current(panchayatSlugResolver.resolveId(slug), type);
+    }
+
+    public ContentVersion current(Long panchayatId, PublicResourceType type) {
+        Stamp stamp = stamps.getOrDefault(key(panchayatId, type), new Stamp(0, bootInstant));
+        Instant lastModified = stamp.lastModified();
+        String etag = type.name().toLowerCase() + "-" + panchayatId + "-" + bootEpoch + "-" + stamp.version();
+        if (type.isDateSensitive()) {
+            LocalDate today = LocalDate.now();
+            Instant startOfDay = today.atStartOfDay(ZoneId.systemDefault()).toInstant();
+            if (startOfDay.isAfter(lastModified)) {
+                lastModified = startOfDay;
+            }
+            etag = etag + "-" + today;
+        }
+        return new ContentVersion("\"" + etag + "\"", lastModified.toEpochMilli());
+    }
+
+    /**
+     * Bump the version of a resource now and again after the surrounding transaction commits,
+     * so a response rendered from pre-commit data never carries the final validator
+     * @param panchayatId Panchayat ID
+     * @param type Resource type
+     */
+    public void bump(Long panchayatId, PublicResourceType type) {
+        if (panchayatId == null) {
+            return;
+        }
+        increment(panchayatId, type);
+        TransactionCallbacks.afterCommit(() -> increment(panchayatId, type));
+    }
+
+    private void increment(Long panchayatId, PublicResourceType type) {
+        // Last-Modified has second precision; round up so a client holding the previous value sees a change
+        Instant now = nextSecond(Instant.now());
+        Stamp stamp = stamps.compute(key(panchayatId, type), (k, previous) -> previous == null
+                ? new Stamp(1, now)
+                : new Stamp(previous.version() + 1, now));
+        log.debug("ContentVersionService.bump - panchayatId={}, type={}, version={}", panchayatId, type, stamp.version());
+    }
+
+    private static Instant nextSecond(Instant instant) {
+        return instant.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1);
+    }
+
+    private static String key(Long panchayatId, PublicResourceType type) {
+        return type.name() + ":" + panchayatId;
+    }
+}
@@ -0,0 +1,307 @@
+package in.gram.gov.app.egram_service.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.gram.gov.app.egram_service.constants.enums.ExportFormat;
+import in.gram.gov.app.egram_service.dto.filters.AuditFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Streams audit_logs and analytics rows straight from a forward-only JDBC cursor to the
+ * response as CSV or NDJSON. The Postgres driver only uses a cursor inside a transaction and
+ * with a fetch size set, so rows are read {@code export.fetch-size} at a time and memory stays
+ * flat however many rows match.
+ */
+@Service
+@Slf4j
+public class DataExportService {
+    private static final String AUDIT_LOG_SQL =
+            "SELECT a.id, a.created_at, a.user_id, u.name AS user_name, a.panchayat_id, p.panchayat_name, " +
+            "a.action_type, a.target_entity_type, a.target_entity_id, a.description, a.ip_address, a.user_agent, " +
+            "CAST(a.changes AS TEXT) AS changes " +
+            "FROM audit_logs a LEFT JOIN users u ON u.id = a.user_id LEFT JOIN panchayats p ON p.id = a.panchayat_id";
+
+    private static final String ANALYTICS_SQL =
+            "SELECT a.id, a.created_at, a.panchayat_id, a.page_url, a.referrer_url, a.session_id, " +
+            "a.device_type, a.country_code, a.visitor_ip, a.user_agent FROM analytics a";
+
+    private static final int FLUSH_EVERY_ROWS = 1000;
+
+    private final JdbcTemplate cursorJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+
+    public DataExportService(DataSource dataSource,
+                             PlatformTransactionManager transactionManager,
+                             ObjectMapper objectMapper,
+                             @Value("${export.fetch-size:1000}") int fetchSize) {
+        this.cursorJdbcTemplate = new JdbcTemplate(dataSource);
+        this.cursorJdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write audit logs matching the filter's panchayat, action type and date range
+     */
+    public void exportAuditLogs(AuditFilter filter, ExportFormat format, OutputStream out) {
+        log.info("DataExportService.exportAuditLogs called - filter={}, format={}", filter, format);
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(AUDIT_LOG_SQL);
+        List<String> conditions = new ArrayList<>();
+        if (filter.getPanchayatId() != null) {
+            conditions.add("a.panchayat_id = ?");
+            args.add(filter.getPanchayatId());
+        }
+        if (filter.getActionType() != null) {
+            conditions.add("a.action_type = ?");
+            args.add(filter.getActionType());
+        }
+        addDateRange(filter, conditions, args);
+        appendWhere(sql, conditions);
+        sql.append(" ORDER BY a.created_at, a.id");
+        export(sql.toString(), args, format, out);
+    }
+
+    /**
+     * Write raw analytics rows matching the filter's panchayat and date range
+     */
+    public void exportAnalytics(AuditFilter filter, ExportFormat format, OutputStream out) {
+        log.info("DataExportService.exportAnalytics called - filter={}, format={}", filter, format);
+        List<Object> args = new ArrayList<>();
+        StringBuilder sql = new StringBuilder(ANALYTICS_SQL);
+        List<String> conditions = new ArrayList<>();
+        if (filter.getPanchayatId() != null) {
+            conditions.add("a.panchayat_id = ?");
+            args.add(filter.getPanchayatId());
+        }
+        addDateRange(filter, conditions, args);
+        appendWhere(sql, conditions);
+        sql.append(" ORDER BY a.created_at, a.id");
+        export(sql.toString(), args, format, out);
+    }
+
+    // created_at bounds also let Postgres prune the monthly partitions
+    private static void addDateRange(AuditFilter filter, List<String> conditions, List<Object> args) {
+        if (filter.getStartDate() != null) {
+            conditions.add("a.created_at >= ?");
+            args.add(Timestamp.valueOf(filter.getStartDate()));
+        }
+        if (filter.getEndDate() != null) {
+            conditions.add("a.created_at <= ?");
+            args.add(Timestamp.valueOf(filter.getEndDate()));
+        }
+    }
+
+    private static void appendWhere(StringBuilder sql, List<String> conditions) {
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+    }
+
+    private void export(String sql, List<Object> args, ExportFormat format, OutputStream out) {
+        try (RowWriter writer = format == ExportFormat.NDJSON ? new NdjsonWriter(out, objectMapper) : new CsvWriter(out)) {
+            StreamingRowHandler handler = new StreamingRowHandler(writer);
+            transactionTemplate.executeWithoutResult(status -> cursorJdbcTemplate.query(sql, handler, args.toArray()));
+            writer.flush();
+            log.info("DataExportService.export - finished, format={}, rows={}", format, handler.count);
+        } catch (UncheckedIOException e) {
+            // Client went away; the cursor and transaction are already closed
+            log.warn("Export aborted: {}", e.getMessage());
+        } catch (IOException e) {
+            log.warn("Export aborted while closing: {}", e.getMessage());
+        }
+    }
+
+    private static final class StreamingRowHandler implements RowCallbackHandler {
+        private final RowWriter writer;
+        private String[] columns;
+        private long count;
+
+        private StreamingRowHandler(RowWriter writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            if (columns == null) {
+                columns = columnLabels(rs);
+                writer.header(columns);
+            }
+            writer.row(columns, rs);
+            if (++count % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+    }
+
+    private static String[] columnLabels(ResultSet rs) throws SQLException {
+        int count = rs.getMetaData().getColumnCount();
+        String[] labels = new String[count];
+        for (int i = 0; i < count; i++) {
+            labels[i] = rs.getMetaData().getColumnLabel(i + 1);
+        }
+        return labels;
+    }
+
+    private interface RowWriter extends AutoCloseable {
+        void header(String[] columns);
+
+        void row(String[] columns, ResultSet rs) throws SQLException;
+
+        void flush();
+
+        @Override
+        void close() throws IOException;
+    }
+
+    private static final class CsvWriter implements RowWriter {
+        private final Writer writer;
+
+        private CsvWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        }
+
+        @Override
+        public void header(String[] columns) {
+            try {
+                for (int i = 0; i < columns.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writer.write(escape(columns[i]));
+                }
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void row(String[] columns, ResultSet rs) throws SQLException {
+            try {
+                for (int i = 0; i < columns.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    Object value = rs.getObject(i + 1);
+                    if (value != null) {
+                        writer.write(escape(value.toString()));
+                    }
+                }
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        // RFC 4180 quoting; a leading formula character is prefixed so spreadsheets show it as text
+        private static String escape(String value) {
+            String text = value;
+            if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+                text = "'" + text;
+            }
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                return "\"" + text.replace("\"", "\"\"") + "\"";
+            }
+            return text;
+        }
+
+        @Override
+        public void flush() {
+            try {
+                writer.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.flush();
+        }
+    }
+
+    private static final class NdjsonWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        private NdjsonWriter(OutputStream out, ObjectMapper objectMapper) {
+            try {
+                this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+                this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                // One object per line: the newline is written after each row instead
+                this.generator.setRootValueSeparator(null);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void header(String[] columns) {
+            // Field names are repeated on every line
+        }
+
+        @Override
+        public void row(String[] columns, ResultSet rs) throws SQLException {
+            try {
+                generator.writeStartObject();
+                for (int i = 0; i < columns.length; i++) {
+                    Object value = rs.getObject(i + 1);
+                    generator.writeFieldName(columns[i]);
+                    if (value == null) {
+                        generator.writeNull();
+                    } else if (value instanceof Number number) {
+                        generator.writeNumber(number.toString());
+                    } else if ("changes".equals(columns[i])) {
+                        // Already JSON text from jsonb
+                        generator.writeRawValue(value.toString());
+                    } else if (value instanceof Timestamp timestamp) {
+                        generator.writeString(timestamp.toLocalDateTime().toString());
+                    } else {
+                        generator.writeString(value.toString());
+                    }
+                }
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void flush() {
+            try {
+                generator.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            generator.close();
+        }
+    }
+}
@@ -51,14 +51,14 @@ public class DocumentService {
         return documentRepository.findByPanchayatIdWithFilters(panchayatId, category, visibility, pageable);
     }
 
-    public Page<Document> findPublicDocumentsBySlug(String slug, DocumentCategory category, Pageable pageable) {
-        log.info("DocumentService.findPublicDocumentsBySlug called - slug={}, category={}", slug, category);
-        return documentRepository.findPublicDocumentsBySlug(slug, category, pageable);
+    public Page<Document> findPublicDocumentsByPanchayatId(Long panchayatId, DocumentCategory category, Pageable pageable) {
+        log.info("DocumentService.findPublicDocumentsByPanchayatId called - panchayatId={}, category={}", panchayatId, category);
+        return documentRepository.findPublicDocumentsByPanchayatId(panchayatId, category, pageable);
     }
 
-    public Page<Document> findWebsiteDocumentsBySlug(String slug, DocumentCategory category, Pageable pageable) {
-        log.info("DocumentService.findWebsiteDocumentsBySlug called - slug={}, category={}", slug, category);
-        return documentRepository.findWebsiteDocumentsBySlug(slug, category, pageable);
+    public Page<Document> findWebsiteDocumentsByPanchayatId(Long panchayatId, DocumentCategory category, Pageable pageable) {
+        log.info("DocumentService.findWebsiteDocumentsByPanchayatId called - panchayatId={}, category={}", panchayatId, category);
+        return documentRepository.findWebsiteDocumentsByPanchayatId(panchayatId, category, pageable);
     }
 
     @Transactional
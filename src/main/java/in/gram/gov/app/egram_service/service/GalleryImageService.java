@@ -41,9 +41,9 @@ public class GalleryImageService {
         return galleryImageRepository.findByPanchayatIdAndAlbumId(panchayatId, albumId, pageable);
     }
 
-    public Page<GalleryImage> findByPanchayatSlugAndAlbumId(String slug, Long albumId, Pageable pageable) {
-        log.info("GalleryImageService.findByPanchayatSlugAndAlbumId called - slug={}, albumId={}", slug, albumId);
-        return galleryImageRepository.findByPanchayatSlugAndAlbumId(slug, albumId, pageable);
+    public Page<GalleryImage> findByPanchayatIdAndAlbumIdOrdered(Long panchayatId, Long albumId, Pageable pageable) {
+        log.info("GalleryImageService.findByPanchayatIdAndAlbumIdOrdered called - panchayatId={}, albumId={}", panchayatId, albumId);
+        return galleryImageRepository.findByPanchayatIdAndAlbumIdOrdered(panchayatId, albumId, pageable);
     }
 
     public Page<GalleryImage> findAll(GalleryFilter galleryFilter) {
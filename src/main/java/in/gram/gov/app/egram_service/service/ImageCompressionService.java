@@ -2,21 +2,40 @@ package in.gram.gov.app.egram_service.service;
 
 import in.gram.gov.app.egram_service.constants.enums.CompressionQuality;
 import in.gram.gov.app.egram_service.constants.exception.ImageUploadException;
+import in.gram.gov.app.egram_service.constants.exception.ServiceUnavailableException;
 import in.gram.gov.app.egram_service.dto.response.ImageCompressionDTO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.coobird.thumbnailator.Thumbnails;
+import net.coobird.thumbnailator.util.exif.ExifFilterUtils;
+import net.coobird.thumbnailator.util.exif.ExifUtils;
+import net.coobird.thumbnailator.util.exif.Orientation;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -36,6 +55,17 @@ public class ImageCompressionService {
             Arrays.asList("jpg", "jpeg", "png", "gif", "webp")
     );
 
+    public static final String VARIANT_THUMB = "thumb";
+    public static final String VARIANT_MEDIUM = "medium";
+    public static final String VARIANT_FULL = "full";
+
+    private static final float MIN_QUALITY = 0.10f;
+    private static final float QUALITY_TOLERANCE = 0.05f;
+    private static final double SCALE_HEADROOM = 0.95;
+    private static final int MIN_DIMENSION = 100;
+
+    private final ImageProcessingPool imageProcessingPool;
+
     @Value("${cloud.storage.image.max-width:2560}")
     private int maxWidth;
 
@@ -51,6 +81,18 @@ public class ImageCompressionService {
     @Value("${cloud.storage.image.target-size-bytes:256000}") // 500KB target
     private long targetFileSizeBytes;
 
+    @Value("${cloud.storage.image.max-pixels:100000000}") // 100 megapixels
+    private long maxPixels;
+
+    @Value("${cloud.storage.image.max-encode-attempts:8}")
+    private int maxEncodeAttempts;
+
+    @Value("${cloud.storage.image.variants.thumb-width:320}")
+    private int thumbWidth;
+
+    @Value("${cloud.storage.image.variants.medium-width:960}")
+    private int mediumWidth;
+
     /**
      * Validate image file
      * @param file MultipartFile to validate
@@ -86,16 +128,47 @@ public class ImageCompressionService {
     }
 
     /**
-     * Compress image and return compressed file metadata
-     * Uses iterative compression to ensure file size is under 500KB target
+     * Compressed image bytes together with their metadata
+     */
+    public record CompressedImage(byte[] bytes, ImageCompressionDTO metadata, List<ImageVariant> variants) {
+        public InputStream inputStream() {
+            return new ByteArrayInputStream(bytes);
+        }
+    }
+
+    /**
+     * A smaller copy of the compressed image, e.g. a grid thumbnail
+     */
+    public record ImageVariant(String name, byte[] bytes, int width, int height) {
+    }
+
+    /**
+     * Compress an image in a single pass: the upload is read and decoded once and the
+     * iterative compression runs once, returning the encoded bytes with their metadata.
+     * Decoding and encoding run on the {@link ImageProcessingPool}; the calling thread waits.
      * @param file Original image file
      * @param quality Compression quality level
-     * @return ImageCompressionDTO with compressed data and metadata
+     * @return CompressedImage with the bytes to upload and the ImageCompressionDTO metadata
+     * @throws ServiceUnavailableException if the image workers are saturated
      */
-    public ImageCompressionDTO compressImage(MultipartFile file, CompressionQuality quality) {
-        try {
-            validateImageFile(file);
+    public CompressedImage compress(MultipartFile file, CompressionQuality quality) {
+        validateImageFile(file);
+        return imageProcessingPool.execute(file.getSize(), () -> compressValidated(file, quality, false));
+    }
 
+    /**
+     * Compress an image and also produce the thumb and medium variants from the same decoded raster
+     * @param file Original image file
+     * @param quality Compression quality level
+     * @return CompressedImage whose variants are ordered from smallest to largest
+     */
+    public CompressedImage compressWithVariants(MultipartFile file, CompressionQuality quality) {
+        validateImageFile(file);
+        return imageProcessingPool.execute(file.getSize(), () -> compressValidated(file, quality, true));
+    }
+
+    private CompressedImage compressValidated(MultipartFile file, CompressionQuality quality, boolean withVariants) {
+        try {
             String originalFileName = file.getOriginalFilename();
             long originalFileSize = file.getSize();
             String contentType = file.getContentType();
@@ -133,245 +206,447 @@ public class ImageCompressionService {
                 throw new ImageUploadException("Failed to read file bytes: " + e.getMessage(), e);
             }
 
-            // Read original image with better error handling
-            BufferedImage originalImage;
-            try {
-                // First, try to verify the file bytes start with valid image magic bytes
-                if (fileBytes.length < 4) {
-                    throw new ImageUploadException("File is too small to be a valid image");
-                }
-                
-                // Check for common image format magic bytes and detect actual format
-                String detectedFormat = null;
-                boolean isValidImage = false;
-                
-                if (fileBytes[0] == (byte)0xFF && fileBytes[1] == (byte)0xD8) {
-                    // JPEG
-                    detectedFormat = "JPEG";
-                    isValidImage = true;
-                } else if (fileBytes[0] == (byte)0x89 && fileBytes[1] == (byte)0x50 && 
-                          fileBytes[2] == (byte)0x4E && fileBytes[3] == (byte)0x47) {
-                    // PNG
-                    detectedFormat = "PNG";
-                    isValidImage = true;
-                } else if (fileBytes[0] == (byte)0x47 && fileBytes[1] == (byte)0x49 && 
-                          fileBytes[2] == (byte)0x46) {
-                    // GIF
-                    detectedFormat = "GIF";
+            BufferedImage originalImage = decodeImage(fileBytes, originalFileName, contentType);
+
+            // Determine output format from content type
+            String outputFormat = getOutputFormat(contentType);
+
+            // Search quality (and if needed scale) to reach the target size
+            EncodedImage encoded = compressToTargetSize(originalImage, outputFormat, quality.getQualityPercentage());
+            byte[] compressedImageBytes = encoded.bytes();
+
+            long compressedFileSize = compressedImageBytes.length;
+            float compressionRatio = ((originalFileSize - compressedFileSize) * 100.0f) / originalFileSize;
+
+            log.info("Image compression completed. Original: {} bytes, Compressed: {} bytes, Ratio: {}%, Encodes: {}",
+                    originalFileSize, compressedFileSize, String.format("%.2f", compressionRatio), encoded.attempts());
+
+            ImageCompressionDTO metadata = ImageCompressionDTO.builder()
+                    .originalFileName(originalFileName)
+                    .originalFileSize(originalFileSize)
+                    .compressedFileSize(compressedFileSize)
+                    .compressionRatio(compressionRatio)
+                    .contentType(contentType)
+                    .width(encoded.width())
+                    .height(encoded.height())
+                    .encodeAttempts(encoded.attempts())
+                    .build();
+            List<ImageVariant> variants = withVariants
+                    ? createVariants(originalImage, outputFormat, quality.getQualityPercentage())
+                    : List.of();
+            return new CompressedImage(compressedImageBytes, metadata, variants);
+
+        } catch (IOException e) {
+            log.error("Error during image compression", e);
+            throw new ImageUploadException("Failed to compress image: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Check magic bytes and decode the image, scaled down to the configured maximum dimensions
+     * @param fileBytes Raw upload bytes
+     * @param originalFileName File name, for logging
+     * @param contentType Declared MIME type
+     * @return Decoded image
+     */
+    private BufferedImage decodeImage(byte[] fileBytes, String originalFileName, String contentType) {
+        BufferedImage originalImage;
+        try {
+            // First, try to verify the file bytes start with valid image magic bytes
+            if (fileBytes.length < 4) {
+                throw new ImageUploadException("File is too small to be a valid image");
+            }
+            
+            // Check for common image format magic bytes and detect actual format
+            String detectedFormat = null;
+            boolean isValidImage = false;
+            
+            if (fileBytes[0] == (byte)0xFF && fileBytes[1] == (byte)0xD8) {
+                // JPEG
+                detectedFormat = "JPEG";
+                isValidImage = true;
+            } else if (fileBytes[0] == (byte)0x89 && fileBytes[1] == (byte)0x50 && 
+                      fileBytes[2] == (byte)0x4E && fileBytes[3] == (byte)0x47) {
+                // PNG
+                detectedFormat = "PNG";
+                isValidImage = true;
+            } else if (fileBytes[0] == (byte)0x47 && fileBytes[1] == (byte)0x49 && 
+                      fileBytes[2] == (byte)0x46) {
+                // GIF
+                detectedFormat = "GIF";
+                isValidImage = true;
+            } else if (fileBytes[0] == (byte)0x52 && fileBytes[1] == (byte)0x49 && 
+                      fileBytes[2] == (byte)0x46 && fileBytes[3] == (byte)0x46) {
+                // RIFF header - could be WebP or other RIFF format
+                if (fileBytes.length > 11 &&
+                    fileBytes[8] == (byte)0x57 && fileBytes[9] == (byte)0x45 && 
+                    fileBytes[10] == (byte)0x42 && fileBytes[11] == (byte)0x50) {
+                    // WebP
+                    detectedFormat = "WebP";
                     isValidImage = true;
-                } else if (fileBytes[0] == (byte)0x52 && fileBytes[1] == (byte)0x49 && 
-                          fileBytes[2] == (byte)0x46 && fileBytes[3] == (byte)0x46) {
-                    // RIFF header - could be WebP or other RIFF format
-                    if (fileBytes.length > 11 &&
-                        fileBytes[8] == (byte)0x57 && fileBytes[9] == (byte)0x45 && 
-                        fileBytes[10] == (byte)0x42 && fileBytes[11] == (byte)0x50) {
-                        // WebP
-                        detectedFormat = "WebP";
-                        isValidImage = true;
-                    } else {
-                        // RIFF but not WebP - might be incomplete or corrupted
-                        detectedFormat = "RIFF (not WebP)";
-                        log.warn("File has RIFF header but missing WebP signature. File: {}, Size: {} bytes", 
-                                originalFileName, fileBytes.length);
-                    }
-                }
-                
-                // Check for format mismatch between content type and detected format
-                if (detectedFormat != null && contentType != null) {
-                    String expectedFormat = contentType.contains("jpeg") || contentType.contains("jpg") ? "JPEG" :
-                                           contentType.contains("png") ? "PNG" :
-                                           contentType.contains("gif") ? "GIF" :
-                                           contentType.contains("webp") ? "WebP" : null;
-                    
-                    if (expectedFormat != null && !detectedFormat.equals(expectedFormat) && 
-                        !detectedFormat.startsWith("RIFF")) {
-                        log.warn("Format mismatch detected. File: {}, Content-Type: {} (expects {}), Actual format: {}", 
-                                originalFileName, contentType, expectedFormat, detectedFormat);
-                    }
+                } else {
+                    // RIFF but not WebP - might be incomplete or corrupted
+                    detectedFormat = "RIFF (not WebP)";
+                    log.warn("File has RIFF header but missing WebP signature. File: {}, Size: {} bytes", 
+                            originalFileName, fileBytes.length);
                 }
+            }
+            
+            // Check for format mismatch between content type and detected format
+            if (detectedFormat != null && contentType != null) {
+                String expectedFormat = contentType.contains("jpeg") || contentType.contains("jpg") ? "JPEG" :
+                                       contentType.contains("png") ? "PNG" :
+                                       contentType.contains("gif") ? "GIF" :
+                                       contentType.contains("webp") ? "WebP" : null;
                 
-                if (!isValidImage) {
-                    String hexBytes = String.format("%02X %02X %02X %02X", 
-                            fileBytes[0] & 0xFF, fileBytes[1] & 0xFF, 
-                            fileBytes[2] & 0xFF, fileBytes[3] & 0xFF);
-                    String formatInfo = detectedFormat != null ? 
-                            String.format(" Detected format: %s", detectedFormat) : "";
-                    log.error("File does not appear to be a valid image based on magic bytes. File: {}, First bytes: {}, Content-Type: {}.{}", 
-                            originalFileName, hexBytes, contentType, formatInfo);
-                    throw new ImageUploadException(
-                            String.format("Invalid image format. File '%s' does not have valid image magic bytes. First bytes: %s. Content-Type: %s.%s The file may be corrupted, incomplete, or not a valid image file.", 
-                            originalFileName, hexBytes, contentType, formatInfo));
+                if (expectedFormat != null && !detectedFormat.equals(expectedFormat) && 
+                    !detectedFormat.startsWith("RIFF")) {
+                    log.warn("Format mismatch detected. File: {}, Content-Type: {} (expects {}), Actual format: {}", 
+                            originalFileName, contentType, expectedFormat, detectedFormat);
                 }
-                
-                log.info("Detected image format: {} for file: {} (Content-Type: {})", 
-                        detectedFormat, originalFileName, contentType);
-                
-                // Try to read image with Thumbnailator
+            }
+            
+            if (!isValidImage) {
+                String hexBytes = String.format("%02X %02X %02X %02X", 
+                        fileBytes[0] & 0xFF, fileBytes[1] & 0xFF, 
+                        fileBytes[2] & 0xFF, fileBytes[3] & 0xFF);
+                String formatInfo = detectedFormat != null ? 
+                        String.format(" Detected format: %s", detectedFormat) : "";
+                log.error("File does not appear to be a valid image based on magic bytes. File: {}, First bytes: {}, Content-Type: {}.{}", 
+                        originalFileName, hexBytes, contentType, formatInfo);
+                throw new ImageUploadException(
+                        String.format("Invalid image format. File '%s' does not have valid image magic bytes. First bytes: %s. Content-Type: %s.%s The file may be corrupted, incomplete, or not a valid image file.", 
+                        originalFileName, hexBytes, contentType, formatInfo));
+            }
+            
+            log.info("Detected image format: {} for file: {} (Content-Type: {})", 
+                    detectedFormat, originalFileName, contentType);
+            
+            // Header first: reject oversized images before decoding, then decode subsampled
+            originalImage = readWithinPixelBudget(fileBytes, originalFileName);
+            if (originalImage != null) {
+                return originalImage;
+            }
+
+            // No ImageIO reader recognised the data; try Thumbnailator
+            try {
+                originalImage = Thumbnails.of(new ByteArrayInputStream(fileBytes))
+                        .size(maxWidth, maxHeight)
+                        .asBufferedImage();
+            } catch (net.coobird.thumbnailator.tasks.UnsupportedFormatException e) {
+                // If Thumbnailator fails, try Java ImageIO as fallback
+                log.warn("Thumbnailator failed to read image, trying Java ImageIO as fallback. File: {}, Detected format: {}", 
+                        originalFileName, detectedFormat);
                 try {
-                    originalImage = Thumbnails.of(new ByteArrayInputStream(fileBytes))
-                            .size(maxWidth, maxHeight)
-                            .asBufferedImage();
-                } catch (net.coobird.thumbnailator.tasks.UnsupportedFormatException e) {
-                    // If Thumbnailator fails, try Java ImageIO as fallback
-                    log.warn("Thumbnailator failed to read image, trying Java ImageIO as fallback. File: {}, Detected format: {}", 
-                            originalFileName, detectedFormat);
-                    try {
-                        javax.imageio.ImageIO.setUseCache(false);
-                        originalImage = javax.imageio.ImageIO.read(new ByteArrayInputStream(fileBytes));
-                        if (originalImage == null) {
-                            // Check if it's a format mismatch issue
-                            String formatMismatchMsg = "";
-                            if (detectedFormat != null && contentType != null) {
-                                boolean isMismatch = (detectedFormat.equals("WebP") && contentType.contains("jpeg")) ||
-                                                    (detectedFormat.equals("JPEG") && contentType.contains("webp")) ||
-                                                    (detectedFormat.startsWith("RIFF") && !contentType.contains("webp"));
-                                if (isMismatch) {
-                                    formatMismatchMsg = String.format(" Format mismatch: file appears to be %s but Content-Type is %s.", 
-                                            detectedFormat, contentType);
-                                }
-                            }
-                            throw new ImageUploadException(
-                                    String.format("Java ImageIO failed to read the image. The file may be corrupted, incomplete, or in an unsupported format.%s Please ensure the file is a valid, complete image file.", 
-                                    formatMismatchMsg));
-                        }
-                        // Resize if needed
-                        if (originalImage.getWidth() > maxWidth || originalImage.getHeight() > maxHeight) {
-                            double scaleX = (double) maxWidth / originalImage.getWidth();
-                            double scaleY = (double) maxHeight / originalImage.getHeight();
-                            double scale = Math.min(scaleX, scaleY);
-                            int newWidth = (int) (originalImage.getWidth() * scale);
-                            int newHeight = (int) (originalImage.getHeight() * scale);
-                            originalImage = Thumbnails.of(originalImage)
-                                    .size(newWidth, newHeight)
-                                    .asBufferedImage();
-                        }
-                        log.info("Successfully read image using Java ImageIO fallback. Dimensions: {}x{}", 
-                                originalImage.getWidth(), originalImage.getHeight());
-                    } catch (ImageUploadException imgEx) {
-                        // Re-throw ImageUploadException as-is
-                        throw imgEx;
-                    } catch (Exception ioException) {
-                        // Check for format mismatch
+                    javax.imageio.ImageIO.setUseCache(false);
+                    originalImage = javax.imageio.ImageIO.read(new ByteArrayInputStream(fileBytes));
+                    if (originalImage == null) {
+                        // Check if it's a format mismatch issue
                         String formatMismatchMsg = "";
                         if (detectedFormat != null && contentType != null) {
                             boolean isMismatch = (detectedFormat.equals("WebP") && contentType.contains("jpeg")) ||
                                                 (detectedFormat.equals("JPEG") && contentType.contains("webp")) ||
                                                 (detectedFormat.startsWith("RIFF") && !contentType.contains("webp"));
                             if (isMismatch) {
-                                formatMismatchMsg = String.format(" CRITICAL: Format mismatch detected - file appears to be %s but Content-Type is %s. The file extension may be incorrect.", 
+                                formatMismatchMsg = String.format(" Format mismatch: file appears to be %s but Content-Type is %s.", 
                                         detectedFormat, contentType);
                             }
                         }
-                        log.error("Both Thumbnailator and Java ImageIO failed to read image. File: {}, Size: {} bytes, Content-Type: {}, Detected format: {}, Error: {}", 
-                                originalFileName, fileBytes.length, contentType, detectedFormat, ioException.getMessage(), ioException);
                         throw new ImageUploadException(
-                                String.format("Failed to read image data. The file '%s' may be corrupted, incomplete, or in an unsupported format.%s Thumbnailator error: %s, ImageIO error: %s. Please ensure the file is a valid, complete image file and the file extension matches the actual format.", 
-                                originalFileName, formatMismatchMsg, e.getMessage(), ioException.getMessage()), e);
+                                String.format("Java ImageIO failed to read the image. The file may be corrupted, incomplete, or in an unsupported format.%s Please ensure the file is a valid, complete image file.", 
+                                formatMismatchMsg));
                     }
+                    // Resize if needed
+                    if (originalImage.getWidth() > maxWidth || originalImage.getHeight() > maxHeight) {
+                        double scaleX = (double) maxWidth / originalImage.getWidth();
+                        double scaleY = (double) maxHeight / originalImage.getHeight();
+                        double scale = Math.min(scaleX, scaleY);
+                        int newWidth = (int) (originalImage.getWidth() * scale);
+                        int newHeight = (int) (originalImage.getHeight() * scale);
+                        originalImage = Thumbnails.of(originalImage)
+                                .size(newWidth, newHeight)
+                                .asBufferedImage();
+                    }
+                    log.info("Successfully read image using Java ImageIO fallback. Dimensions: {}x{}", 
+                            originalImage.getWidth(), originalImage.getHeight());
+                } catch (ImageUploadException imgEx) {
+                    // Re-throw ImageUploadException as-is
+                    throw imgEx;
+                } catch (Exception ioException) {
+                    // Check for format mismatch
+                    String formatMismatchMsg = "";
+                    if (detectedFormat != null && contentType != null) {
+                        boolean isMismatch = (detectedFormat.equals("WebP") && contentType.contains("jpeg")) ||
+                                            (detectedFormat.equals("JPEG") && contentType.contains("webp")) ||
+                                            (detectedFormat.startsWith("RIFF") && !contentType.contains("webp"));
+                        if (isMismatch) {
+                            formatMismatchMsg = String.format(" CRITICAL: Format mismatch detected - file appears to be %s but Content-Type is %s. The file extension may be incorrect.", 
+                                    detectedFormat, contentType);
+                        }
+                    }
+                    log.error("Both Thumbnailator and Java ImageIO failed to read image. File: {}, Size: {} bytes, Content-Type: {}, Detected format: {}, Error: {}", 
+                            originalFileName, fileBytes.length, contentType, detectedFormat, ioException.getMessage(), ioException);
+                    throw new ImageUploadException(
+                            String.format("Failed to read image data. The file '%s' may be corrupted, incomplete, or in an unsupported format.%s Thumbnailator error: %s, ImageIO error: %s. Please ensure the file is a valid, complete image file and the file extension matches the actual format.", 
+                            originalFileName, formatMismatchMsg, e.getMessage(), ioException.getMessage()), e);
                 }
-            } catch (Exception e) {
-                log.error("Failed to read image from bytes. File: {}, Size: {} bytes, ContentType: {}, Error: {}", 
-                        originalFileName, fileBytes.length, contentType, e.getMessage(), e);
-                throw new ImageUploadException("Failed to read image data. The file may be corrupted or in an unsupported format: " + e.getMessage(), e);
             }
+        } catch (ImageUploadException e) {
+            // Re-throw ImageUploadException as-is
+            throw e;
+        } catch (Exception e) {
+            log.error("Failed to read image from bytes. File: {}, Size: {} bytes, ContentType: {}, Error: {}",
+                    originalFileName, fileBytes.length, contentType, e.getMessage(), e);
+            throw new ImageUploadException("Failed to read image data. The file may be corrupted or in an unsupported format: " + e.getMessage(), e);
+        }
+        return originalImage;
+    }
 
-            int width = originalImage.getWidth();
-            int height = originalImage.getHeight();
+    /**
+     * Decode through an ImageIO reader using the header to plan the read. Width and height are
+     * read before any pixels, so decompression bombs above {@code max-pixels} are rejected
+     * cheaply, and source subsampling keeps the decoded raster within about twice the maximum
+     * dimensions; Thumbnailator then does the final high-quality downscale.
+     * @param fileBytes Raw upload bytes
+     * @param originalFileName File name, for logging
+     * @return Image within the maximum dimensions, or null if no ImageIO reader accepts the data
+     */
+    private BufferedImage readWithinPixelBudget(byte[] fileBytes, String originalFileName) throws IOException {
+        ImageIO.setUseCache(false);
+        try (ImageInputStream input = new MemoryCacheImageInputStream(new ByteArrayInputStream(fileBytes))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                // Metadata is kept for the Exif orientation
+                reader.setInput(input, true, false);
+                int width = reader.getWidth(0);
+                int height = reader.getHeight(0);
+                if ((long) width * height > maxPixels) {
+                    log.warn("Rejected oversized image. File: {}, Dimensions: {}x{}", originalFileName, width, height);
+                    throw new ImageUploadException(String.format(
+                            "Image dimensions %dx%d exceed the maximum of %d megapixels", width, height, maxPixels / 1_000_000));
+                }
 
-            // Determine output format from content type
-            String outputFormat = getOutputFormat(contentType);
+                int subsampling = subsamplingFactor(width, height);
+                ImageReadParam param = reader.getDefaultReadParam();
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+                BufferedImage image = reader.read(0, param);
+                log.info("Decoded {}x{} image at 1/{} subsampling to {}x{}. File: {}",
+                        width, height, subsampling, image.getWidth(), image.getHeight(), originalFileName);
 
-            // Compress with iterative quality reduction to reach 500KB target
-            byte[] compressedImageBytes = compressToTargetSize(originalImage, width, height,
-                    outputFormat, quality.getQualityPercentage());
+                image = applyExifOrientation(reader, image);
+                if (image.getWidth() > maxWidth || image.getHeight() > maxHeight) {
+                    image = Thumbnails.of(image)
+                            .size(maxWidth, maxHeight)
+                            .asBufferedImage();
+                }
+                return image;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
 
-            long compressedFileSize = compressedImageBytes.length;
-            float compressionRatio = ((originalFileSize - compressedFileSize) * 100.0f) / originalFileSize;
+    /**
+     * Largest whole subsampling step that does not go below the maximum dimensions, so the
+     * decoded raster ends up between one and two times the size it is finally scaled to
+     */
+    private int subsamplingFactor(int width, int height) {
+        double ratio = Math.max((double) width / maxWidth, (double) height / maxHeight);
+        return Math.max(1, (int) Math.floor(ratio));
+    }
 
-            log.info("Image compression completed. Original: {} bytes, Compressed: {} bytes, Ratio: {:.2f}%",
-                    originalFileSize, compressedFileSize, compressionRatio);
+    /**
+     * Rotate or flip as the Exif orientation says; Thumbnailator does this itself only when it reads the stream
+     */
+    private static BufferedImage applyExifOrientation(ImageReader reader, BufferedImage image) {
+        try {
+            Orientation orientation = ExifUtils.getExifOrientation(reader, 0);
+            if (orientation != null && orientation != Orientation.TOP_LEFT) {
+                return ExifFilterUtils.getFilterForOrientation(orientation).apply(image);
+            }
+        } catch (Exception e) {
+            // Missing or unreadable metadata; keep the image as decoded
+            log.debug("Could not read Exif orientation: {}", e.getMessage());
+        }
+        return image;
+    }
 
-            return ImageCompressionDTO.builder()
-                    .originalFileName(originalFileName)
-                    .originalFileSize(originalFileSize)
-                    .compressedFileSize(compressedFileSize)
-                    .compressionRatio(compressionRatio)
-                    .contentType(contentType)
-                    .width(width)
-                    .height(height)
-                    .build();
+    /**
+     * Resize the decoded raster to each variant width and encode it once. Variants that would
+     * not be narrower than the image are skipped; the full image serves those sizes.
+     */
+    private List<ImageVariant> createVariants(BufferedImage image, String outputFormat, float quality) throws IOException {
+        List<ImageVariant> variants = new ArrayList<>(2);
+        addVariant(variants, VARIANT_THUMB, thumbWidth, image, outputFormat, quality);
+        addVariant(variants, VARIANT_MEDIUM, mediumWidth, image, outputFormat, quality);
+        return variants;
+    }
 
-        } catch (IOException e) {
-            log.error("Error during image compression", e);
-            throw new ImageUploadException("Failed to compress image: " + e.getMessage(), e);
+    private void addVariant(List<ImageVariant> variants, String name, int width,
+                            BufferedImage image, String outputFormat, float quality) throws IOException {
+        if (width <= 0 || width >= image.getWidth()) {
+            return;
         }
+        BufferedImage resized = Thumbnails.of(image)
+                .width(width)
+                .asBufferedImage();
+        byte[] bytes = encode(resized, outputFormat, quality);
+        variants.add(new ImageVariant(name, bytes, resized.getWidth(), resized.getHeight()));
+        log.debug("Created {} variant {}x{}, {} bytes", name, resized.getWidth(), resized.getHeight(), bytes.length);
     }
 
     /**
-     * Compress image to target size by iteratively reducing quality
-     * Ensures image doesn't exceed 500KB
-     * @param image BufferedImage to compress
-     * @param width Image width
-     * @param height Image height
+     * Result of the target-size search
+     */
+    private record EncodedImage(byte[] bytes, int width, int height, int attempts) {
+    }
+
+    /**
+     * Compress image to the target size with as few encodes as possible.
+     * The decoded raster is already scaled to the maximum dimensions and is encoded as is;
+     * lossy formats bisect on quality, seeded by the first encode's size, and only if the
+     * minimum quality is still too large is the raster scaled down (once per scale step).
+     * @param image Decoded image, already within the maximum dimensions
      * @param outputFormat Output format (jpeg, png, etc)
      * @param initialQuality Starting quality (0.0 to 1.0)
-     * @return Compressed image bytes
+     * @return Encoded bytes, their dimensions and the number of encodes it took
      */
-    private byte[] compressToTargetSize(BufferedImage image, int width, int height,
-                                       String outputFormat, float initialQuality) throws IOException {
-        float quality = initialQuality;
-        float scaleFactor = 1.0f;
-        byte[] compressedBytes = null;
-
-        // First attempt: compress with original dimensions and quality
-        compressedBytes = compressImage(image, width, height, outputFormat, quality);
-
-        // If still over target size, iteratively reduce quality and/or scale
-        int attempts = 0;
-        int maxAttempts = 15;
+    private EncodedImage compressToTargetSize(BufferedImage image, String outputFormat,
+                                              float initialQuality) throws IOException {
+        int attempts = 1;
+        byte[] firstBytes = encode(image, outputFormat, initialQuality);
+        if (firstBytes.length <= targetFileSizeBytes) {
+            log.info("Image compressed to {} bytes in 1 encode", firstBytes.length);
+            return new EncodedImage(firstBytes, image.getWidth(), image.getHeight(), attempts);
+        }
 
-        while (compressedBytes.length > targetFileSizeBytes && attempts < maxAttempts) {
-            attempts++;
+        byte[] smallest = firstBytes;
+        float quality = initialQuality;
 
-            // Reduce quality more aggressively for JPEG
-            if ("jpeg".equalsIgnoreCase(outputFormat)) {
-                quality = Math.max(0.10f, quality - 0.08f); // Reduce by 8% each iteration, min 10%
-            } else if ("png".equalsIgnoreCase(outputFormat)) {
-                // For PNG, scale down image instead
-                scaleFactor *= 0.9f;
-                quality = Math.max(0.10f, quality - 0.05f);
-            } else if ("webp".equalsIgnoreCase(outputFormat)) {
-                quality = Math.max(0.10f, quality - 0.10f);
-            } else {
-                quality = Math.max(0.10f, quality - 0.08f);
+        if (isLossy(outputFormat) && initialQuality > MIN_QUALITY) {
+            // Encoded size falls roughly in proportion to quality, so the first guess usually lands close
+            float low = MIN_QUALITY;
+            float high = initialQuality;
+            float guess = clamp(initialQuality * targetFileSizeBytes / firstBytes.length, low, high);
+            byte[] fitting = null;
+            while (attempts < maxEncodeAttempts && high - low > QUALITY_TOLERANCE) {
+                byte[] candidate = encode(image, outputFormat, guess);
+                attempts++;
+                log.debug("Compression attempt {}: quality={}, size={} bytes",
+                        attempts, String.format("%.2f", guess), candidate.length);
+                if (candidate.length <= targetFileSizeBytes) {
+                    low = guess;
+                    fitting = candidate;
+                } else {
+                    high = guess;
+                    if (candidate.length < smallest.length) {
+                        smallest = candidate;
+                    }
+                }
+                guess = (low + high) / 2;
             }
+            if (fitting != null) {
+                log.info("Image compressed to {} bytes at quality {} in {} encodes",
+                        fitting.length, String.format("%.2f", low), attempts);
+                return new EncodedImage(fitting, image.getWidth(), image.getHeight(), attempts);
+            }
+            quality = low;
+        }
 
-            int newWidth = (int) (width * scaleFactor);
-            int newHeight = (int) (height * scaleFactor);
-
-            // Ensure minimum dimensions
-            newWidth = Math.max(100, newWidth);
-            newHeight = Math.max(100, newHeight);
+        // Quality alone is not enough: scale down, using bytes roughly proportional to pixel count
+        BufferedImage scaled = image;
+        while (attempts < maxEncodeAttempts && smallest.length > targetFileSizeBytes) {
+            double factor = Math.sqrt((double) targetFileSizeBytes / smallest.length) * SCALE_HEADROOM;
+            int newWidth = Math.max(MIN_DIMENSION, (int) (scaled.getWidth() * factor));
+            int newHeight = Math.max(MIN_DIMENSION, (int) (scaled.getHeight() * factor));
+            if (newWidth >= scaled.getWidth() && newHeight >= scaled.getHeight()) {
+                break;
+            }
+            scaled = Thumbnails.of(image)
+                    .size(newWidth, newHeight)
+                    .asBufferedImage();
+            smallest = encode(scaled, outputFormat, quality);
+            attempts++;
+            log.debug("Compression attempt {}: quality={}, size={}x{}, {} bytes",
+                    attempts, String.format("%.2f", quality), scaled.getWidth(), scaled.getHeight(), smallest.length);
+        }
 
-            compressedBytes = compressImage(image, newWidth, newHeight, outputFormat, quality);
+        if (smallest.length > targetFileSizeBytes) {
+            log.warn("Image compression: could not reach the {} byte target in {} encodes. Final size: {} bytes",
+                    targetFileSizeBytes, attempts, smallest.length);
+        } else {
+            log.info("Image compressed to {} bytes at {}x{} in {} encodes",
+                    smallest.length, scaled.getWidth(), scaled.getHeight(), attempts);
+        }
+        return new EncodedImage(smallest, scaled.getWidth(), scaled.getHeight(), attempts);
+    }
 
-            log.debug("Compression attempt {}: quality={}, scale={}, size={} bytes",
-                    attempts, String.format("%.2f", quality), String.format("%.2f", scaleFactor), compressedBytes.length);
+    /**
+     * Encode the raster as is, without resizing
+     * @param image BufferedImage to encode
+     * @param outputFormat Output format
+     * @param quality Quality percentage, used by lossy formats
+     * @return Encoded image bytes
+     */
+    private byte[] encode(BufferedImage image, String outputFormat, float quality) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName(outputFormat);
+        if (!writers.hasNext()) {
+            // No ImageIO writer for this format; let Thumbnailator choose one
+            return compressImage(image, image.getWidth(), image.getHeight(), outputFormat, quality);
         }
+        BufferedImage source = "jpeg".equals(outputFormat) ? withoutAlpha(image) : image;
+        ImageWriter writer = writers.next();
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ImageOutputStream imageOutput = new MemoryCacheImageOutputStream(output)) {
+            writer.setOutput(imageOutput);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (isLossy(outputFormat) && param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionType() == null && param.getCompressionTypes() != null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(quality);
+            }
+            writer.write(null, new IIOImage(source, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return output.toByteArray();
+    }
 
-        if (compressedBytes.length > targetFileSizeBytes) {
-            log.warn("Image compression: Could not reduce below 500KB target. Final size: {} bytes",
-                    compressedBytes.length);
-        } else {
-            log.info("Image successfully compressed to {} bytes (under 500KB target)",
-                    compressedBytes.length);
+    /**
+     * JPEG has no alpha channel; draw onto white like Thumbnailator does
+     */
+    private static BufferedImage withoutAlpha(BufferedImage image) {
+        if (!image.getColorModel().hasAlpha()) {
+            return image;
         }
+        BufferedImage rgb = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        try {
+            graphics.drawImage(image, 0, 0, Color.WHITE, null);
+        } finally {
+            graphics.dispose();
+        }
+        return rgb;
+    }
 
-        return compressedBytes;
+    private static boolean isLossy(String outputFormat) {
+        return "jpeg".equals(outputFormat) || "webp".equals(outputFormat);
+    }
+
+    private static float clamp(float value, float min, float max) {
+        return Math.max(min, Math.min(max, value));
     }
 
     /**
-     * Compress image with specified parameters
+     * Compress image with Thumbnailator, for formats ImageIO cannot write directly
      * @param image BufferedImage to compress
      * @param width Target width
      * @param height Target height
@@ -390,199 +665,6 @@ public class ImageCompressionService {
         return output.toByteArray();
     }
 
-    /**
-     * Get compressed image as InputStream
-     * @param file Original image file
-     * @param quality Compression quality level
-     * @return InputStream of compressed image
-     */
-    public InputStream getCompressedImageInputStream(MultipartFile file, CompressionQuality quality) {
-        try {
-            validateImageFile(file);
-
-            String originalFileName = file.getOriginalFilename();
-            String contentType = file.getContentType();
-
-            log.info("Generating compressed image stream for: {}", originalFileName);
-
-            // Read file bytes with error handling
-            byte[] fileBytes;
-            try {
-                fileBytes = file.getBytes();
-                if (fileBytes == null || fileBytes.length == 0) {
-                    throw new ImageUploadException("File bytes are null or empty");
-                }
-                log.info("Successfully read {} bytes from file for stream generation: {}", fileBytes.length, originalFileName);
-            } catch (IOException e) {
-                log.error("Failed to read bytes from file: {}", originalFileName, e);
-                throw new ImageUploadException("Failed to read file bytes: " + e.getMessage(), e);
-            }
-
-            // Read original image with better error handling
-            BufferedImage originalImage;
-            try {
-                // First, try to verify the file bytes start with valid image magic bytes
-                if (fileBytes.length < 4) {
-                    throw new ImageUploadException("File is too small to be a valid image");
-                }
-                
-                // Check for common image format magic bytes and detect actual format
-                String detectedFormat = null;
-                boolean isValidImage = false;
-                
-                if (fileBytes[0] == (byte)0xFF && fileBytes[1] == (byte)0xD8) {
-                    // JPEG
-                    detectedFormat = "JPEG";
-                    isValidImage = true;
-                } else if (fileBytes[0] == (byte)0x89 && fileBytes[1] == (byte)0x50 && 
-                          fileBytes[2] == (byte)0x4E && fileBytes[3] == (byte)0x47) {
-                    // PNG
-                    detectedFormat = "PNG";
-                    isValidImage = true;
-                } else if (fileBytes[0] == (byte)0x47 && fileBytes[1] == (byte)0x49 && 
-                          fileBytes[2] == (byte)0x46) {
-                    // GIF
-                    detectedFormat = "GIF";
-                    isValidImage = true;
-                } else if (fileBytes[0] == (byte)0x52 && fileBytes[1] == (byte)0x49 && 
-                          fileBytes[2] == (byte)0x46 && fileBytes[3] == (byte)0x46) {
-                    // RIFF header - could be WebP or other RIFF format
-                    if (fileBytes.length > 11 &&
-                        fileBytes[8] == (byte)0x57 && fileBytes[9] == (byte)0x45 && 
-                        fileBytes[10] == (byte)0x42 && fileBytes[11] == (byte)0x50) {
-                        // WebP
-                        detectedFormat = "WebP";
-                        isValidImage = true;
-                    } else {
-                        // RIFF but not WebP - might be incomplete or corrupted
-                        detectedFormat = "RIFF (not WebP)";
-                        log.warn("File has RIFF header but missing WebP signature for stream. File: {}, Size: {} bytes", 
-                                originalFileName, fileBytes.length);
-                    }
-                }
-                
-                // Check for format mismatch between content type and detected format
-                if (detectedFormat != null && contentType != null) {
-                    String expectedFormat = contentType.contains("jpeg") || contentType.contains("jpg") ? "JPEG" :
-                                           contentType.contains("png") ? "PNG" :
-                                           contentType.contains("gif") ? "GIF" :
-                                           contentType.contains("webp") ? "WebP" : null;
-                    
-                    if (expectedFormat != null && !detectedFormat.equals(expectedFormat) && 
-                        !detectedFormat.startsWith("RIFF")) {
-                        log.warn("Format mismatch detected for stream. File: {}, Content-Type: {} (expects {}), Actual format: {}", 
-                                originalFileName, contentType, expectedFormat, detectedFormat);
-                    }
-                }
-                
-                if (!isValidImage) {
-                    String hexBytes = String.format("%02X %02X %02X %02X", 
-                            fileBytes[0] & 0xFF, fileBytes[1] & 0xFF, 
-                            fileBytes[2] & 0xFF, fileBytes[3] & 0xFF);
-                    String formatInfo = detectedFormat != null ? 
-                            String.format(" Detected format: %s", detectedFormat) : "";
-                    log.error("File does not appear to be a valid image based on magic bytes for stream. File: {}, First bytes: {}, Content-Type: {}.{}", 
-                            originalFileName, hexBytes, contentType, formatInfo);
-                    throw new ImageUploadException(
-                            String.format("Invalid image format. File '%s' does not have valid image magic bytes. First bytes: %s. Content-Type: %s.%s The file may be corrupted, incomplete, or not a valid image file.", 
-                            originalFileName, hexBytes, contentType, formatInfo));
-                }
-                
-                log.info("Detected image format for stream: {} for file: {} (Content-Type: {})", 
-                        detectedFormat, originalFileName, contentType);
-                
-                // Try to read image with Thumbnailator
-                try {
-                    originalImage = Thumbnails.of(new ByteArrayInputStream(fileBytes))
-                            .size(maxWidth, maxHeight)
-                            .asBufferedImage();
-                } catch (net.coobird.thumbnailator.tasks.UnsupportedFormatException e) {
-                    // If Thumbnailator fails, try Java ImageIO as fallback
-                    log.warn("Thumbnailator failed to read image for stream, trying Java ImageIO as fallback. File: {}, Detected format: {}", 
-                            originalFileName, detectedFormat);
-                    try {
-                        javax.imageio.ImageIO.setUseCache(false);
-                        originalImage = javax.imageio.ImageIO.read(new ByteArrayInputStream(fileBytes));
-                        if (originalImage == null) {
-                            // Check if it's a format mismatch issue
-                            String formatMismatchMsg = "";
-                            if (detectedFormat != null && contentType != null) {
-                                boolean isMismatch = (detectedFormat.equals("WebP") && contentType.contains("jpeg")) ||
-                                                    (detectedFormat.equals("JPEG") && contentType.contains("webp")) ||
-                                                    (detectedFormat.startsWith("RIFF") && !contentType.contains("webp"));
-                                if (isMismatch) {
-                                    formatMismatchMsg = String.format(" Format mismatch: file appears to be %s but Content-Type is %s.", 
-                                            detectedFormat, contentType);
-                                }
-                            }
-                            throw new ImageUploadException(
-                                    String.format("Java ImageIO failed to read the image. The file may be corrupted, incomplete, or in an unsupported format.%s Please ensure the file is a valid, complete image file.", 
-                                    formatMismatchMsg));
-                        }
-                        // Resize if needed
-                        if (originalImage.getWidth() > maxWidth || originalImage.getHeight() > maxHeight) {
-                            double scaleX = (double) maxWidth / originalImage.getWidth();
-                            double scaleY = (double) maxHeight / originalImage.getHeight();
-                            double scale = Math.min(scaleX, scaleY);
-                            int newWidth = (int) (originalImage.getWidth() * scale);
-                            int newHeight = (int) (originalImage.getHeight() * scale);
-                            originalImage = Thumbnails.of(originalImage)
-                                    .size(newWidth, newHeight)
-                                    .asBufferedImage();
-                        }
-                        log.info("Successfully read image using Java ImageIO fallback for stream. Dimensions: {}x{}", 
-                                originalImage.getWidth(), originalImage.getHeight());
-                    } catch (ImageUploadException imgEx) {
-                        // Re-throw ImageUploadException as-is
-                        throw imgEx;
-                    } catch (Exception ioException) {
-                        // Check for format mismatch
-                        String formatMismatchMsg = "";
-                        if (detectedFormat != null && contentType != null) {
-                            boolean isMismatch = (detectedFormat.equals("WebP") && contentType.contains("jpeg")) ||
-                                                (detectedFormat.equals("JPEG") && contentType.contains("webp")) ||
-                                                (detectedFormat.startsWith("RIFF") && !contentType.contains("webp"));
-                            if (isMismatch) {
-                                formatMismatchMsg = String.format(" CRITICAL: Format mismatch detected - file appears to be %s but Content-Type is %s. The file extension may be incorrect.", 
-                                        detectedFormat, contentType);
-                            }
-                        }
-                        log.error("Both Thumbnailator and Java ImageIO failed to read image for stream. File: {}, Size: {} bytes, Content-Type: {}, Detected format: {}, Error: {}", 
-                                originalFileName, fileBytes.length, contentType, detectedFormat, ioException.getMessage(), ioException);
-                        throw new ImageUploadException(
-                                String.format("Failed to read image data. The file '%s' may be corrupted, incomplete, or in an unsupported format.%s Thumbnailator error: %s, ImageIO error: %s. Please ensure the file is a valid, complete image file and the file extension matches the actual format.", 
-                                originalFileName, formatMismatchMsg, e.getMessage(), ioException.getMessage()), e);
-                    }
-                }
-            } catch (ImageUploadException e) {
-                // Re-throw ImageUploadException as-is
-                throw e;
-            } catch (Exception e) {
-                log.error("Failed to read image from bytes for stream. File: {}, Size: {} bytes, ContentType: {}, Error: {}", 
-                        originalFileName, fileBytes.length, contentType, e.getMessage(), e);
-                throw new ImageUploadException("Failed to read image data. The file may be corrupted or in an unsupported format: " + e.getMessage(), e);
-            }
-
-            int width = originalImage.getWidth();
-            int height = originalImage.getHeight();
-
-            // Determine output format from content type
-            String outputFormat = getOutputFormat(contentType);
-
-            // Compress image to target size
-            byte[] compressedImageBytes = compressToTargetSize(originalImage, width, height,
-                    outputFormat, quality.getQualityPercentage());
-
-            log.info("Compressed image stream ready. Size: {} bytes", compressedImageBytes.length);
-
-            return new ByteArrayInputStream(compressedImageBytes);
-
-        } catch (IOException e) {
-            log.error("Error generating compressed image stream", e);
-            throw new ImageUploadException("Failed to compress image: " + e.getMessage(), e);
-        }
-    }
-
     /**
      * Get compression quality from string
      * @param qualityStr Quality string (HIGH, MEDIUM, LOW)
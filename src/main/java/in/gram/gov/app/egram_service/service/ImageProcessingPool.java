@@ -0,0 +1,334 @@
+package in.gram.gov.app.egram_service.service;
+
+import in.gram.gov.app.egram_service.constants.exception.ImageUploadException;
+import in.gram.gov.app.egram_service.constants.exception.ServiceUnavailableException;
+import in.gram.gov.app.egram_service.constants.security.TenantContext;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs image decode/encode work on a small CPU-sized pool instead of request threads, so the
+ * number of full-resolution rasters in the heap is bounded by the worker count.
+ * Jobs are ordered by start-time fair queuing per tenant ({@link TenantContext#getTenantId()}):
+ * a job's start tag is the later of the virtual time and its tenant's previous finish tag, the
+ * finish tag adds its upload size over the tenant's weight, and the job with the lowest start tag
+ * runs next, so one panchayat uploading a batch of large photos cannot starve another's single upload.
+ * The queue is bounded overall and per tenant; when either is full, or a job waits longer than
+ * {@code image.pool.max-wait-ms} before starting, the caller gets a 503 with Retry-After.
+ */
+@Service
+@Slf4j
+public class ImageProcessingPool {
+    // Uploads without a tenant (platform landing page, super admin) share one queue
+    private static final Long SHARED_TENANT = 0L;
+
+    private final int workerCount;
+    private final int queueCapacity;
+    private final int maxQueuedPerTenant;
+    private final long maxWaitMs;
+    private final double sharedWeight;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition jobAvailable = lock.newCondition();
+    private final PriorityQueue<Job<?>> queue = new PriorityQueue<>(
+            Comparator.comparingDouble((Job<?> job) -> job.startTag).thenComparingLong(job -> job.sequence));
+    private final Map<Long, Integer> queuedByTenant = new HashMap<>();
+    private final Map<Long, Double> lastFinishByTenant = new HashMap<>();
+    private double virtualTime;
+    private long sequence;
+    private int active;
+    private boolean running = true;
+
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong totalWaitMs = new AtomicLong();
+    private final AtomicLong maxObservedWaitMs = new AtomicLong();
+    private volatile double averageServiceMs = 1000;
+
+    private static final class Job<T> {
+        private final Callable<T> task;
+        private final Long tenant;
+        private final double startTag;
+        private final double finishTag;
+        private final long sequence;
+        private final long enqueuedAt = System.nanoTime();
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private boolean started;
+
+        private Job(Callable<T> task, Long tenant, double startTag, double finishTag, long sequence) {
+            this.task = task;
+            this.tenant = tenant;
+            this.startTag = startTag;
+            this.finishTag = finishTag;
+            this.sequence = sequence;
+        }
+    }
+
+    public ImageProcessingPool(@Value("${image.pool.workers:0}") int workers,
+                               @Value("${image.pool.queue-capacity:32}") int queueCapacity,
+                               @Value("${image.pool.max-queued-per-tenant:8}") int maxQueuedPerTenant,
+                               @Value("${image.pool.max-wait-ms:30000}") long maxWaitMs,
+                               @Value("${image.pool.shared-weight:1.0}") double sharedWeight) {
+        this.workerCount = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity;
+        this.maxQueuedPerTenant = maxQueuedPerTenant;
+        this.maxWaitMs = maxWaitMs;
+        this.sharedWeight = sharedWeight;
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::work, "image-worker-" + (i + 1));
+            worker.setDaemon(true);
+            worker.start();
+        }
+        log.info("ImageProcessingPool started - workers={}, queueCapacity={}, maxQueuedPerTenant={}",
+                workerCount, queueCapacity, maxQueuedPerTenant);
+    }
+
+    /**
+     * Run a task on an image worker and wait for its result
+     * @param cost Relative cost of the job, normally the upload size in bytes
+     * @param task Work to run; must not rely on request thread-locals
+     * @return The task's result
+     * @throws ServiceUnavailableException if the queue is full or the job could not start in time
+     */
+    public <T> T execute(long cost, Callable<T> task) {
+        Long tenantId = TenantContext.getTenantId();
+        Long tenant = tenantId != null ? tenantId : SHARED_TENANT;
+        Job<T> job;
+        lock.lock();
+        try {
+            if (!running) {
+                throw new ServiceUnavailableException("Image processing is shutting down", retryAfterSeconds());
+            }
+            int queuedForTenant = queuedByTenant.getOrDefault(tenant, 0);
+            if (queue.size() >= queueCapacity || queuedForTenant >= maxQueuedPerTenant) {
+                rejected.incrementAndGet();
+                log.warn("Image queue full - tenant={}, queued={}, queuedForTenant={}", tenant, queue.size(), queuedForTenant);
+                throw new ServiceUnavailableException("Image processing is busy, please retry shortly", retryAfterSeconds());
+            }
+            double start = Math.max(virtualTime, lastFinishByTenant.getOrDefault(tenant, 0.0));
+            double finish = start + Math.max(1, cost) / weightOf(tenant);
+            lastFinishByTenant.put(tenant, finish);
+            queuedByTenant.merge(tenant, 1, Integer::sum);
+            job = new Job<>(task, tenant, start, finish, sequence++);
+            queue.add(job);
+            jobAvailable.signal();
+        } finally {
+            lock.unlock();
+        }
+        return await(job);
+    }
+
+    private <T> T await(Job<T> job) {
+        try {
+            try {
+                return job.result.get(maxWaitMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (removeIfQueued(job)) {
+                    timedOut.incrementAndGet();
+                    throw new ServiceUnavailableException("Image processing is busy, please retry shortly", retryAfterSeconds());
+                }
+                // Already running; the raster is in memory, so let it finish
+                return job.result.get();
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new ImageUploadException("Image processing failed: " + cause.getMessage(), cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            removeIfQueued(job);
+            throw new ImageUploadException("Interrupted while waiting for image processing", e);
+        }
+    }
+
+    private boolean removeIfQueued(Job<?> job) {
+        lock.lock();
+        try {
+            if (job.started || !queue.remove(job)) {
+                return false;
+            }
+            releaseTenantSlot(job.tenant);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void work() {
+        while (true) {
+            Job<?> job;
+            lock.lock();
+            try {
+                while (running && queue.isEmpty()) {
+                    jobAvailable.await();
+                }
+                if (!running) {
+                    return;
+                }
+                job = queue.poll();
+                job.started = true;
+                active++;
+                // Start-time fair queuing: virtual time follows the start tag of the job entering service
+                virtualTime = Math.max(virtualTime, job.startTag);
+                releaseTenantSlot(job.tenant);
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            long startedAt = System.nanoTime();
+            long waitedMs = TimeUnit.NANOSECONDS.toMillis(startedAt - job.enqueuedAt);
+            started.incrementAndGet();
+            totalWaitMs.addAndGet(waitedMs);
+            maxObservedWaitMs.accumulateAndGet(waitedMs, Math::max);
+            run(job);
+            long serviceMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            averageServiceMs = averageServiceMs * 0.8 + serviceMs * 0.2;
+            completed.incrementAndGet();
+
+            lock.lock();
+            try {
+                active--;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static <T> void run(Job<T> job) {
+        try {
+            job.result.complete(job.task.call());
+        } catch (Throwable t) {
+            job.result.completeExceptionally(t);
+        }
+    }
+
+    // Caller holds the lock
+    private void releaseTenantSlot(Long tenant) {
+        int remaining = queuedByTenant.merge(tenant, -1, Integer::sum);
+        if (remaining <= 0) {
+            queuedByTenant.remove(tenant);
+        }
+        // Idle tenants whose tags are behind virtual time carry no state worth keeping
+        lastFinishByTenant.entrySet().removeIf(entry ->
+                entry.getValue() <= virtualTime && !queuedByTenant.containsKey(entry.getKey()));
+    }
+
+    private double weightOf(Long tenant) {
+        return SHARED_TENANT.equals(tenant) ? sharedWeight : 1.0;
+    }
+
+    private long retryAfterSeconds() {
+        lock.lock();
+        try {
+            double seconds = (queue.size() + active) * averageServiceMs / workerCount / 1000;
+            return Math.max(1, Math.min(60, (long) Math.ceil(seconds)));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        List<Job<?>> pending;
+        lock.lock();
+        try {
+            running = false;
+            pending = new ArrayList<>(queue);
+            queue.clear();
+            queuedByTenant.clear();
+            jobAvailable.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        log.info("ImageProcessingPool.shutdown called - pending={}", pending.size());
+        for (Job<?> job : pending) {
+            job.result.completeExceptionally(new ServiceUnavailableException("Image processing is shutting down", 5));
+        }
+    }
+
+    public int getWorkerCount() {
+        return workerCount;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public int getQueued() {
+        lock.lock();
+        try {
+            return queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getActive() {
+        lock.lock();
+        try {
+            return active;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getQueuedTenants() {
+        lock.lock();
+        try {
+            return queuedByTenant.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getTimedOut() {
+        return timedOut.get();
+    }
+
+    public long getAverageWaitMs() {
+        long count = started.get();
+        return count > 0 ? totalWaitMs.get() / count : 0;
+    }
+
+    public long getMaxWaitMs() {
+        return maxObservedWaitMs.get();
+    }
+
+    public long getAverageServiceMs() {
+        return Math.round(averageServiceMs);
+    }
+}
@@ -1,5 +1,6 @@
 package in.gram.gov.app.egram_service.service;
 
+import in.gram.gov.app.egram_service.constants.enums.ReactionType;
 import in.gram.gov.app.egram_service.domain.entity.Like;
 import in.gram.gov.app.egram_service.domain.repository.LikeRepository;
 import lombok.RequiredArgsConstructor;
@@ -14,11 +15,14 @@ import java.util.Optional;
 @Slf4j
 public class LikeService {
     private final LikeRepository likeRepository;
+    private final PostService postService;
 
     @Transactional
     public Like create(Like like) {
         log.info("LikeService.create called - postId={}, userId={}", like.getPost() != null ? like.getPost().getId() : null, like.getUser() != null ? like.getUser().getId() : null);
-        return likeRepository.save(like);
+        Like saved = likeRepository.save(like);
+        adjustCounters(saved.getPost().getId(), saved.getReactionType(), 1);
+        return saved;
     }
 
     public Optional<Like> findByPostIdAndUserId(Long postId, Long userId) {
@@ -39,6 +43,68 @@ public class LikeService {
     @Transactional
     public void delete(Long id) {
         log.info("LikeService.delete called - id={}", id);
-        likeRepository.deleteById(id);
+        likeRepository.findById(id).ifPresent(like -> {
+            Long postId = like.getPost().getId();
+            ReactionType reactionType = like.getReactionType();
+            likeRepository.delete(like);
+            adjustCounters(postId, reactionType, -1);
+        });
+    }
+
+    /**
+     * Toggle a visitor's reaction: add it, remove it when the same type is sent again, or
+     * switch to the new type. Dedupe is done by the unique (post, visitor) constraint and
+     * counters only move when a statement actually changed a row.
+     * @return The visitor's reaction after the toggle, or null when none remains
+     */
+    @Transactional
+    public ReactionType toggleVisitorReaction(Long postId, String visitorIdentifier, ReactionType reactionType) {
+        log.info("LikeService.toggleVisitorReaction called - postId={}, reactionType={}", postId, reactionType);
+        if (likeRepository.insertVisitorReaction(postId, visitorIdentifier, reactionType.name()) == 1) {
+            adjustCounters(postId, reactionType, 1);
+            return reactionType;
+        }
+
+        ReactionType current = findVisitorReaction(postId, visitorIdentifier);
+        if (current == null) {
+            // Removed concurrently between the insert and the read
+            return null;
+        }
+        if (current == reactionType) {
+            if (likeRepository.deleteVisitorReaction(postId, visitorIdentifier, current.name()) == 1) {
+                adjustCounters(postId, current, -1);
+            }
+            return null;
+        }
+        if (likeRepository.changeVisitorReaction(postId, visitorIdentifier, current.name(), reactionType.name()) == 1) {
+            postService.adjustReactionCount(postId, current, -1);
+            postService.adjustReactionCount(postId, reactionType, 1);
+            return reactionType;
+        }
+        return findVisitorReaction(postId, visitorIdentifier);
+    }
+
+    /**
+     * Remove a visitor's reaction if there is one
+     */
+    @Transactional
+    public void removeVisitorReaction(Long postId, String visitorIdentifier) {
+        log.info("LikeService.removeVisitorReaction called - postId={}", postId);
+        ReactionType current = findVisitorReaction(postId, visitorIdentifier);
+        if (current != null && likeRepository.deleteVisitorReaction(postId, visitorIdentifier, current.name()) == 1) {
+            adjustCounters(postId, current, -1);
+        }
+    }
+
+    public ReactionType findVisitorReaction(Long postId, String visitorIdentifier) {
+        log.debug("LikeService.findVisitorReaction called - postId={}", postId);
+        String reactionType = likeRepository.findVisitorReactionType(postId, visitorIdentifier);
+        return reactionType != null ? ReactionType.valueOf(reactionType) : null;
+    }
+
+    // like_count is the total over all reaction types
+    private void adjustCounters(Long postId, ReactionType reactionType, long delta) {
+        postService.adjustLikeCount(postId, delta);
+        postService.adjustReactionCount(postId, reactionType, delta);
     }
 }
@@ -0,0 +1,370 @@
+package in.gram.gov.app.egram_service.service;
+
+import in.gram.gov.app.egram_service.constants.enums.CompressionQuality;
+import in.gram.gov.app.egram_service.constants.enums.MediaJobStatus;
+import in.gram.gov.app.egram_service.constants.enums.MediaJobTarget;
+import in.gram.gov.app.egram_service.constants.enums.MediaStatus;
+import in.gram.gov.app.egram_service.constants.enums.PublicResourceType;
+import in.gram.gov.app.egram_service.constants.exception.ResourceNotFoundException;
+import in.gram.gov.app.egram_service.constants.exception.ServiceUnavailableException;
+import in.gram.gov.app.egram_service.constants.security.TenantContext;
+import in.gram.gov.app.egram_service.domain.entity.MediaJob;
+import in.gram.gov.app.egram_service.domain.repository.GalleryImageRepository;
+import in.gram.gov.app.egram_service.domain.repository.MediaJobRepository;
+import in.gram.gov.app.egram_service.domain.repository.PostRepository;
+import in.gram.gov.app.egram_service.dto.response.ImageCompressionDTO;
+import in.gram.gov.app.egram_service.utility.TransactionCallbacks;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Background uploads for posts and gallery images created in async mode. The request saves the
+ * row with media status PROCESSING and a media_jobs row, and returns the job id; once that
+ * transaction commits the upload runs on {@code media.jobs.workers} threads here, which compress
+ * and store it with no transaction open and then patch the row in a short one.
+ * Uploads are held in memory until they finish, so at most {@code media.jobs.max-pending} may be
+ * outstanding; beyond that the request gets a 503 with Retry-After.
+ * Jobs do not survive a restart: the sweep marks jobs that stopped making progress as FAILED.
+ */
+@Service
+@Slf4j
+public class MediaJobService {
+    private static final int MAX_ERROR_LENGTH = 500;
+    private static final List<MediaJobStatus> ACTIVE = List.of(MediaJobStatus.QUEUED, MediaJobStatus.PROCESSING);
+    private static final List<MediaJobStatus> FINISHED = List.of(MediaJobStatus.COMPLETED, MediaJobStatus.FAILED);
+
+    private final MediaJobRepository mediaJobRepository;
+    private final PostRepository postRepository;
+    private final GalleryImageRepository galleryImageRepository;
+    private final CloudStorageService cloudStorageService;
+    private final ContentVersionService contentVersionService;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxPending;
+    private final int maxAttempts;
+    private final long staleAfterMs;
+    private final int retentionDays;
+
+    private final ScheduledThreadPoolExecutor executor;
+    private final AtomicInteger pending = new AtomicInteger();
+
+    public MediaJobService(MediaJobRepository mediaJobRepository,
+                           PostRepository postRepository,
+                           GalleryImageRepository galleryImageRepository,
+                           CloudStorageService cloudStorageService,
+                           ContentVersionService contentVersionService,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${media.jobs.workers:4}") int workers,
+                           @Value("${media.jobs.max-pending:32}") int maxPending,
+                           @Value("${media.jobs.max-attempts:5}") int maxAttempts,
+                           @Value("${media.jobs.stale-after-ms:600000}") long staleAfterMs,
+                           @Value("${media.jobs.retention-days:7}") int retentionDays) {
+        this.mediaJobRepository = mediaJobRepository;
+        this.postRepository = postRepository;
+        this.galleryImageRepository = galleryImageRepository;
+        this.cloudStorageService = cloudStorageService;
+        this.contentVersionService = contentVersionService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxPending = maxPending;
+        this.maxAttempts = maxAttempts;
+        this.staleAfterMs = staleAfterMs;
+        this.retentionDays = retentionDays;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ScheduledThreadPoolExecutor(workers, runnable -> {
+            Thread thread = new Thread(runnable, "media-job-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Record a job uploading this file to the target row, started once the caller's transaction commits.
+     * The target must already be saved with media status PROCESSING.
+     * @return The saved job
+     * @throws ServiceUnavailableException if too many uploads are outstanding
+     */
+    public MediaJob enqueue(MediaJobTarget targetType, Long targetId, MultipartFile file, CompressionQuality quality) {
+        log.info("MediaJobService.enqueue called - targetType={}, targetId={}", targetType, targetId);
+        if (pending.incrementAndGet() > maxPending) {
+            pending.decrementAndGet();
+            throw new ServiceUnavailableException("Too many image uploads in progress, please retry shortly", 5);
+        }
+
+        try {
+            BufferedUpload upload = BufferedUpload.of(file);
+            MediaJob job = mediaJobRepository.save(MediaJob.builder()
+                    .id(UUID.randomUUID().toString())
+                    .panchayatId(TenantContext.getTenantId())
+                    .targetType(targetType)
+                    .targetId(targetId)
+                    .compressionQuality(quality)
+                    .build());
+            TransactionCallbacks.afterCompletion(() -> submit(job.getId(), upload, 0), pending::decrementAndGet);
+            return job;
+        } catch (RuntimeException e) {
+            pending.decrementAndGet();
+            throw e;
+        }
+    }
+
+    /**
+     * Find a job of the current panchayat
+     * @throws ResourceNotFoundException if no such job exists for the tenant
+     */
+    public MediaJob findForTenant(String jobId) {
+        return mediaJobRepository.findByIdAndPanchayatId(jobId, TenantContext.getTenantId())
+                .orElseThrow(() -> new ResourceNotFoundException("Media job not found with id: " + jobId));
+    }
+
+    private void submit(String jobId, BufferedUpload upload, long delaySeconds) {
+        try {
+            executor.schedule(() -> run(jobId, upload), delaySeconds, TimeUnit.SECONDS);
+        } catch (RuntimeException e) {
+            // Executor shut down; the sweep fails the job
+            log.warn("Could not schedule media job {}: {}", jobId, e.getMessage());
+            pending.decrementAndGet();
+        }
+    }
+
+    private void run(String jobId, BufferedUpload upload) {
+        MediaJob job;
+        try {
+            job = transactionTemplate.execute(status -> mediaJobRepository.findById(jobId)
+                    .filter(found -> ACTIVE.contains(found.getStatus()))
+                    .map(found -> {
+                        found.setStatus(MediaJobStatus.PROCESSING);
+                        found.setAttempts(found.getAttempts() + 1);
+                        return found;
+                    })
+                    .orElse(null));
+        } catch (RuntimeException e) {
+            // Left to the sweep
+            log.error("Media job {} could not be started", jobId, e);
+            pending.decrementAndGet();
+            return;
+        }
+        if (job == null) {
+            // Failed by the sweep in the meantime
+            pending.decrementAndGet();
+            return;
+        }
+
+        TenantContext.setTenantId(job.getPanchayatId());
+        boolean done = true;
+        try {
+            ImageCompressionDTO result = cloudStorageService.storeImageWithVariants(upload, job.getCompressionQuality());
+            if (result.getBackblazeFileUrl() == null) {
+                fail(job, "Cloud storage is disabled");
+            } else {
+                complete(job, result);
+            }
+        } catch (ServiceUnavailableException e) {
+            if (job.getAttempts() < maxAttempts) {
+                log.info("Media job {} deferred for {}s: {}", jobId, e.getRetryAfterSeconds(), e.getMessage());
+                done = false;
+                submit(jobId, upload, Math.max(1, e.getRetryAfterSeconds()));
+            } else {
+                fail(job, e.getMessage());
+            }
+        } catch (Exception e) {
+            log.error("Media job {} failed", jobId, e);
+            fail(job, e.getMessage());
+        } finally {
+            TenantContext.clear();
+            if (done) {
+                pending.decrementAndGet();
+            }
+        }
+    }
+
+    private void complete(MediaJob job, ImageCompressionDTO result) {
+        boolean patched;
+        try {
+            patched = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                boolean attached = attach(job, result);
+                MediaJob current = mediaJobRepository.findById(job.getId()).orElse(null);
+                if (current != null) {
+                    current.setStatus(attached ? MediaJobStatus.COMPLETED : MediaJobStatus.FAILED);
+                    current.setResultUrl(attached ? result.getBackblazeFileUrl() : null);
+                    current.setErrorMessage(attached ? null : "Target was deleted or changed before the upload finished");
+                }
+                return attached;
+            }));
+        } catch (RuntimeException e) {
+            // The patch rolled back, so nothing points at the stored image
+            cloudStorageService.deleteImage(result.getBackblazeFileId());
+            throw e;
+        }
+
+        if (patched) {
+            bumpPublicResources(job);
+            log.info("Media job {} completed - url={}", job.getId(), result.getBackblazeFileUrl());
+        } else {
+            // Nothing points at the stored image; drop its reference
+            cloudStorageService.deleteImage(result.getBackblazeFileId());
+            log.info("Media job {} discarded its upload, target no longer waiting", job.getId());
+        }
+    }
+
+    // Only a row still waiting for this upload is patched; a newer edit or a delete wins
+    private boolean attach(MediaJob job, ImageCompressionDTO result) {
+        return switch (job.getTargetType()) {
+            case POST -> postRepository.findById(job.getTargetId())
+                    .filter(post -> post.getMediaStatus() == MediaStatus.PROCESSING)
+                    .map(post -> {
+                        post.setMediaUrl(result.getBackblazeFileUrl());
+                        post.setMediaVariants(result.getVariantUrls());
+                        post.setMediaStatus(MediaStatus.READY);
+                        return true;
+                    })
+                    .orElse(false);
+            case GALLERY_IMAGE -> galleryImageRepository.findById(job.getTargetId())
+                    .filter(image -> image.getImageStatus() == MediaStatus.PROCESSING)
+                    .map(image -> {
+                        image.setImageUrl(result.getBackblazeFileUrl());
+                        image.setImageVariants(result.getVariantUrls());
+                        image.setImageStatus(MediaStatus.READY);
+                        return true;
+                    })
+                    .orElse(false);
+        };
+    }
+
+    private void fail(MediaJob job, String error) {
+        String message = error == null ? "Upload failed" : error;
+        transactionTemplate.executeWithoutResult(status -> markFailed(job.getId(), message));
+        bumpPublicResources(job);
+        log.warn("Media job {} failed - {}", job.getId(), message);
+    }
+
+    private void markFailed(String jobId, String error) {
+        mediaJobRepository.findById(jobId).ifPresent(job -> {
+            job.setStatus(MediaJobStatus.FAILED);
+            job.setErrorMessage(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            switch (job.getTargetType()) {
+                case POST -> postRepository.findById(job.getTargetId())
+                        .filter(post -> post.getMediaStatus() == MediaStatus.PROCESSING)
+                        .ifPresent(post -> post.setMediaStatus(MediaStatus.FAILED));
+                case GALLERY_IMAGE -> galleryImageRepository.findById(job.getTargetId())
+                        .filter(image -> image.getImageStatus() == MediaStatus.PROCESSING)
+                        .ifPresent(image -> image.setImageStatus(MediaStatus.FAILED));
+            }
+        });
+    }
+
+    private void bumpPublicResources(MediaJob job) {
+        for (PublicResourceType type : job.getTargetType().getPublicResources()) {
+            contentVersionService.bump(job.getPanchayatId(), type);
+        }
+    }
+
+    /**
+     * Fail jobs that stopped making progress (lost on restart) and delete finished jobs past retention
+     */
+    @Scheduled(fixedDelayString = "${media.jobs.sweep-interval-ms:60000}")
+    public void sweep() {
+        LocalDateTime staleBefore = LocalDateTime.now().minusNanos(staleAfterMs * 1_000_000);
+        List<MediaJob> stale = mediaJobRepository.findByStatusInAndUpdatedAtBefore(ACTIVE, staleBefore);
+        for (MediaJob job : stale) {
+            transactionTemplate.executeWithoutResult(status -> markFailed(job.getId(), "Upload did not finish in time"));
+            bumpPublicResources(job);
+        }
+
+        LocalDateTime retainAfter = LocalDateTime.now().minusDays(retentionDays);
+        Integer deleted = transactionTemplate.execute(status -> mediaJobRepository.deleteFinishedBefore(FINISHED, retainAfter));
+        if (!stale.isEmpty() || (deleted != null && deleted > 0)) {
+            log.info("MediaJobService.sweep - failedStale={}, deletedFinished={}", stale.size(), deleted);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("MediaJobService.shutdown called - pending={}", pending.get());
+        executor.shutdownNow();
+    }
+
+    /**
+     * Upload copied out of the request, which discards its multipart data when it completes
+     */
+    private static final class BufferedUpload implements MultipartFile {
+        private final String name;
+        private final String originalFilename;
+        private final String contentType;
+        private final byte[] bytes;
+
+        private BufferedUpload(String name, String originalFilename, String contentType, byte[] bytes) {
+            this.name = name;
+            this.originalFilename = originalFilename;
+            this.contentType = contentType;
+            this.bytes = bytes;
+        }
+
+        private static BufferedUpload of(MultipartFile file) {
+            try {
+                return new BufferedUpload(file.getName(), file.getOriginalFilename(), file.getContentType(), file.getBytes());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read uploaded file", e);
+            }
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String getOriginalFilename() {
+            return originalFilename;
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return bytes.length == 0;
+        }
+
+        @Override
+        public long getSize() {
+            return bytes.length;
+        }
+
+        @Override
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public void transferTo(File dest) throws IOException {
+            Files.write(dest.toPath(), bytes);
+        }
+    }
+}
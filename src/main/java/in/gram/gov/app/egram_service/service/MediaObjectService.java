@@ -0,0 +1,145 @@
+package in.gram.gov.app.egram_service.service;
+
+import in.gram.gov.app.egram_service.constants.enums.CompressionQuality;
+import in.gram.gov.app.egram_service.domain.entity.MediaObject;
+import in.gram.gov.app.egram_service.domain.repository.MediaObjectRepository;
+import in.gram.gov.app.egram_service.utility.Digests;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Reference counts for content-addressed images (media_objects). Every row that points at a
+ * stored image holds one reference; the object and its variants are deleted from storage when
+ * the last reference is released.
+ * Each method commits on its own, so row locks are held only for the refcount change.
+ * {@link CloudStorageService} ties them to the caller's transaction: a reference is released only
+ * after the caller commits, and one taken during a transaction that rolls back is released again.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class MediaObjectService {
+    public static final String KEY_PREFIX = "media/";
+
+    private final MediaObjectRepository mediaObjectRepository;
+    private final S3CloudStorageService s3CloudStorageService;
+
+    /**
+     * Take a reference on the object an identical upload was compressed to at this quality
+     * @param withVariants Only match objects that were stored with their variants
+     * @return The referenced object, or empty if the upload has to be compressed
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<MediaObject> acquireByOriginal(String originalHash, CompressionQuality quality, boolean withVariants) {
+        return mediaObjectRepository.findFirstByOriginalHashAndCompressionQuality(originalHash, quality.name())
+                .filter(object -> !withVariants || object.getVariantKeys() != null)
+                .filter(object -> mediaObjectRepository.acquire(object.getId()) == 1);
+    }
+
+    /**
+     * Take a reference on the object with these compressed bytes
+     * @return The referenced object, or empty if no such object is stored
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public Optional<MediaObject> acquireByContent(String contentHash) {
+        return mediaObjectRepository.findByContentHash(contentHash)
+                .filter(object -> mediaObjectRepository.acquire(object.getId()) == 1);
+    }
+
+    /**
+     * Record a new object with one reference before its bytes are uploaded. Waits for a concurrent
+     * release of the same key to finish, so the upload cannot be deleted by it afterwards.
+     * @return true if recorded, false if an identical object was recorded concurrently
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean claim(MediaObject object) {
+        return mediaObjectRepository.claim(object.getFileKey(), object.getContentHash(), object.getOriginalHash(),
+                object.getCompressionQuality(), object.getContentType(), object.getSizeBytes(),
+                object.getWidth(), object.getHeight()) == 1;
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void setVariantKeys(String fileKey, Map<String, String> variantKeys) {
+        mediaObjectRepository.findByFileKeyForUpdate(fileKey)
+                .ifPresent(object -> object.setVariantKeys(variantKeys));
+    }
+
+    /**
+     * Drop a claim whose upload failed. An identical upload may have referenced the claimed object
+     * in the meantime and now points at its key, so the row is only deleted while the claim is the
+     * sole reference.
+     * @param fileKey Content-addressed file key
+     * @return true if the row is gone, false if other references hold it
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean abandon(String fileKey) {
+        Optional<MediaObject> found = mediaObjectRepository.findByFileKeyForUpdate(fileKey);
+        if (found.isEmpty()) {
+            return true;
+        }
+        if (found.get().getRefCount() > 1) {
+            return false;
+        }
+        mediaObjectRepository.delete(found.get());
+        return true;
+    }
+
+    /**
+     * Drop one reference. The last one deletes the object and its variants from storage while the
+     * row is still locked, so an upload of the same content waits and then stores a fresh copy.
+     * @param fileKey Content-addressed file key
+     * @return false if the key is not tracked
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public boolean release(String fileKey) {
+        log.info("MediaObjectService.release called - fileKey={}", fileKey);
+        Optional<MediaObject> found = mediaObjectRepository.findByFileKeyForUpdate(fileKey);
+        if (found.isEmpty()) {
+            return false;
+        }
+        MediaObject object = found.get();
+        if (object.getRefCount() > 1) {
+            object.setRefCount(object.getRefCount() - 1);
+            return true;
+        }
+
+        deleteFromStorage(object.getFileKey());
+        if (object.getVariantKeys() != null) {
+            object.getVariantKeys().values().forEach(this::deleteFromStorage);
+        }
+        mediaObjectRepository.delete(object);
+        log.info("Deleted unreferenced media object - fileKey={}", fileKey);
+        return true;
+    }
+
+    private void deleteFromStorage(String fileKey) {
+        try {
+            s3CloudStorageService.deleteImageFromB2(fileKey);
+        } catch (Exception e) {
+            log.warn("Failed to delete media object {} from storage: {}", fileKey, e.getMessage());
+        }
+    }
+
+    public static boolean isContentAddressed(String fileKey) {
+        return fileKey != null && fileKey.startsWith(KEY_PREFIX);
+    }
+
+    /**
+     * Storage key for compressed bytes, e.g. media/3a7bd3e2...c1.jpg
+     */
+    public static String fileKey(String contentHash, String contentType) {
+        String extension = switch (contentType == null ? "" : contentType) {
+            case "image/png" -> "png";
+            case "image/gif" -> "gif";
+            case "image/webp" -> "webp";
+            default -> "jpg";
+        };
+        return KEY_PREFIX + contentHash + "." + extension;
+    }
+}
@@ -28,12 +28,12 @@ public class NewsletterService {
                 .orElseThrow(() -> new ResourceNotFoundException("Newsletter", id));
     }
 
-    public Newsletter findPublishedByIdAndSlug(Long newsletterId, String slug) {
-        log.debug("NewsletterService.findPublishedByIdAndSlug called - newsletterId={}, slug={}", newsletterId, slug);
+    public Newsletter findPublishedByIdAndPanchayatId(Long newsletterId, Long panchayatId) {
+        log.debug("NewsletterService.findPublishedByIdAndPanchayatId called - newsletterId={}, panchayatId={}", newsletterId, panchayatId);
         Newsletter newsletter = newsletterRepository.findById(newsletterId)
                 .orElseThrow(() -> new ResourceNotFoundException("Newsletter", newsletterId));
         
-        if (!newsletter.getIsPublished() || !newsletter.getPanchayat().getSlug().equals(slug)) {
+        if (!newsletter.getIsPublished() || !newsletter.getPanchayat().getId().equals(panchayatId)) {
             throw new ResourceNotFoundException("Newsletter", newsletterId);
         }
         
@@ -50,17 +50,12 @@ public class NewsletterService {
         return newsletterRepository.findByPanchayatIdAndIsPublished(panchayatId, isPublished, pageable);
     }
 
-    public Page<Newsletter> findPublishedBySlug(String slug, Pageable pageable) {
-        log.info("NewsletterService.findPublishedBySlug called - slug={}, pageable={}", slug, pageable);
-        return newsletterRepository.findByPanchayatSlugAndPublished(slug, pageable);
-    }
-
-    public Page<Newsletter> findPublishedBySlugWithSearch(String slug, String search, Pageable pageable) {
-        log.info("NewsletterService.findPublishedBySlugWithSearch called - slug={}, search={}, pageable={}", slug, search, pageable);
+    public Page<Newsletter> findPublishedByPanchayatIdWithSearch(Long panchayatId, String search, Pageable pageable) {
+        log.info("NewsletterService.findPublishedByPanchayatIdWithSearch called - panchayatId={}, search={}, pageable={}", panchayatId, search, pageable);
         if (search == null || search.trim().isEmpty()) {
-            return findPublishedBySlug(slug, pageable);
+            return findByPanchayatIdAndIsPublished(panchayatId, true, pageable);
         }
-        return newsletterRepository.findByPanchayatSlugAndPublishedWithSearch(slug, search.trim(), pageable);
+        return newsletterRepository.findByPanchayatIdAndPublishedWithSearch(panchayatId, search.trim(), pageable);
     }
 
     @Transactional
@@ -0,0 +1,163 @@
+package in.gram.gov.app.egram_service.service;
+
+import in.gram.gov.app.egram_service.utility.BoundedRingBuffer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Buffers public page-view events in a bounded lock-free ring buffer and writes them to
+ * the analytics table from a background job in multi-row INSERTs. The request thread never
+ * touches the database; when the buffer is full events are dropped and counted.
+ */
+@Service
+@Slf4j
+public class PageViewIngestionService {
+    private static final String INSERT_PREFIX = "INSERT INTO analytics (panchayat_id, visitor_ip, page_url, referrer_url, " +
+            "user_agent, session_id, country_code, device_type, created_at, updated_at) VALUES ";
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final int ROWS_PER_STATEMENT = 100;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AnalyticsTopItemsService analyticsTopItemsService;
+    private final BoundedRingBuffer<PageViewEvent> buffer;
+    private final int batchSize;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public record PageViewEvent(Long panchayatId,
+                                String visitorIp,
+                                String pageUrl,
+                                String referrerUrl,
+                                String userAgent,
+                                String sessionId,
+                                String countryCode,
+                                String deviceType,
+                                LocalDateTime createdAt) {
+    }
+
+    public PageViewIngestionService(JdbcTemplate jdbcTemplate,
+                                    AnalyticsTopItemsService analyticsTopItemsService,
+                                    @Value("${analytics.beacon.buffer-capacity:16384}") int bufferCapacity,
+                                    @Value("${analytics.beacon.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.analyticsTopItemsService = analyticsTopItemsService;
+        this.buffer = new BoundedRingBuffer<>(bufferCapacity);
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Enqueue an event without blocking
+     * @param event Page view
+     * @return false when the buffer is full and the event was dropped
+     */
+    public boolean enqueue(PageViewEvent event) {
+        if (buffer.offer(event)) {
+            accepted.increment();
+            return true;
+        }
+        dropped.increment();
+        return false;
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.beacon.flush-interval-ms:1000}")
+    public synchronized void flush() {
+        List<PageViewEvent> batch = new ArrayList<>(Math.min(batchSize, buffer.capacity()));
+        // Bounded per run so a sustained spike cannot pin the shared scheduler thread
+        int remaining = buffer.capacity();
+        int drained;
+        while (remaining > 0 && (drained = buffer.drainTo(batch, Math.min(batchSize, remaining))) > 0) {
+            write(batch);
+            batch.clear();
+            remaining -= drained;
+        }
+    }
+
+    private void write(List<PageViewEvent> batch) {
+        for (int from = 0; from < batch.size(); from += ROWS_PER_STATEMENT) {
+            List<PageViewEvent> rows = batch.subList(from, Math.min(from + ROWS_PER_STATEMENT, batch.size()));
+            try {
+                jdbcTemplate.update(insertSql(rows.size()), toArgs(rows));
+                written.addAndGet(rows.size());
+                analyticsTopItemsService.record(rows);
+            } catch (Exception e) {
+                // Analytics are best effort; a failed chunk is counted, not retried
+                failed.addAndGet(rows.size());
+                log.warn("Failed to write {} page view events: {}", rows.size(), e.getMessage());
+            }
+        }
+    }
+
+    private static String insertSql(int rowCount) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(ROW_PLACEHOLDERS);
+        }
+        return sql.toString();
+    }
+
+    private static Object[] toArgs(List<PageViewEvent> rows) {
+        Object[] args = new Object[rows.size() * 10];
+        int i = 0;
+        for (PageViewEvent event : rows) {
+            Timestamp createdAt = Timestamp.valueOf(event.createdAt());
+            args[i++] = event.panchayatId();
+            args[i++] = event.visitorIp();
+            args[i++] = event.pageUrl();
+            args[i++] = event.referrerUrl();
+            args[i++] = event.userAgent();
+            args[i++] = event.sessionId();
+            args[i++] = event.countryCode();
+            args[i++] = event.deviceType();
+            args[i++] = createdAt;
+            args[i++] = createdAt;
+        }
+        return args;
+    }
+
+    @PreDestroy
+    public void drain() {
+        log.info("PageViewIngestionService.drain called - buffered={}", buffer.size());
+        flush();
+    }
+
+    public int getBufferCapacity() {
+        return buffer.capacity();
+    }
+
+    public int getBuffered() {
+        return buffer.size();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getWritten() {
+        return written.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+}
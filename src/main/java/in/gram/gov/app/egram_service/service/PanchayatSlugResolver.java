@@ -0,0 +1,117 @@
+package in.gram.gov.app.egram_service.service;
+
+import in.gram.gov.app.egram_service.constants.enums.PanchayatStatus;
+import in.gram.gov.app.egram_service.constants.exception.ResourceNotFoundException;
+import in.gram.gov.app.egram_service.domain.entity.Panchayat;
+import in.gram.gov.app.egram_service.domain.repository.PanchayatRepository;
+import in.gram.gov.app.egram_service.utility.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Bounded in-memory cache of slug -> (panchayat id, status) used by public endpoints
+ * so that tenant queries can filter on panchayat_id instead of joining on slug.
+ * Unknown slugs are cached as misses for a short time so repeated lookups do not hit the DB.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PanchayatSlugResolver {
+    private final PanchayatRepository panchayatRepository;
+
+    @Value("${panchayat.slug-cache.max-entries:2000}")
+    private int maxEntries;
+
+    @Value("${panchayat.slug-cache.ttl-seconds:600}")
+    private long ttlSeconds;
+
+    @Value("${panchayat.slug-cache.negative-ttl-seconds:60}")
+    private long negativeTtlSeconds;
+
+    private final Map<String, CacheEntry> cache = Collections.synchronizedMap(
+            new LinkedHashMap<>(256, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, CacheEntry> eldest) {
+                    return size() > maxEntries;
+                }
+            });
+
+    public record ResolvedPanchayat(Long id, PanchayatStatus status) {
+    }
+
+    private record CacheEntry(ResolvedPanchayat panchayat, long expiresAtMillis) {
+        boolean isExpired(long now) {
+            return now >= expiresAtMillis;
+        }
+    }
+
+    /**
+     * Resolve a slug to its panchayat id and status
+     * @param slug Panchayat slug from the public URL
+     * @return Resolved panchayat id and status
+     * @throws ResourceNotFoundException if no panchayat exists for the slug
+     */
+    public ResolvedPanchayat resolve(String slug) {
+        long now = System.currentTimeMillis();
+        CacheEntry entry = cache.get(slug);
+        if (entry == null || entry.isExpired(now)) {
+            log.debug("PanchayatSlugResolver.resolve cache miss - slug={}", slug);
+            Optional<Panchayat> panchayat = panchayatRepository.findBySlug(slug);
+            entry = panchayat
+                    .map(p -> new CacheEntry(new ResolvedPanchayat(p.getId(), p.getStatus()), now + ttlSeconds * 1000))
+                    .orElseGet(() -> new CacheEntry(null, now + negativeTtlSeconds * 1000));
+            cache.put(slug, entry);
+        }
+        if (entry.panchayat() == null) {
+            throw new ResourceNotFoundException("Panchayat with slug " + slug + " not found");
+        }
+        return entry.panchayat();
+    }
+
+    /**
+     * Resolve a slug to its panchayat id
+     * @param slug Panchayat slug from the public URL
+     * @return Panchayat id
+     */
+    public Long resolveId(String slug) {
+        return resolve(slug).id();
+    }
+
+    /**
+     * Evict a slug (including a cached miss). Eviction is repeated after the surrounding
+     * transaction commits so a concurrent read cannot re-cache the pre-commit state.
+     * @param slug Panchayat slug
+     */
+    public void evict(String slug) {
+        if (slug == null) {
+            return;
+        }
+        cache.remove(slug);
+        TransactionCallbacks.afterCommit(() -> cache.remove(slug));
+    }
+
+    /**
+     * Evict every slug mapped to the given panchayat id, e.g. after its slug or status changed
+     * @param panchayatId Panchayat id
+     */
+    public void evictById(Long panchayatId) {
+        if (panchayatId == null) {
+            return;
+        }
+        removeById(panchayatId);
+        TransactionCallbacks.afterCommit(() -> removeById(panchayatId));
+    }
+
+    private void removeById(Long panchayatId) {
+        synchronized (cache) {
+            cache.values().removeIf(e -> e.panchayat() != null && panchayatId.equals(e.panchayat().id()));
+        }
+    }
+}
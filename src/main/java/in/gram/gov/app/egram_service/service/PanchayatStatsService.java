@@ -0,0 +1,62 @@
+package in.gram.gov.app.egram_service.service;
+
+import in.gram.gov.app.egram_service.domain.repository.PanchayatStatsRepository;
+import in.gram.gov.app.egram_service.domain.repository.PanchayatStatsRepository.PanchayatCounts;
+import in.gram.gov.app.egram_service.dto.response.PanchayatStatsResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dashboard counts for a panchayat from a single aggregate query, cached per panchayat
+ * for a short TTL so repeated dashboard loads do not re-run it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PanchayatStatsService {
+    private final PanchayatStatsRepository statsRepository;
+
+    @Value("${panchayat.stats.cache-ttl-seconds:30}")
+    private long ttlSeconds;
+
+    private final Map<Long, CachedStats> cache = new ConcurrentHashMap<>();
+
+    private record CachedStats(PanchayatStatsResponseDTO stats, long expiresAtMillis) {
+    }
+
+    /**
+     * Get counts for a panchayat; a TTL of 0 disables caching
+     * @param panchayatId Panchayat ID
+     * @return Stats DTO
+     */
+    public PanchayatStatsResponseDTO getStats(Long panchayatId) {
+        long now = System.currentTimeMillis();
+        CachedStats cached = cache.get(panchayatId);
+        if (cached != null && cached.expiresAtMillis() > now) {
+            return cached.stats();
+        }
+
+        log.info("PanchayatStatsService.getStats loading - panchayatId={}", panchayatId);
+        PanchayatStatsResponseDTO stats = toDTO(statsRepository.countByPanchayatId(panchayatId));
+        if (ttlSeconds > 0) {
+            cache.put(panchayatId, new CachedStats(stats, now + ttlSeconds * 1000));
+        }
+        return stats;
+    }
+
+    private static PanchayatStatsResponseDTO toDTO(PanchayatCounts counts) {
+        PanchayatStatsResponseDTO stats = new PanchayatStatsResponseDTO();
+        stats.setTotalUsers(counts.getTotalUsers());
+        stats.setTotalPosts(counts.getTotalPosts());
+        stats.setTotalAnnouncements(counts.getTotalAnnouncements());
+        stats.setTotalSchemes(counts.getTotalSchemes());
+        stats.setTotalDocuments(counts.getTotalDocuments());
+        stats.setTotalGalleryImages(counts.getTotalGalleryImages());
+        return stats;
+    }
+}
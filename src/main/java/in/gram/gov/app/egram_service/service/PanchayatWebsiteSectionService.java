@@ -49,11 +49,6 @@ public class PanchayatWebsiteSectionService {
         return repository.findByPanchayatIdOrdered(panchayatId);
     }
 
-    public List<PanchayatWebsiteSection> findByPanchayatSlugAndVisible(String slug) {
-        log.info("PanchayatWebsiteSectionService.findByPanchayatSlugAndVisible called - slug={}", slug);
-        return repository.findByPanchayatSlugAndVisibleOrdered(slug);
-    }
-
     @Transactional
     public PanchayatWebsiteSection update(PanchayatWebsiteSection section) {
         log.info("PanchayatWebsiteSectionService.update called - id={}", section.getId());
@@ -0,0 +1,80 @@
+package in.gram.gov.app.egram_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.gram.gov.app.egram_service.domain.entity.PanchayatWebsiteSection;
+import in.gram.gov.app.egram_service.dto.ApiResponse;
+import in.gram.gov.app.egram_service.dto.response.PanchayatWebsiteConfigDTO;
+import in.gram.gov.app.egram_service.transformer.PanchayatWebsiteSectionTransformer;
+import in.gram.gov.app.egram_service.utility.Digests;
+import in.gram.gov.app.egram_service.utility.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Holds the public website payload of each panchayat as pre-serialized JSON bytes with a strong ETag.
+ * Snapshots are built on first read and rebuilt after every committed section mutation,
+ * so public site views are served from memory.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PanchayatWebsiteSnapshotService {
+    private final PanchayatWebsiteSectionService sectionService;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, WebsiteSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    public record WebsiteSnapshot(byte[] body, String etag) {
+    }
+
+    /**
+     * Get the snapshot for a panchayat, building it if not present
+     * @param panchayatId Panchayat ID
+     * @return Serialized website payload and its ETag
+     */
+    public WebsiteSnapshot get(Long panchayatId) {
+        return snapshots.computeIfAbsent(panchayatId, this::build);
+    }
+
+    /**
+     * Drop the current snapshot and rebuild it once the surrounding transaction commits
+     * @param panchayatId Panchayat ID
+     */
+    public void refreshAfterCommit(Long panchayatId) {
+        snapshots.remove(panchayatId);
+        TransactionCallbacks.afterCompletion(() -> rebuild(panchayatId), () -> snapshots.remove(panchayatId));
+    }
+
+    private void rebuild(Long panchayatId) {
+        try {
+            snapshots.put(panchayatId, build(panchayatId));
+            log.debug("PanchayatWebsiteSnapshotService.rebuild - panchayatId={}", panchayatId);
+        } catch (Exception e) {
+            // Next read rebuilds lazily
+            snapshots.remove(panchayatId);
+            log.warn("Failed to rebuild website snapshot for panchayat {}: {}", panchayatId, e.getMessage());
+        }
+    }
+
+    private WebsiteSnapshot build(Long panchayatId) {
+        log.info("PanchayatWebsiteSnapshotService.build called - panchayatId={}", panchayatId);
+        List<PanchayatWebsiteSection> sections = sectionService.findByPanchayatIdAndVisible(panchayatId);
+        PanchayatWebsiteConfigDTO config = new PanchayatWebsiteConfigDTO();
+        config.setSections(sections.stream()
+                .map(PanchayatWebsiteSectionTransformer::toDTO)
+                .collect(Collectors.toList()));
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(ApiResponse.success(config));
+            return new WebsiteSnapshot(body, Digests.etag(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize website snapshot", e);
+        }
+    }
+}
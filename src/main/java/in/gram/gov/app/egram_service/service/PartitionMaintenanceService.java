@@ -0,0 +1,117 @@
+package in.gram.gov.app.egram_service.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly created_at partitions of analytics and audit_logs (see V7 migration)
+ * ahead of time and applies retention by detaching, and optionally dropping, whole months.
+ * Rows for a month without a partition land in the DEFAULT partition, which blocks creating
+ * that month later, so partitions are made several months in advance.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PartitionMaintenanceService {
+    private static final String ANALYTICS = "analytics";
+    private static final String AUDIT_LOGS = "audit_logs";
+
+    private static final String CREATE_PARTITION_SQL = "SELECT create_monthly_partition(?, ?)";
+    private static final String LIST_PARTITIONS_SQL =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = CAST(? AS regclass)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final AnalyticsRollupService analyticsRollupService;
+
+    @Value("${partition.premake-months:3}")
+    private int premakeMonths;
+
+    // 0 keeps every month
+    @Value("${partition.retention.analytics-months:24}")
+    private int analyticsRetentionMonths;
+
+    @Value("${partition.retention.audit-logs-months:0}")
+    private int auditLogsRetentionMonths;
+
+    // When false, expired months are only detached and left as standalone tables for archiving
+    @Value("${partition.retention.drop:true}")
+    private boolean dropExpired;
+
+    @Scheduled(fixedDelayString = "${partition.maintenance.interval-ms:21600000}",
+            initialDelayString = "${partition.maintenance.initial-delay-ms:30000}")
+    public void maintain() {
+        YearMonth current = YearMonth.now();
+        for (String table : List.of(ANALYTICS, AUDIT_LOGS)) {
+            try {
+                createAhead(table, current);
+            } catch (Exception e) {
+                log.warn("Failed to create partitions for {}: {}", table, e.getMessage());
+            }
+        }
+
+        try {
+            // Raw analytics rows are only dropped once the daily rollup has absorbed them
+            LocalDate completeBefore = analyticsRollupService.getCompleteBefore();
+            YearMonth rolledUpBefore = completeBefore != null ? YearMonth.from(completeBefore) : null;
+            applyRetention(ANALYTICS, analyticsRetentionMonths, current, rolledUpBefore);
+        } catch (Exception e) {
+            log.warn("Failed to apply retention to {}: {}", ANALYTICS, e.getMessage());
+        }
+        try {
+            applyRetention(AUDIT_LOGS, auditLogsRetentionMonths, current, null);
+        } catch (Exception e) {
+            log.warn("Failed to apply retention to {}: {}", AUDIT_LOGS, e.getMessage());
+        }
+    }
+
+    private void createAhead(String table, YearMonth current) {
+        for (int offset = 0; offset <= premakeMonths; offset++) {
+            jdbcTemplate.queryForObject(CREATE_PARTITION_SQL, String.class, table, current.plusMonths(offset).atDay(1));
+        }
+    }
+
+    /**
+     * Detach (and drop) partitions whose whole month is older than the retention window
+     * @param keepFrom Optional extra bound; months at or after it are never removed
+     */
+    private void applyRetention(String table, int retentionMonths, YearMonth current, YearMonth keepFrom) {
+        if (retentionMonths <= 0) {
+            return;
+        }
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        if (keepFrom != null && keepFrom.isBefore(oldestKept)) {
+            oldestKept = keepFrom;
+        }
+
+        Pattern monthly = Pattern.compile(Pattern.quote(table) + "_p(\\d{4})_(\\d{2})");
+        List<String> partitions = jdbcTemplate.queryForList(LIST_PARTITIONS_SQL, String.class, table);
+        for (String partition : partitions) {
+            Matcher matcher = monthly.matcher(partition);
+            if (!matcher.matches()) {
+                continue;
+            }
+            YearMonth month = YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+            if (!month.isBefore(oldestKept)) {
+                continue;
+            }
+            // Names come from the catalog and match the pattern above, so they are safe to inline
+            jdbcTemplate.execute("ALTER TABLE " + table + " DETACH PARTITION " + partition);
+            if (dropExpired) {
+                jdbcTemplate.execute("DROP TABLE " + partition);
+            }
+            log.info("PartitionMaintenanceService.applyRetention - {} partition {} of {}",
+                    dropExpired ? "dropped" : "detached", partition, table);
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package in.gram.gov.app.egram_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.gram.gov.app.egram_service.domain.entity.PlatformLandingPageSection;
+import in.gram.gov.app.egram_service.dto.ApiResponse;
+import in.gram.gov.app.egram_service.dto.response.PlatformLandingPageConfigDTO;
+import in.gram.gov.app.egram_service.dto.response.PlatformSectionResponseDTO;
+import in.gram.gov.app.egram_service.transformer.PlatformLandingPageSectionTransformer;
+import in.gram.gov.app.egram_service.utility.Digests;
+import in.gram.gov.app.egram_service.utility.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Holds the visible platform landing page sections as an immutable list plus pre-serialized
+ * JSON bytes with a strong ETag. Built on first read and rebuilt after every committed admin write.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PlatformLandingPageSnapshotService {
+    private final PlatformLandingPageSectionService sectionService;
+    private final ObjectMapper objectMapper;
+
+    private volatile LandingPageSnapshot snapshot;
+
+    public record LandingPageSnapshot(List<PlatformSectionResponseDTO> sections, byte[] body, String etag) {
+    }
+
+    /**
+     * Get the landing page snapshot, building it if not present
+     * @return Visible sections, serialized payload and its ETag
+     */
+    public LandingPageSnapshot get() {
+        LandingPageSnapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = build();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Drop the current snapshot and rebuild it once the surrounding transaction commits
+     */
+    public void refreshAfterCommit() {
+        snapshot = null;
+        TransactionCallbacks.afterCompletion(this::rebuild, () -> snapshot = null);
+    }
+
+    private void rebuild() {
+        try {
+            LandingPageSnapshot rebuilt = build();
+            synchronized (this) {
+                snapshot = rebuilt;
+            }
+            log.debug("PlatformLandingPageSnapshotService.rebuild - sections={}", rebuilt.sections().size());
+        } catch (Exception e) {
+            // Next read rebuilds lazily
+            snapshot = null;
+            log.warn("Failed to rebuild landing page snapshot: {}", e.getMessage());
+        }
+    }
+
+    private LandingPageSnapshot build() {
+        log.info("PlatformLandingPageSnapshotService.build called");
+        List<PlatformLandingPageSection> sections = sectionService.findAllVisible();
+        List<PlatformSectionResponseDTO> dtos = sections.stream()
+                .map(PlatformLandingPageSectionTransformer::toDTO)
+                .toList();
+        PlatformLandingPageConfigDTO config = new PlatformLandingPageConfigDTO();
+        config.setSections(dtos);
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(ApiResponse.success(config));
+            return new LandingPageSnapshot(dtos, body, Digests.etag(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize landing page snapshot", e);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package in.gram.gov.app.egram_service.service;
 
 import in.gram.gov.app.egram_service.constants.enums.PostStatus;
+import in.gram.gov.app.egram_service.constants.enums.ReactionType;
 import in.gram.gov.app.egram_service.constants.exception.ResourceNotFoundException;
 import in.gram.gov.app.egram_service.domain.entity.Post;
 import in.gram.gov.app.egram_service.domain.repository.PostRepository;
@@ -42,14 +43,14 @@ public class PostService {
         return postRepository.findByPanchayatIdAndStatus(panchayatId, status, pageable);
     }
 
-    public Page<Post> findPublishedBySlug(String slug, Pageable pageable) {
-        log.info("PostService.findPublishedBySlug called - slug={}, pageable={}", slug, pageable);
-        return postRepository.findPublishedBySlug(slug, pageable);
+    public Page<Post> findPublishedByPanchayatId(Long panchayatId, Pageable pageable) {
+        log.info("PostService.findPublishedByPanchayatId called - panchayatId={}, pageable={}", panchayatId, pageable);
+        return postRepository.findPublishedByPanchayatId(panchayatId, pageable);
     }
 
-    public Post findPublishedByIdAndSlug(Long postId, String slug) {
-        log.debug("PostService.findPublishedByIdAndSlug called - postId={}, slug={}", postId, slug);
-        Post post = postRepository.findPublishedByIdAndSlug(postId, slug);
+    public Post findPublishedByIdAndPanchayatId(Long postId, Long panchayatId) {
+        log.debug("PostService.findPublishedByIdAndPanchayatId called - postId={}, panchayatId={}", postId, panchayatId);
+        Post post = postRepository.findPublishedByIdAndPanchayatId(postId, panchayatId);
         if (post == null) {
             throw new ResourceNotFoundException("Post", postId);
         }
@@ -77,11 +78,21 @@ public class PostService {
     }
 
     @Transactional
-    public void incrementViewCount(Long id) {
-        log.info("PostService.incrementViewCount called - id={}", id);
-        Post post = findById(id);
-        post.setViewCount(post.getViewCount() + 1);
-        postRepository.save(post);
+    public void adjustLikeCount(Long id, long delta) {
+        log.debug("PostService.adjustLikeCount called - id={}, delta={}", id, delta);
+        postRepository.adjustLikeCount(id, delta);
+    }
+
+    @Transactional
+    public void adjustReactionCount(Long id, ReactionType reactionType, long delta) {
+        log.debug("PostService.adjustReactionCount called - id={}, reactionType={}, delta={}", id, reactionType, delta);
+        postRepository.adjustReactionCount(id, reactionType.name(), delta);
+    }
+
+    @Transactional
+    public void adjustCommentCount(Long id, long delta) {
+        log.debug("PostService.adjustCommentCount called - id={}, delta={}", id, delta);
+        postRepository.adjustCommentCount(id, delta);
     }
 
     public Specification<Post> buildSpecification(PostFilter filter) {
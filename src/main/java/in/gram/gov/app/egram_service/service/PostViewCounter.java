@@ -0,0 +1,104 @@
+package in.gram.gov.app.egram_service.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Write-behind counter for public post views. Reads only increment a striped in-memory
+ * counter; a scheduled job flushes the accumulated deltas in one batched UPDATE and the
+ * remainder is drained on shutdown.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class PostViewCounter {
+    private static final String FLUSH_SQL =
+            "UPDATE posts SET view_count = COALESCE(view_count, 0) + ? WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Entries are kept after a flush: removing an adder could drop an increment racing with the removal
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final AtomicLong flushedTotal = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private volatile LocalDateTime lastFlushAt;
+
+    public void record(Long postId) {
+        pending.computeIfAbsent(postId, id -> new LongAdder()).increment();
+    }
+
+    /**
+     * Views recorded for a post that are not yet written to the database
+     * @param postId Post ID
+     * @return Pending increment count
+     */
+    public long pending(Long postId) {
+        LongAdder adder = pending.get(postId);
+        return adder != null ? adder.sum() : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${post.view-counter.flush-interval-ms:5000}")
+    public synchronized void flush() {
+        List<Object[]> batch = new ArrayList<>();
+        pending.forEach((postId, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta > 0) {
+                batch.add(new Object[]{delta, postId});
+            }
+        });
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            long total = batch.stream().mapToLong(row -> (Long) row[0]).sum();
+            flushedTotal.addAndGet(total);
+            lastFlushAt = LocalDateTime.now();
+            log.debug("PostViewCounter.flush - posts={}, views={}", batch.size(), total);
+        } catch (Exception e) {
+            // Put the deltas back so the next run retries them
+            failedFlushes.incrementAndGet();
+            batch.forEach(row -> pending.computeIfAbsent((Long) row[1], id -> new LongAdder()).add((Long) row[0]));
+            log.warn("Failed to flush post view counts for {} posts: {}", batch.size(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void drain() {
+        log.info("PostViewCounter.drain called - pendingViews={}", getPendingIncrements());
+        flush();
+    }
+
+    public int getPendingPostCount() {
+        return (int) pending.values().stream().filter(adder -> adder.sum() > 0).count();
+    }
+
+    public long getPendingIncrements() {
+        return pending.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    public long getFlushedTotal() {
+        return flushedTotal.get();
+    }
+
+    public long getFailedFlushes() {
+        return failedFlushes.get();
+    }
+
+    public LocalDateTime getLastFlushAt() {
+        return lastFlushAt;
+    }
+}
@@ -170,6 +170,30 @@ public class S3CloudStorageService {
         }
     }
 
+    /**
+     * Upload bytes under a caller-chosen key, e.g. a resized variant next to its original
+     * @param fileKey S3 key/path to write
+     * @param bytes File content
+     * @param contentType MIME type
+     * @return Public URL of the uploaded file
+     */
+    public String uploadObject(String fileKey, byte[] bytes, String contentType) {
+        try {
+            S3Client s3Client = getS3Client();
+            PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                    .bucket(bucketName)
+                    .key(fileKey)
+                    .contentType(contentType)
+                    .build();
+            s3Client.putObject(putObjectRequest, RequestBody.fromBytes(bytes));
+            log.info("File uploaded successfully to Cloudflare R2 via S3. Key: {}", fileKey);
+            return getFileUrl(fileKey);
+        } catch (Exception e) {
+            log.error("Error uploading file to Cloudflare R2 via S3. Key: {}", fileKey, e);
+            throw new CloudStorageException("Failed to upload file to R2: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Delete file from Cloudflare R2 via S3-compatible API
      * @param fileKey S3 key/path of file to delete
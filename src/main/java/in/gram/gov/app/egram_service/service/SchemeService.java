@@ -38,8 +38,8 @@ public class SchemeService {
         return schemeRepository.findByPanchayatIdAndStatus(panchayatId, status, pageable);
     }
 
-    public Page<Scheme> findActiveBySlug(String slug, Pageable pageable) {
-        return schemeRepository.findActiveBySlug(slug, pageable);
+    public Page<Scheme> findActiveByPanchayatId(Long panchayatId, Pageable pageable) {
+        return schemeRepository.findActiveByPanchayatId(panchayatId, pageable);
     }
 
     @Transactional
@@ -0,0 +1,169 @@
+package in.gram.gov.app.egram_service.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import in.gram.gov.app.egram_service.constants.exception.ResourceNotFoundException;
+import in.gram.gov.app.egram_service.domain.entity.SectionTemplate;
+import in.gram.gov.app.egram_service.domain.repository.SectionTemplateRepository;
+import in.gram.gov.app.egram_service.dto.ApiResponse;
+import in.gram.gov.app.egram_service.dto.response.SectionTemplateResponseDTO;
+import in.gram.gov.app.egram_service.utility.TransactionCallbacks;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory catalog of active section templates. Template JSON is parsed once when the
+ * catalog is built, and the picker response is serialized once per language.
+ * The catalog is dropped after every committed template write and rebuilt on next read.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SectionTemplateCatalogService {
+    private static final String ALL_LANGUAGES = "";
+
+    private final SectionTemplateRepository repository;
+    private final ObjectMapper objectMapper;
+
+    private volatile Catalog catalog;
+
+    /**
+     * Active template with its data pre-parsed. The JSON tree is shared and must not be mutated;
+     * callers that modify it work on a {@link JsonNode#deepCopy()}.
+     */
+    public record CatalogTemplate(SectionTemplate template, JsonNode templateData, SectionTemplateResponseDTO dto) {
+    }
+
+    private record Catalog(List<CatalogTemplate> templates,
+                           Map<Long, CatalogTemplate> byId,
+                           Map<String, byte[]> serializedByLanguage) {
+    }
+
+    /**
+     * Active templates, optionally filtered by language, in display order
+     * @param language Language code; all languages when null or empty
+     * @return Response DTOs with parsed template data
+     */
+    public List<SectionTemplateResponseDTO> getTemplates(String language) {
+        return filter(catalog(), languageKey(language));
+    }
+
+    /**
+     * Template picker payload ({@code {"templates": [...]}} wrapped in ApiResponse), serialized once per language
+     * @param language Language code; all languages when null or empty
+     * @return JSON bytes
+     */
+    public byte[] getSerializedTemplates(String language) {
+        Catalog current = catalog();
+        return current.serializedByLanguage().computeIfAbsent(languageKey(language), key -> serialize(current, key));
+    }
+
+    /**
+     * Active template by ID
+     * @param id Template ID
+     * @return Catalog entry
+     */
+    public CatalogTemplate getById(Long id) {
+        CatalogTemplate entry = catalog().byId().get(id);
+        if (entry == null) {
+            throw new ResourceNotFoundException("SectionTemplate", id);
+        }
+        return entry;
+    }
+
+    /**
+     * Drop the catalog once the surrounding transaction commits
+     */
+    public void invalidateAfterCommit() {
+        catalog = null;
+        // Serialize with an in-flight build so a catalog read before commit is not kept
+        TransactionCallbacks.afterCompletion(this::clearCatalog, this::clearCatalog);
+    }
+
+    private synchronized void clearCatalog() {
+        catalog = null;
+    }
+
+    private Catalog catalog() {
+        Catalog current = catalog;
+        if (current == null) {
+            synchronized (this) {
+                current = catalog;
+                if (current == null) {
+                    current = build();
+                    catalog = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    private Catalog build() {
+        log.info("SectionTemplateCatalogService.build called");
+        List<CatalogTemplate> templates = repository.findByLanguageAndActive(null).stream()
+                .map(this::toEntry)
+                .toList();
+        Map<Long, CatalogTemplate> byId = new LinkedHashMap<>();
+        templates.forEach(entry -> byId.put(entry.template().getId(), entry));
+        return new Catalog(templates, Map.copyOf(byId), new ConcurrentHashMap<>());
+    }
+
+    private CatalogTemplate toEntry(SectionTemplate template) {
+        JsonNode templateData = null;
+        SectionTemplateResponseDTO dto = new SectionTemplateResponseDTO();
+        dto.setId(template.getId());
+        dto.setName(template.getName());
+        dto.setDescription(template.getDescription());
+        dto.setCategory(template.getCategory());
+        dto.setLanguage(template.getLanguage());
+        dto.setColorTheme(template.getColorTheme());
+        dto.setPreviewImageUrl(template.getPreviewImageUrl());
+        dto.setIsActive(template.getIsActive());
+        dto.setIsSystem(template.getIsSystem());
+        dto.setIsPageTemplate(template.getIsPageTemplate());
+        dto.setDisplayOrder(template.getDisplayOrder());
+        dto.setCreatedAt(template.getCreatedAt());
+        dto.setUpdatedAt(template.getUpdatedAt());
+
+        try {
+            templateData = objectMapper.readTree(template.getTemplateData());
+            dto.setTemplateData(templateData);
+        } catch (Exception e) {
+            log.warn("Failed to parse template data as JSON - templateId={}", template.getId(), e);
+            dto.setTemplateData(template.getTemplateData());
+        }
+        return new CatalogTemplate(template, templateData, dto);
+    }
+
+    private byte[] serialize(Catalog current, String key) {
+        List<SectionTemplateResponseDTO> templates = filter(current, key);
+        try {
+            return objectMapper.writeValueAsBytes(ApiResponse.success(Map.of("templates", templates)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize template catalog", e);
+        }
+    }
+
+    private static List<SectionTemplateResponseDTO> filter(Catalog current, String key) {
+        return current.templates().stream()
+                .filter(entry -> matches(entry.template(), key))
+                .map(CatalogTemplate::dto)
+                .toList();
+    }
+
+    private static boolean matches(SectionTemplate template, String key) {
+        return ALL_LANGUAGES.equals(key) || Objects.equals(template.getLanguage(), key);
+    }
+
+    private static String languageKey(String language) {
+        return language == null || language.isEmpty() ? ALL_LANGUAGES : language;
+    }
+}
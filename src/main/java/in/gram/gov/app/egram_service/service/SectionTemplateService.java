@@ -15,6 +15,7 @@ import java.util.List;
 @Slf4j
 public class SectionTemplateService {
     private final SectionTemplateRepository repository;
+    private final SectionTemplateCatalogService catalogService;
 
     public List<SectionTemplate> findAllActive(String language) {
         log.info("SectionTemplateService.findAllActive called - language={}", language);
@@ -43,7 +44,9 @@ public class SectionTemplateService {
     @Transactional
     public SectionTemplate save(SectionTemplate template) {
         log.info("SectionTemplateService.save called - id={}", template.getId());
-        return repository.save(template);
+        SectionTemplate saved = repository.save(template);
+        catalogService.invalidateAfterCommit();
+        return saved;
     }
 }
 
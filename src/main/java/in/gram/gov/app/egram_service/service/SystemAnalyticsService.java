@@ -0,0 +1,118 @@
+package in.gram.gov.app.egram_service.service;
+
+import in.gram.gov.app.egram_service.domain.repository.SystemAnalyticsRepository;
+import in.gram.gov.app.egram_service.domain.repository.SystemAnalyticsRepository.SystemCounts;
+import in.gram.gov.app.egram_service.domain.repository.SystemAnalyticsRepository.TableEstimate;
+import in.gram.gov.app.egram_service.dto.response.SystemAnalyticsResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Platform-wide analytics held as a snapshot that a scheduled job refreshes, so opening
+ * the admin dashboard never touches the content tables. Counts are exact (one aggregate
+ * statement) unless {@code analytics.system.approximate} is set, in which case content
+ * tables use the planner's row estimates from pg_class.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SystemAnalyticsService {
+    private final SystemAnalyticsRepository systemAnalyticsRepository;
+
+    @Value("${analytics.system.approximate:false}")
+    private boolean approximate;
+
+    private volatile SystemAnalyticsResponseDTO snapshot;
+
+    /**
+     * Latest snapshot, computed on first use
+     * @return System analytics with its computedAt timestamp
+     */
+    public SystemAnalyticsResponseDTO getSnapshot() {
+        SystemAnalyticsResponseDTO current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = compute();
+                    snapshot = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @Scheduled(fixedDelayString = "${analytics.system.refresh-interval-ms:300000}",
+            initialDelayString = "${analytics.system.refresh-interval-ms:300000}")
+    public void refresh() {
+        try {
+            SystemAnalyticsResponseDTO refreshed = compute();
+            synchronized (this) {
+                snapshot = refreshed;
+            }
+        } catch (Exception e) {
+            // Keep serving the previous snapshot
+            log.warn("Failed to refresh system analytics snapshot: {}", e.getMessage());
+        }
+    }
+
+    private SystemAnalyticsResponseDTO compute() {
+        log.info("SystemAnalyticsService.compute called - approximate={}", approximate);
+        if (approximate) {
+            SystemAnalyticsResponseDTO estimated = estimate();
+            if (estimated != null) {
+                return estimated;
+            }
+        }
+
+        SystemCounts counts = systemAnalyticsRepository.countAll();
+        SystemAnalyticsResponseDTO analytics = new SystemAnalyticsResponseDTO();
+        analytics.setTotalPanchayats(counts.getTotalPanchayats());
+        analytics.setActivePanchayats(counts.getActivePanchayats());
+        analytics.setTotalUsers(counts.getTotalUsers());
+        analytics.setTotalPosts(counts.getTotalPosts());
+        analytics.setTotalSchemes(counts.getTotalSchemes());
+        analytics.setTotalAnnouncements(counts.getTotalAnnouncements());
+        analytics.setTotalDocuments(counts.getTotalDocuments());
+        analytics.setTotalGalleryImages(counts.getTotalGalleryImages());
+        analytics.setApproximate(false);
+        analytics.setComputedAt(LocalDateTime.now());
+        return analytics;
+    }
+
+    /**
+     * Estimated counts, or null when any table has no statistics yet
+     */
+    private SystemAnalyticsResponseDTO estimate() {
+        List<TableEstimate> rows = systemAnalyticsRepository.estimateContentTables();
+        Map<String, Long> estimates = rows.stream()
+                .collect(Collectors.toMap(TableEstimate::getTableName, TableEstimate::getEstimate));
+        if (estimates.size() < 6 || estimates.values().stream().anyMatch(value -> value == null || value < 0)) {
+            log.info("SystemAnalyticsService.estimate - statistics missing, falling back to exact counts");
+            return null;
+        }
+
+        // Panchayats are few and their status split matters, so they are always counted exactly
+        SystemCounts panchayats = systemAnalyticsRepository.countPanchayats();
+        SystemAnalyticsResponseDTO analytics = new SystemAnalyticsResponseDTO();
+        analytics.setTotalPanchayats(panchayats.getTotalPanchayats());
+        analytics.setActivePanchayats(panchayats.getActivePanchayats());
+        analytics.setTotalUsers(estimates.get("users"));
+        analytics.setTotalPosts(estimates.get("posts"));
+        analytics.setTotalSchemes(estimates.get("schemes"));
+        analytics.setTotalAnnouncements(estimates.get("announcements"));
+        analytics.setTotalDocuments(estimates.get("documents"));
+        analytics.setTotalGalleryImages(estimates.get("gallery_images"));
+        analytics.setApproximate(true);
+        analytics.setComputedAt(LocalDateTime.now());
+        return analytics;
+    }
+}
@@ -16,6 +16,7 @@ public class AlbumTransformer {
         dto.setAlbumName(album.getAlbumName());
         dto.setDescription(album.getDescription());
         dto.setCoverImageUrl(album.getCoverImageUrl());
+        dto.setCoverImageVariants(album.getCoverImageVariants());
         dto.setImageCount(album.getImages() != null ? (long) album.getImages().size() : 0L);
         dto.setCreatedAt(album.getCreatedAt());
         dto.setUpdatedAt(album.getUpdatedAt());
@@ -4,7 +4,11 @@ import in.gram.gov.app.egram_service.domain.entity.Comment;
 import in.gram.gov.app.egram_service.dto.request.CommentRequestDTO;
 import in.gram.gov.app.egram_service.dto.response.CommentResponseDTO;
 
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 public class CommentTransformer {
@@ -44,6 +48,34 @@ public class CommentTransformer {
         return dto;
     }
 
+    /**
+     * Assemble thread rows (ordered by depth) into nested DTOs. Replies whose parent is not
+     * among the rows, e.g. under an unapproved comment, are dropped.
+     * @param rows Top-level comments and their replies
+     * @return Top-level comments, newest first, with nested replies in creation order
+     */
+    public static List<CommentResponseDTO> toThreads(List<Comment> rows) {
+        Map<Long, CommentResponseDTO> byId = new HashMap<>();
+        List<CommentResponseDTO> roots = new ArrayList<>();
+        for (Comment comment : rows) {
+            CommentResponseDTO dto = toDTO(comment);
+            dto.setReplies(new ArrayList<>());
+            if (comment.getDepth() == 0) {
+                roots.add(dto);
+                byId.put(dto.getCommentId(), dto);
+                continue;
+            }
+            CommentResponseDTO parent = byId.get(dto.getParentCommentId());
+            if (parent != null) {
+                parent.getReplies().add(dto);
+                byId.put(dto.getCommentId(), dto);
+            }
+        }
+        roots.sort(Comparator.comparing(CommentResponseDTO::getCreatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(CommentResponseDTO::getCommentId, Comparator.reverseOrder()));
+        return roots;
+    }
+
     public static Comment toEntity(CommentRequestDTO dto) {
         if (dto == null) {
             return null;
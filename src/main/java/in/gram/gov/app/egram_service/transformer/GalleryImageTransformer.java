@@ -14,6 +14,8 @@ public class GalleryImageTransformer {
         GalleryImageResponseDTO dto = new GalleryImageResponseDTO();
         dto.setImageId(image.getId());
         dto.setImageUrl(image.getImageUrl());
+        dto.setImageVariants(image.getImageVariants());
+        dto.setImageStatus(image.getImageStatus());
         dto.setCaption(image.getCaption());
         dto.setTags(image.getTags());
         dto.setDisplayOrder(image.getDisplayOrder());
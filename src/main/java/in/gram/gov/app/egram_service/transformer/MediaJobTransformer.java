@@ -0,0 +1,25 @@
+package in.gram.gov.app.egram_service.transformer;
+
+import in.gram.gov.app.egram_service.domain.entity.MediaJob;
+import in.gram.gov.app.egram_service.dto.response.MediaJobResponseDTO;
+
+public class MediaJobTransformer {
+
+    public static MediaJobResponseDTO toDTO(MediaJob job) {
+        if (job == null) {
+            return null;
+        }
+
+        MediaJobResponseDTO dto = new MediaJobResponseDTO();
+        dto.setJobId(job.getId());
+        dto.setStatus(job.getStatus());
+        dto.setTargetType(job.getTargetType());
+        dto.setTargetId(job.getTargetId());
+        dto.setMediaUrl(job.getResultUrl());
+        dto.setErrorMessage(job.getErrorMessage());
+        dto.setAttempts(job.getAttempts());
+        dto.setCreatedAt(job.getCreatedAt());
+        dto.setUpdatedAt(job.getUpdatedAt());
+        return dto;
+    }
+}
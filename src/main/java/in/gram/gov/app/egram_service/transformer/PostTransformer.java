@@ -4,6 +4,8 @@ import in.gram.gov.app.egram_service.domain.entity.Post;
 import in.gram.gov.app.egram_service.dto.request.PostRequestDTO;
 import in.gram.gov.app.egram_service.dto.response.PostResponseDTO;
 
+import java.util.Map;
+
 public class PostTransformer {
 
     public static PostResponseDTO toDTO(Post post) {
@@ -16,9 +18,14 @@ public class PostTransformer {
         dto.setTitle(post.getTitle());
         dto.setBodyText(post.getBodyText());
         dto.setMediaUrl(post.getMediaUrl());
+        dto.setMediaVariants(post.getMediaVariants());
+        dto.setMediaStatus(post.getMediaStatus());
         dto.setStatus(post.getStatus());
         dto.setPublishedAt(post.getPublishedAt());
         dto.setViewCount(post.getViewCount());
+        dto.setLikesCount(post.getLikeCount());
+        dto.setCommentsCount(post.getCommentCount());
+        dto.setReactionCounts(post.getReactionCounts() != null ? post.getReactionCounts() : Map.of());
         dto.setCreatedAt(post.getCreatedAt());
         dto.setUpdatedAt(post.getUpdatedAt());
         
@@ -34,15 +41,6 @@ public class PostTransformer {
         return dto;
     }
 
-    public static PostResponseDTO toDTO(Post post, Long likesCount, Long commentsCount) {
-        PostResponseDTO dto = toDTO(post);
-        if (dto != null) {
-            dto.setLikesCount(likesCount);
-            dto.setCommentsCount(commentsCount);
-        }
-        return dto;
-    }
-
     public static Post toEntity(PostRequestDTO dto) {
         if (dto == null) {
             return null;
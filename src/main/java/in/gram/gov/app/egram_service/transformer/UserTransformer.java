@@ -18,6 +18,7 @@ public class UserTransformer {
         dto.setPhone(user.getPhone());
         dto.setDesignation(user.getDesignation());
         dto.setImageUrl(user.getImageUrl());
+        dto.setImageVariants(user.getImageVariants());
         dto.setImageKey(user.getImageKey());
         dto.setHasImage(user.getHasImage() != null && user.getHasImage());
         dto.setInitials(generateInitials(user.getName()));
@@ -0,0 +1,36 @@
+package in.gram.gov.app.egram_service.utility;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * SHA-256 helpers for content hashes and ETags
+ */
+public final class Digests {
+
+    private Digests() {
+    }
+
+    public static byte[] sha256(byte[] input) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(input);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Full SHA-256 of the input, lowercase hex
+     */
+    public static String sha256Hex(byte[] input) {
+        return HexFormat.of().formatHex(sha256(input));
+    }
+
+    /**
+     * Strong ETag for a response body: the first 128 bits of its SHA-256, quoted
+     */
+    public static String etag(byte[] body) {
+        return "\"" + HexFormat.of().formatHex(sha256(body), 0, 16) + "\"";
+    }
+}
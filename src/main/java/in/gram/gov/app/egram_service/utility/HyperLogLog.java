@@ -0,0 +1,116 @@
+package in.gram.gov.app.egram_service.utility;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HyperLogLog distinct-count sketch with 2^12 one-byte registers (4 KB serialized).
+ * Standard error of {@link #estimate()} is about 1.04 / sqrt(4096), i.e. 1.6%; roughly 95% of
+ * estimates fall within 3.2% of the true count. Adding the same value twice is a no-op and
+ * {@link #merge} of two sketches equals the sketch of the union, so per-day sketches can be
+ * combined for any date range. Not thread-safe.
+ */
+public class HyperLogLog {
+    public static final int PRECISION = 12;
+    public static final double STANDARD_ERROR = 1.04 / Math.sqrt(1 << PRECISION);
+
+    private static final int REGISTER_COUNT = 1 << PRECISION;
+    private static final int MAX_RANK = 64 - PRECISION + 1;
+    private static final byte FORMAT_VERSION = 1;
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this.registers = new byte[REGISTER_COUNT];
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    /**
+     * Restore a sketch written by {@link #toBytes()}
+     * @throws IllegalArgumentException when the bytes are not a sketch of this format
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes == null || bytes.length != REGISTER_COUNT + 2
+                || bytes[0] != FORMAT_VERSION || bytes[1] != PRECISION) {
+            throw new IllegalArgumentException("Unsupported HyperLogLog sketch");
+        }
+        byte[] registers = new byte[REGISTER_COUNT];
+        System.arraycopy(bytes, 2, registers, 0, REGISTER_COUNT);
+        return new HyperLogLog(registers);
+    }
+
+    /**
+     * Serialized form: format version, precision, then one byte per register
+     */
+    public byte[] toBytes() {
+        byte[] bytes = new byte[REGISTER_COUNT + 2];
+        bytes[0] = FORMAT_VERSION;
+        bytes[1] = PRECISION;
+        System.arraycopy(registers, 0, bytes, 2, REGISTER_COUNT);
+        return bytes;
+    }
+
+    /**
+     * Add a value; null is ignored like it is by COUNT(DISTINCT)
+     */
+    public void add(String value) {
+        if (value != null) {
+            addHash(hash64(value));
+        }
+    }
+
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - PRECISION));
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << PRECISION) + 1, MAX_RANK);
+        if (rank > registers[index]) {
+            registers[index] = (byte) rank;
+        }
+    }
+
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTER_COUNT; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double m = REGISTER_COUNT;
+        double alpha = 0.7213 / (1 + 1.079 / m);
+        double estimate = alpha * m * m / sum;
+        // Linear counting is more accurate while many registers are still empty
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log(m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 fmix64 mixer so the
+     * high bits used for the register index are well distributed
+     */
+    static long hash64(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
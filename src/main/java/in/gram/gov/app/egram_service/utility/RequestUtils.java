@@ -0,0 +1,22 @@
+package in.gram.gov.app.egram_service.utility;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+public final class RequestUtils {
+    // Longest textual IPv6 address (with an embedded IPv4 tail)
+    private static final int MAX_IP_LENGTH = 45;
+
+    private RequestUtils() {
+    }
+
+    /**
+     * Client IP: the first X-Forwarded-For entry when behind a proxy, else the remote address
+     */
+    public static String getClientIpAddress(HttpServletRequest request) {
+        String xForwardedFor = request.getHeader("X-Forwarded-For");
+        String ip = xForwardedFor != null && !xForwardedFor.isEmpty()
+                ? xForwardedFor.split(",")[0].trim()
+                : request.getRemoteAddr();
+        return ip != null && ip.length() > MAX_IP_LENGTH ? ip.substring(0, MAX_IP_LENGTH) : ip;
+    }
+}
@@ -0,0 +1,96 @@
+package in.gram.gov.app.egram_service.utility;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving heavy-hitter sketch: tracks at most {@code capacity} items. When full, a new
+ * item replaces the item with the smallest count and inherits that count as its error, so
+ * every reported count overestimates the true count by at most {@link Entry#error()}. Any item
+ * occurring more than total / capacity times is guaranteed to be present.
+ * Merging replays the other sketch's entries with their errors, so merged counts stay upper bounds.
+ * Methods are synchronized; the sketch is small and updated from one background thread.
+ */
+public class SpaceSavingSketch {
+    private final int capacity;
+    private final Map<String, Counter> counters;
+
+    public record Entry(String item, long count, long error) {
+    }
+
+    private static final class Counter {
+        private long count;
+        private long error;
+
+        private Counter(long count, long error) {
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    public SpaceSavingSketch(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.counters = new HashMap<>(capacity * 2);
+    }
+
+    public static SpaceSavingSketch of(int capacity, List<Entry> entries) {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(capacity);
+        sketch.merge(entries);
+        return sketch;
+    }
+
+    public synchronized void offer(String item) {
+        offer(item, 1, 0);
+    }
+
+    public synchronized void offer(String item, long count, long error) {
+        Counter counter = counters.get(item);
+        if (counter != null) {
+            counter.count += count;
+            counter.error += error;
+            return;
+        }
+        if (counters.size() < capacity) {
+            counters.put(item, new Counter(count, error));
+            return;
+        }
+        // Capacity is small (about a hundred), so a linear scan for the minimum is cheap
+        Map.Entry<String, Counter> min = null;
+        for (Map.Entry<String, Counter> candidate : counters.entrySet()) {
+            if (min == null || candidate.getValue().count < min.getValue().count) {
+                min = candidate;
+            }
+        }
+        counters.remove(min.getKey());
+        long evicted = min.getValue().count;
+        counters.put(item, new Counter(evicted + count, evicted + error));
+    }
+
+    public synchronized void merge(List<Entry> entries) {
+        for (Entry entry : entries) {
+            offer(entry.item(), entry.count(), entry.error());
+        }
+    }
+
+    /**
+     * Entries ordered by descending count
+     * @param limit Maximum number of entries
+     */
+    public synchronized List<Entry> top(int limit) {
+        return counters.entrySet().stream()
+                .map(entry -> new Entry(entry.getKey(), entry.getValue().count, entry.getValue().error))
+                .sorted(Comparator.comparingLong(Entry::count).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public synchronized List<Entry> entries() {
+        return new ArrayList<>(top(capacity));
+    }
+}
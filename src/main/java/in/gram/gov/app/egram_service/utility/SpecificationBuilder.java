@@ -30,8 +30,21 @@ public class SpecificationBuilder<T> {
                 .reduce(Specification.unrestricted(), Specification::and);
     }
 
+    // A single bound is applied on its own so partitioned tables can still prune on it
     public SpecificationBuilder<T> dateTimeRange(String fieldName, LocalDateTime startDateTime, LocalDateTime endDateTime) {
-        if (startDateTime != null && endDateTime != null) {
+        if (startDateTime != null && endDateTime == null) {
+            validateFieldName(fieldName);
+            specifications.add((root, query, cb) -> {
+                Path<LocalDateTime> dateTimePath = getPath(root, fieldName);
+                return cb.greaterThanOrEqualTo(dateTimePath, startDateTime);
+            });
+        } else if (startDateTime == null && endDateTime != null) {
+            validateFieldName(fieldName);
+            specifications.add((root, query, cb) -> {
+                Path<LocalDateTime> dateTimePath = getPath(root, fieldName);
+                return cb.lessThanOrEqualTo(dateTimePath, endDateTime);
+            });
+        } else if (startDateTime != null) {
             validateFieldName(fieldName);
             if (startDateTime.isAfter(endDateTime)) {
                 throw new IllegalArgumentException("Start date-time cannot be after end date-time");
@@ -0,0 +1,46 @@
+package in.gram.gov.app.egram_service.utility;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Run work when the surrounding transaction ends. Without an active transaction the commit
+ * callback runs immediately, as if the caller's work had already committed.
+ * Callbacks run after the transaction is finished; database work in them must start its own
+ * transaction (REQUIRES_NEW or a TransactionTemplate).
+ */
+public final class TransactionCallbacks {
+
+    private TransactionCallbacks() {
+    }
+
+    /**
+     * Run an action once the surrounding transaction commits; it is dropped on rollback
+     */
+    public static void afterCommit(Runnable action) {
+        afterCompletion(action, () -> { });
+    }
+
+    /**
+     * Run onCommit once the surrounding transaction commits, or onRollback if it rolls back
+     */
+    public static void afterCompletion(Runnable onCommit, Runnable onRollback) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            onCommit.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                onCommit.run();
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    onRollback.run();
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,9 @@
+-- V10: Resized image variants
+-- Each map holds variant name -> public URL, e.g. {"thumb": ".../images/1-ab-thumb.jpg", "medium": ..., "full": ...}.
+-- Variants are stored next to the original under derived keys; rows uploaded earlier keep NULL and
+-- clients fall back to the single image URL.
+
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS media_variants JSONB;
+ALTER TABLE gallery_images ADD COLUMN IF NOT EXISTS image_variants JSONB;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS image_variants JSONB;
+ALTER TABLE albums ADD COLUMN IF NOT EXISTS cover_image_variants JSONB;
@@ -0,0 +1,25 @@
+-- V11: Content-addressed media objects
+-- One row per stored image, keyed by the SHA-256 of the compressed bytes (file_key media/<hash>.<ext>).
+-- original_hash + compression_quality lets a repeated upload of the same file skip compression.
+-- ref_count counts the rows (posts, gallery images, users, ...) pointing at the object; the object and
+-- its variants are deleted from storage when it reaches zero.
+
+CREATE TABLE IF NOT EXISTS media_objects (
+    id                  BIGSERIAL    PRIMARY KEY,
+    file_key            VARCHAR(255) NOT NULL,
+    content_hash        VARCHAR(64)  NOT NULL,
+    original_hash       VARCHAR(64),
+    compression_quality VARCHAR(20),
+    content_type        VARCHAR(100),
+    size_bytes          BIGINT       NOT NULL,
+    width               INTEGER,
+    height              INTEGER,
+    variant_keys        JSONB,
+    ref_count           INTEGER      NOT NULL DEFAULT 1,
+    created_at          TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at          TIMESTAMP             DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT uk_media_object_file_key UNIQUE (file_key),
+    CONSTRAINT uk_media_object_content_hash UNIQUE (content_hash)
+);
+
+CREATE INDEX IF NOT EXISTS idx_media_object_original ON media_objects (original_hash, compression_quality);
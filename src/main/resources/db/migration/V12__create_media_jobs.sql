@@ -0,0 +1,24 @@
+-- V12: Asynchronous media uploads
+-- Posts and gallery images created in async mode are stored with media status PROCESSING and
+-- patched by a background job; media_jobs records each job for status polling.
+-- A gallery image has no URL until its job finishes, so image_url becomes nullable.
+
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS media_status VARCHAR(20) NOT NULL DEFAULT 'READY';
+ALTER TABLE gallery_images ADD COLUMN IF NOT EXISTS image_status VARCHAR(20) NOT NULL DEFAULT 'READY';
+ALTER TABLE gallery_images ALTER COLUMN image_url DROP NOT NULL;
+
+CREATE TABLE IF NOT EXISTS media_jobs (
+    id                  VARCHAR(36)  PRIMARY KEY,
+    panchayat_id        BIGINT,
+    target_type         VARCHAR(30)  NOT NULL,
+    target_id           BIGINT       NOT NULL,
+    status              VARCHAR(20)  NOT NULL,
+    compression_quality VARCHAR(20),
+    attempts            INTEGER      NOT NULL DEFAULT 0,
+    result_url          VARCHAR(500),
+    error_message       VARCHAR(500),
+    created_at          TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at          TIMESTAMP             DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX IF NOT EXISTS idx_media_job_status_updated ON media_jobs (status, updated_at);
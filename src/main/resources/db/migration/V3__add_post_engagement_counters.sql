@@ -0,0 +1,17 @@
+-- V3: Denormalized like and comment counters on posts
+-- Post listings read counts from the row instead of counting likes/comments per post.
+-- Columns are maintained by atomic UPDATE ... SET x = x + delta from the like/comment write paths.
+
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS like_count BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS comment_count BIGINT NOT NULL DEFAULT 0;
+
+-- One-time backfill from the existing rows
+UPDATE posts p
+SET like_count = counts.total
+FROM (SELECT post_id, COUNT(*) AS total FROM likes GROUP BY post_id) counts
+WHERE counts.post_id = p.id;
+
+UPDATE posts p
+SET comment_count = counts.total
+FROM (SELECT post_id, COUNT(*) AS total FROM comments GROUP BY post_id) counts
+WHERE counts.post_id = p.id;
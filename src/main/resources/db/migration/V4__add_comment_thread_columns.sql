@@ -0,0 +1,24 @@
+-- V4: Thread root and depth on comments
+-- A page of threads (top-level comments plus nested replies) loads in one range query on (root_comment_id, depth).
+
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS root_comment_id BIGINT;
+ALTER TABLE comments ADD COLUMN IF NOT EXISTS depth INTEGER NOT NULL DEFAULT 0;
+
+-- Backfill from the existing parent links
+WITH RECURSIVE thread AS (
+    SELECT id, id AS root_id, 0 AS depth
+    FROM comments
+    WHERE parent_comment_id IS NULL
+    UNION ALL
+    SELECT c.id, t.root_id, t.depth + 1
+    FROM comments c
+    JOIN thread t ON c.parent_comment_id = t.id
+)
+UPDATE comments c
+SET root_comment_id = thread.root_id,
+    depth = thread.depth
+FROM thread
+WHERE thread.id = c.id;
+
+CREATE INDEX IF NOT EXISTS idx_comment_root ON comments (root_comment_id, depth);
+CREATE INDEX IF NOT EXISTS idx_comment_post_top_level ON comments (post_id, parent_comment_id, created_at);
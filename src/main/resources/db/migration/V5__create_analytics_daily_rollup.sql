@@ -0,0 +1,26 @@
+-- V5: Daily analytics rollup
+-- Views and distinct sessions per (panchayat, day, page, device), maintained incrementally
+-- from raw analytics rows past a watermark. page_url/device_type use '' for NULL;
+-- the row with page_url = '*' AND device_type = '*' holds the per-day totals for the panchayat.
+
+CREATE TABLE IF NOT EXISTS analytics_daily (
+    panchayat_id BIGINT       NOT NULL,
+    day          DATE         NOT NULL,
+    page_url     VARCHAR(500) NOT NULL DEFAULT '',
+    device_type  VARCHAR(20)  NOT NULL DEFAULT '',
+    views        BIGINT       NOT NULL DEFAULT 0,
+    sessions     BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT pk_analytics_daily PRIMARY KEY (panchayat_id, day, page_url, device_type)
+);
+
+-- Aggregator progress: last raw analytics id folded into the rollup, and the first day
+-- that may still have unprocessed rows (days before it are complete in the rollup)
+CREATE TABLE IF NOT EXISTS analytics_rollup_state (
+    name            VARCHAR(50) PRIMARY KEY,
+    last_id         BIGINT      NOT NULL DEFAULT 0,
+    complete_before DATE        NOT NULL DEFAULT DATE '1970-01-01',
+    updated_at      TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO analytics_rollup_state (name) VALUES ('analytics_daily')
+ON CONFLICT (name) DO NOTHING;
@@ -0,0 +1,11 @@
+-- V6: HyperLogLog session sketches on the per-day total rows of analytics_daily
+-- Sketches merge across days, so unique sessions for any date range can be estimated
+-- without scanning raw analytics rows.
+
+ALTER TABLE analytics_daily ADD COLUMN IF NOT EXISTS session_sketch BYTEA;
+
+-- Days rolled up before this migration have no sketch; rebuild the rollup from the start
+DELETE FROM analytics_daily;
+UPDATE analytics_rollup_state
+SET last_id = 0, complete_before = DATE '1970-01-01', updated_at = CURRENT_TIMESTAMP
+WHERE name = 'analytics_daily';
@@ -0,0 +1,125 @@
+-- V7: Monthly range partitions on created_at for analytics and audit_logs
+-- Both tables are append-only; retention becomes DETACH/DROP of whole months instead of
+-- large DELETEs, and date-range filters on created_at prune to the matching months.
+-- The primary key must include the partition key, so it becomes (id, created_at); ids keep
+-- coming from one sequence per table and stay unique in practice.
+-- Partitions are named <table>_pYYYY_MM. A DEFAULT partition catches rows outside the
+-- pre-created months so inserts never fail; PartitionMaintenanceService keeps it empty by
+-- creating months ahead of time.
+
+-- Creates the partition holding the month of month_start (no-op when it exists)
+CREATE OR REPLACE FUNCTION create_monthly_partition(parent TEXT, month_start DATE)
+RETURNS TEXT
+LANGUAGE plpgsql
+AS $$
+DECLARE
+    first_day      DATE := CAST(date_trunc('month', month_start) AS DATE);
+    partition_name TEXT := parent || '_p' || to_char(first_day, 'YYYY_MM');
+BEGIN
+    EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF %I FOR VALUES FROM (%L) TO (%L)',
+                   partition_name, parent, first_day, CAST(first_day + INTERVAL '1 month' AS DATE));
+    RETURN partition_name;
+END;
+$$;
+
+-- ============================================
+-- analytics
+-- ============================================
+ALTER TABLE analytics RENAME TO analytics_legacy;
+
+CREATE SEQUENCE IF NOT EXISTS analytics_row_id_seq;
+SELECT setval('analytics_row_id_seq', COALESCE((SELECT MAX(id) FROM analytics_legacy), 0) + 1, false);
+
+CREATE TABLE analytics (
+    id           BIGINT       NOT NULL DEFAULT nextval('analytics_row_id_seq'),
+    panchayat_id BIGINT       NOT NULL,
+    visitor_ip   VARCHAR(45),
+    page_url     VARCHAR(500),
+    referrer_url VARCHAR(500),
+    user_agent   VARCHAR(500),
+    session_id   VARCHAR(100),
+    country_code VARCHAR(5),
+    device_type  VARCHAR(20),
+    created_at   TIMESTAMP(6) NOT NULL,
+    updated_at   TIMESTAMP(6),
+    CONSTRAINT pk_analytics PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_analytics_panchayat FOREIGN KEY (panchayat_id) REFERENCES panchayats (id)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE analytics_row_id_seq OWNED BY analytics.id;
+CREATE TABLE analytics_default PARTITION OF analytics DEFAULT;
+
+-- ============================================
+-- audit_logs
+-- ============================================
+ALTER TABLE audit_logs RENAME TO audit_logs_legacy;
+
+CREATE SEQUENCE IF NOT EXISTS audit_logs_row_id_seq;
+SELECT setval('audit_logs_row_id_seq', COALESCE((SELECT MAX(id) FROM audit_logs_legacy), 0) + 1, false);
+
+CREATE TABLE audit_logs (
+    id                 BIGINT        NOT NULL DEFAULT nextval('audit_logs_row_id_seq'),
+    user_id            BIGINT        NOT NULL,
+    panchayat_id       BIGINT,
+    action_type        VARCHAR(20)   NOT NULL,
+    target_entity_type VARCHAR(50),
+    target_entity_id   BIGINT,
+    changes            JSONB,
+    ip_address         VARCHAR(45),
+    user_agent         VARCHAR(500),
+    description        VARCHAR(1000),
+    created_at         TIMESTAMP(6)  NOT NULL,
+    updated_at         TIMESTAMP(6),
+    CONSTRAINT pk_audit_logs PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_audit_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_audit_panchayat FOREIGN KEY (panchayat_id) REFERENCES panchayats (id)
+) PARTITION BY RANGE (created_at);
+
+ALTER SEQUENCE audit_logs_row_id_seq OWNED BY audit_logs.id;
+CREATE TABLE audit_logs_default PARTITION OF audit_logs DEFAULT;
+
+-- ============================================
+-- Monthly partitions covering existing rows plus three months ahead
+-- ============================================
+DO $$
+DECLARE
+    month_start DATE;
+    last_month  DATE := CAST(date_trunc('month', CURRENT_DATE + INTERVAL '3 months') AS DATE);
+BEGIN
+    month_start := CAST(date_trunc('month', COALESCE((SELECT MIN(created_at) FROM analytics_legacy), CURRENT_DATE)) AS DATE);
+    WHILE month_start <= last_month LOOP
+        PERFORM create_monthly_partition('analytics', month_start);
+        month_start := CAST(month_start + INTERVAL '1 month' AS DATE);
+    END LOOP;
+
+    month_start := CAST(date_trunc('month', COALESCE((SELECT MIN(created_at) FROM audit_logs_legacy), CURRENT_DATE)) AS DATE);
+    WHILE month_start <= last_month LOOP
+        PERFORM create_monthly_partition('audit_logs', month_start);
+        month_start := CAST(month_start + INTERVAL '1 month' AS DATE);
+    END LOOP;
+END;
+$$;
+
+INSERT INTO analytics (id, panchayat_id, visitor_ip, page_url, referrer_url, user_agent, session_id,
+                       country_code, device_type, created_at, updated_at)
+SELECT id, panchayat_id, visitor_ip, page_url, referrer_url, user_agent, session_id,
+       country_code, device_type, created_at, updated_at
+FROM analytics_legacy;
+
+INSERT INTO audit_logs (id, user_id, panchayat_id, action_type, target_entity_type, target_entity_id,
+                        changes, ip_address, user_agent, description, created_at, updated_at)
+SELECT id, user_id, panchayat_id, action_type, target_entity_type, target_entity_id,
+       changes, ip_address, user_agent, description, created_at, updated_at
+FROM audit_logs_legacy;
+
+DROP TABLE analytics_legacy;
+DROP TABLE audit_logs_legacy;
+
+-- Indexes on the parent cascade to every current and future partition
+CREATE INDEX IF NOT EXISTS idx_analytics_panchayat_date ON analytics (panchayat_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_analytics_created_at ON analytics (created_at);
+
+CREATE INDEX IF NOT EXISTS idx_audit_user ON audit_logs (user_id);
+CREATE INDEX IF NOT EXISTS idx_audit_panchayat ON audit_logs (panchayat_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_audit_created_at ON audit_logs (created_at);
+CREATE INDEX IF NOT EXISTS idx_audit_action_type ON audit_logs (action_type);
@@ -0,0 +1,12 @@
+-- V8: Per-day top pages and referrers per panchayat
+-- Periodic snapshots of the in-memory Space-Saving sketches kept by AnalyticsTopItemsService.
+-- items is a JSON array of {item, count, error}; kind is PAGE or REFERRER.
+
+CREATE TABLE IF NOT EXISTS analytics_top_items (
+    panchayat_id BIGINT      NOT NULL,
+    day          DATE        NOT NULL,
+    kind         VARCHAR(20) NOT NULL,
+    items        JSONB       NOT NULL,
+    updated_at   TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_analytics_top_items PRIMARY KEY (panchayat_id, day, kind)
+);
@@ -0,0 +1,13 @@
+-- V9: Per-reaction-type counters on posts
+-- reaction_counts maps ReactionType name to count, e.g. {"LIKE": 12, "LOVE": 3}; like_count stays the
+-- total over all types. Both are maintained by atomic UPDATEs from the reaction write path.
+
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS reaction_counts JSONB NOT NULL DEFAULT '{}';
+
+-- One-time backfill from the existing rows
+UPDATE posts p
+SET reaction_counts = counts.breakdown
+FROM (SELECT post_id, jsonb_object_agg(reaction_type, total) AS breakdown
+      FROM (SELECT post_id, reaction_type, COUNT(*) AS total FROM likes GROUP BY post_id, reaction_type) per_type
+      GROUP BY post_id) counts
+WHERE counts.post_id = p.id;
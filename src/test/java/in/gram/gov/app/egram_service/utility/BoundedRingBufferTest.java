@@ -0,0 +1,100 @@
+package in.gram.gov.app.egram_service.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedRingBufferTest {
+
+    @Test
+    void capacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(4, new BoundedRingBuffer<Integer>(3).capacity());
+        assertEquals(8, new BoundedRingBuffer<Integer>(8).capacity());
+        assertThrows(IllegalArgumentException.class, () -> new BoundedRingBuffer<Integer>(1));
+    }
+
+    @Test
+    void offerFailsAtCapacityAndSucceedsAfterDrain() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(buffer.offer(i));
+        }
+        assertFalse(buffer.offer(4));
+        assertEquals(4, buffer.size());
+
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(4, buffer.drainTo(drained, 10));
+        assertEquals(List.of(0, 1, 2, 3), drained);
+        assertEquals(0, buffer.size());
+        assertNull(buffer.poll());
+
+        assertTrue(buffer.offer(5));
+    }
+
+    @Test
+    void drainRespectsMaxElements() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+        for (int i = 0; i < 4; i++) {
+            buffer.offer(i);
+        }
+        List<Integer> drained = new ArrayList<>();
+        assertEquals(3, buffer.drainTo(drained, 3));
+        assertEquals(List.of(0, 1, 2), drained);
+        assertEquals(1, buffer.size());
+    }
+
+    @Test
+    void keepsFifoOrderAcrossWrapAround() {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(4);
+        List<Integer> drained = new ArrayList<>();
+        int next = 0;
+        assertTrue(buffer.offer(next++));
+        // Keep one element buffered so head and tail cross the slot boundary at every offset
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 3; i++) {
+                assertTrue(buffer.offer(next++));
+            }
+            assertFalse(buffer.offer(-1));
+            assertEquals(3, buffer.drainTo(drained, 3));
+        }
+        buffer.drainTo(drained, Integer.MAX_VALUE);
+
+        assertEquals(next, drained.size());
+        for (int i = 0; i < next; i++) {
+            assertEquals(i, drained.get(i));
+        }
+    }
+
+    @Test
+    void concurrentProducersLoseNothingThatWasAccepted() throws InterruptedException {
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(1024);
+        int producers = 4;
+        int perProducer = 200;
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            int base = p * perProducer;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < perProducer; i++) {
+                    buffer.offer(base + i);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        List<Integer> drained = new ArrayList<>();
+        buffer.drainTo(drained, Integer.MAX_VALUE);
+        assertEquals(producers * perProducer, drained.size());
+        assertEquals(producers * perProducer, drained.stream().distinct().count());
+    }
+}
@@ -0,0 +1,78 @@
+package in.gram.gov.app.egram_service.utility;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    private static HyperLogLog sketchOf(int from, int to) {
+        HyperLogLog sketch = new HyperLogLog();
+        for (int i = from; i < to; i++) {
+            sketch.add("visitor-" + i);
+        }
+        return sketch;
+    }
+
+    private static void assertWithinError(long expected, HyperLogLog sketch) {
+        // Three standard errors; the hash is deterministic so this cannot flake
+        double tolerance = 3 * HyperLogLog.STANDARD_ERROR * expected;
+        long estimate = sketch.estimate();
+        assertTrue(Math.abs(estimate - expected) <= tolerance,
+                "estimate " + estimate + " not within " + tolerance + " of " + expected);
+    }
+
+    @Test
+    void emptySketchEstimatesZero() {
+        assertEquals(0, new HyperLogLog().estimate());
+    }
+
+    @Test
+    void estimateIsWithinErrorAtKnownCardinalities() {
+        for (int cardinality : new int[]{100, 1_000, 10_000, 100_000, 1_000_000}) {
+            assertWithinError(cardinality, sketchOf(0, cardinality));
+        }
+    }
+
+    @Test
+    void duplicatesAndNullsDoNotChangeEstimate() {
+        HyperLogLog sketch = sketchOf(0, 5_000);
+        byte[] before = sketch.toBytes();
+        for (int i = 0; i < 5_000; i++) {
+            sketch.add("visitor-" + i);
+        }
+        sketch.add(null);
+        assertArrayEquals(before, sketch.toBytes());
+    }
+
+    @Test
+    void serializationRoundTrips() {
+        HyperLogLog sketch = sketchOf(0, 20_000);
+        HyperLogLog restored = HyperLogLog.fromBytes(sketch.toBytes());
+        assertArrayEquals(sketch.toBytes(), restored.toBytes());
+        assertEquals(sketch.estimate(), restored.estimate());
+    }
+
+    @Test
+    void fromBytesRejectsForeignData() {
+        byte[] bytes = new HyperLogLog().toBytes();
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(null));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[10]));
+        bytes[0] = 99;
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(bytes));
+    }
+
+    @Test
+    void mergeEqualsSketchOfUnion() {
+        // Overlapping ranges: 0..30000 and 20000..50000
+        HyperLogLog first = sketchOf(0, 30_000);
+        HyperLogLog second = sketchOf(20_000, 50_000);
+        first.merge(second);
+
+        assertArrayEquals(sketchOf(0, 50_000).toBytes(), first.toBytes());
+        assertWithinError(50_000, first);
+    }
+}
@@ -0,0 +1,119 @@
+package in.gram.gov.app.egram_service.utility;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpaceSavingSketchTest {
+
+    private static Map<String, Long> offerAll(SpaceSavingSketch sketch, List<String> stream) {
+        Map<String, Long> exact = new HashMap<>();
+        for (String item : stream) {
+            sketch.offer(item);
+            exact.merge(item, 1L, Long::sum);
+        }
+        return exact;
+    }
+
+    private static void assertBounds(SpaceSavingSketch sketch, Map<String, Long> exact) {
+        for (SpaceSavingSketch.Entry entry : sketch.entries()) {
+            long actual = exact.getOrDefault(entry.item(), 0L);
+            assertTrue(entry.count() >= actual, entry + " undercounts " + actual);
+            assertTrue(entry.count() - entry.error() <= actual, entry + " error too small for " + actual);
+        }
+    }
+
+    /**
+     * A skewed stream: item-i appears 200 / (i + 1) times, interleaved
+     */
+    private static List<String> skewedStream() {
+        List<String> stream = new ArrayList<>();
+        for (int round = 0; round < 200; round++) {
+            for (int i = 0; i < 50; i++) {
+                if (round % (i + 1) == 0) {
+                    stream.add("item-" + i);
+                }
+            }
+        }
+        return stream;
+    }
+
+    @Test
+    void rejectsNonPositiveCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new SpaceSavingSketch(0));
+    }
+
+    @Test
+    void evictedItemCountBecomesNewcomerError() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(2);
+        offerAll(sketch, List.of("a", "a", "a", "b", "c"));
+
+        List<SpaceSavingSketch.Entry> top = sketch.top(2);
+        assertEquals(new SpaceSavingSketch.Entry("a", 3, 0), top.get(0));
+        assertEquals(new SpaceSavingSketch.Entry("c", 2, 1), top.get(1));
+    }
+
+    @Test
+    void countsStayWithinErrorBoundsAfterEviction() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(10);
+        List<String> stream = skewedStream();
+        Map<String, Long> exact = offerAll(sketch, stream);
+
+        assertEquals(10, sketch.entries().size());
+        assertBounds(sketch, exact);
+        // Anything occurring more than total / capacity times must be tracked
+        long threshold = stream.size() / 10;
+        List<String> tracked = sketch.entries().stream().map(SpaceSavingSketch.Entry::item).toList();
+        exact.forEach((item, count) -> {
+            if (count > threshold) {
+                assertTrue(tracked.contains(item), item + " missing with count " + count);
+            }
+        });
+        assertEquals("item-0", sketch.top(1).get(0).item());
+    }
+
+    @Test
+    void topIsOrderedByDescendingCountAndLimited() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(10);
+        offerAll(sketch, List.of("x", "y", "y", "z", "z", "z"));
+
+        List<SpaceSavingSketch.Entry> top = sketch.top(2);
+        assertEquals(2, top.size());
+        assertEquals("z", top.get(0).item());
+        assertEquals("y", top.get(1).item());
+    }
+
+    @Test
+    void mergedCountsRemainUpperBounds() {
+        List<String> stream = skewedStream();
+        List<String> firstHalf = stream.subList(0, stream.size() / 2);
+        List<String> secondHalf = stream.subList(stream.size() / 2, stream.size());
+
+        SpaceSavingSketch first = new SpaceSavingSketch(10);
+        SpaceSavingSketch second = new SpaceSavingSketch(10);
+        Map<String, Long> exact = offerAll(first, firstHalf);
+        offerAll(second, secondHalf).forEach((item, count) -> exact.merge(item, count, Long::sum));
+
+        first.merge(second.entries());
+
+        assertEquals(10, first.entries().size());
+        assertBounds(first, exact);
+        assertEquals("item-0", first.top(1).get(0).item());
+    }
+
+    @Test
+    void ofRestoresPersistedEntries() {
+        SpaceSavingSketch sketch = new SpaceSavingSketch(5);
+        offerAll(sketch, List.of("a", "b", "b", "c", "c", "c"));
+
+        SpaceSavingSketch restored = SpaceSavingSketch.of(5, sketch.entries());
+        assertEquals(sketch.top(5), restored.top(5));
+    }
+}